@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018-2019 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.f4b6a3.uuid.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs all the benchmarks with 1, 4, 16 and 64 threads.
+ * 
+ * Both throughput and average time are measured, and the allocation rate is
+ * reported by the {@link GCProfiler}. The results of each thread count are
+ * written to a JSON file named {@code jmh-result-<threads>-threads.json}.
+ * 
+ * Any JMH command line option can be passed as argument, for example a regular
+ * expression to select the benchmarks:
+ * 
+ * <pre>
+ * java -jar target/benchmarks.jar "UuidCreatorBenchmark.*TimeBased"
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+	private static final int[] THREADS = { 1, 4, 16, 64 };
+
+	private BenchmarkRunner() {
+	}
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+
+		final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+		for (int threads : THREADS) {
+
+			ChainedOptionsBuilder builder = new OptionsBuilder() //
+					.parent(commandLineOptions) //
+					.threads(threads) //
+					.addProfiler(GCProfiler.class) //
+					.resultFormat(ResultFormatType.JSON) //
+					.result(String.format("jmh-result-%s-threads.json", threads));
+
+			if (commandLineOptions.getIncludes().isEmpty()) {
+				builder = builder.include(BenchmarkRunner.class.getPackage().getName() + ".*Benchmark");
+			}
+
+			new Runner(builder.build()).run();
+		}
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018-2019 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.f4b6a3.uuid.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.f4b6a3.uuid.util.ByteUtil;
+
+/**
+ * Benchmarks of the hexadecimal methods of {@link ByteUtil}.
+ */
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ByteUtilBenchmark {
+
+	private long number;
+	private byte[] bytes;
+	private String hexadecimal;
+
+	@Setup
+	public void setup() {
+		this.number = 0x0123456789abcdefL;
+		this.bytes = ByteUtil.toBytes(this.number);
+		this.hexadecimal = ByteUtil.toHexadecimal(this.number);
+	}
+
+	@Benchmark
+	public String ByteUtil_ToHexadecimalFromLong() {
+		return ByteUtil.toHexadecimal(this.number);
+	}
+
+	@Benchmark
+	public String ByteUtil_ToHexadecimalFromBytes() {
+		return ByteUtil.toHexadecimal(this.bytes);
+	}
+
+	@Benchmark
+	public byte[] ByteUtil_ToBytesFromHexadecimal() {
+		return ByteUtil.toBytes(this.hexadecimal);
+	}
+
+	@Benchmark
+	public long ByteUtil_ToNumberFromHexadecimal() {
+		return ByteUtil.toNumber(this.hexadecimal);
+	}
+
+	@Benchmark
+	public byte[] ByteUtil_ToBytesFromLong() {
+		return ByteUtil.toBytes(this.number);
+	}
+
+	@Benchmark
+	public long ByteUtil_ToNumberFromBytes() {
+		return ByteUtil.toNumber(this.bytes);
+	}
+}
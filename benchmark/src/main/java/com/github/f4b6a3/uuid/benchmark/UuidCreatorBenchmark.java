@@ -0,0 +1,236 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018-2019 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.f4b6a3.uuid.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.f4b6a3.uuid.UuidCreator;
+import com.github.f4b6a3.uuid.enums.UuidNamespace;
+import com.github.f4b6a3.uuid.factory.ConcurrentLexicalOrderGuidCreator;
+import com.github.f4b6a3.uuid.factory.DceSecurityUuidCreator;
+
+/**
+ * Benchmarks of the static methods of {@link UuidCreator}.
+ * 
+ * The methods of {@link UUID} are included as a reference.
+ */
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class UuidCreatorBenchmark {
+
+	private String name = "https://github.com/f4b6a3/uuid-creator";
+	private byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+	private UUID namespace = UuidNamespace.NAMESPACE_URL.getValue();
+	private UuidNamespace uuidNamespace = UuidNamespace.NAMESPACE_URL;
+	private byte localDomain = DceSecurityUuidCreator.LOCAL_DOMAIN_PERSON;
+	private int localIdentifier = 1701;
+	private ConcurrentLexicalOrderGuidCreator concurrentLexicalOrderCreator = UuidCreator
+			.getConcurrentLexicalOrderCreator();
+
+	/*
+	 * Java's UUID
+	 */
+
+	@Benchmark
+	public UUID Java_Random() {
+		return UUID.randomUUID();
+	}
+
+	@Benchmark
+	public UUID Java_NameBasedMd5() {
+		return UUID.nameUUIDFromBytes(bytes);
+	}
+
+	/*
+	 * Random
+	 */
+
+	@Benchmark
+	public UUID UuidCreator_Random() {
+		return UuidCreator.getRandom();
+	}
+
+	@Benchmark
+	public UUID UuidCreator_FastRandom() {
+		return UuidCreator.getFastRandom();
+	}
+
+	/*
+	 * Sequential
+	 */
+
+	@Benchmark
+	public UUID UuidCreator_Sequential() {
+		return UuidCreator.getSequential();
+	}
+
+	@Benchmark
+	public UUID UuidCreator_SequentialWithMac() {
+		return UuidCreator.getSequentialWithMac();
+	}
+
+	@Benchmark
+	public UUID UuidCreator_SequentialWithFingerprint() {
+		return UuidCreator.getSequentialWithFingerprint();
+	}
+
+	/*
+	 * Time-based
+	 */
+
+	@Benchmark
+	public UUID UuidCreator_TimeBased() {
+		return UuidCreator.getTimeBased();
+	}
+
+	@Benchmark
+	public UUID UuidCreator_StripedTimeBased() {
+		return UuidCreator.getStripedTimeBased();
+	}
+
+	@Benchmark
+	public UUID UuidCreator_TimeBasedWithMac() {
+		return UuidCreator.getTimeBasedWithMac();
+	}
+
+	@Benchmark
+	public UUID UuidCreator_TimeBasedWithFingerprint() {
+		return UuidCreator.getTimeBasedWithFingerprint();
+	}
+
+	/*
+	 * DCE Security
+	 */
+
+	@Benchmark
+	public UUID UuidCreator_DceSecurity() {
+		return UuidCreator.getDceSecurity(localDomain, localIdentifier);
+	}
+
+	@Benchmark
+	public UUID UuidCreator_DceSecurityWithMac() {
+		return UuidCreator.getDceSecurityWithMac(localDomain, localIdentifier);
+	}
+
+	@Benchmark
+	public UUID UuidCreator_DceSecurityWithFingerprint() {
+		return UuidCreator.getDceSecurityWithFingerprint(localDomain, localIdentifier);
+	}
+
+	/*
+	 * Name-based
+	 */
+
+	@Benchmark
+	public UUID UuidCreator_NameBasedMd5() {
+		return UuidCreator.getNameBasedMd5(name);
+	}
+
+	@Benchmark
+	public UUID UuidCreator_NameBasedMd5WithNamespace() {
+		return UuidCreator.getNameBasedMd5(namespace, name);
+	}
+
+	@Benchmark
+	public UUID UuidCreator_NameBasedMd5WithUuidNamespace() {
+		return UuidCreator.getNameBasedMd5(uuidNamespace, name);
+	}
+
+	@Benchmark
+	public UUID UuidCreator_NameBasedSha1() {
+		return UuidCreator.getNameBasedSha1(name);
+	}
+
+	@Benchmark
+	public UUID UuidCreator_NameBasedSha1WithNamespace() {
+		return UuidCreator.getNameBasedSha1(namespace, name);
+	}
+
+	@Benchmark
+	public UUID UuidCreator_NameBasedSha1WithUuidNamespace() {
+		return UuidCreator.getNameBasedSha1(uuidNamespace, name);
+	}
+
+	@Benchmark
+	public UUID UuidCreator_NameBasedSha256() {
+		return UuidCreator.getNameBasedSha256(name);
+	}
+
+	@Benchmark
+	public UUID UuidCreator_NameBasedSha256WithNamespace() {
+		return UuidCreator.getNameBasedSha256(namespace, name);
+	}
+
+	@Benchmark
+	public UUID UuidCreator_NameBasedSha256WithUuidNamespace() {
+		return UuidCreator.getNameBasedSha256(uuidNamespace, name);
+	}
+
+	/*
+	 * Non-standard GUIDs
+	 */
+
+	@Benchmark
+	public UUID UuidCreator_MssqlGuid() {
+		return UuidCreator.getMssqlGuid();
+	}
+
+	@Benchmark
+	public UUID UuidCreator_CombGuid() {
+		return UuidCreator.getCombGuid();
+	}
+
+	@Benchmark
+	public UUID UuidCreator_LexicalOrderGuid() {
+		return UuidCreator.getLexicalOrderGuid();
+	}
+
+	@Benchmark
+	public UUID UuidCreator_ConcurrentLexicalOrderGuid() {
+		return concurrentLexicalOrderCreator.create();
+	}
+
+	@Benchmark
+	public UUID UuidCreator_TimeOrderedEpoch() {
+		return UuidCreator.getTimeOrderedEpoch();
+	}
+}
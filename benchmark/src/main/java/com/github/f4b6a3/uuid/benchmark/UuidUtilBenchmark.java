@@ -0,0 +1,238 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018-2019 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.f4b6a3.uuid.benchmark;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.f4b6a3.uuid.UuidCreator;
+import com.github.f4b6a3.uuid.util.UuidUtil;
+
+/**
+ * Benchmarks of the extract, check and conversion methods of {@link UuidUtil}.
+ * 
+ * The methods {@link UUID#toString()} and {@link UUID#fromString(String)} are
+ * included as a reference.
+ * 
+ * The input values are shared by all the threads and are only read. The
+ * buffers written by the benchmarks are kept in {@link Buffers}, one instance
+ * per thread.
+ */
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class UuidUtilBenchmark {
+
+	private UUID timeBased;
+	private UUID sequential;
+	private UUID dceSecurity;
+	private UUID mssqlGuid;
+	private String string;
+	private byte[] bytes;
+
+	@State(Scope.Thread)
+	public static class Buffers {
+
+		private byte[] bytes;
+		private char[] chars;
+		private StringBuilder builder;
+
+		@Setup
+		public void setup() {
+			this.bytes = new byte[UuidUtil.UUID_BYTES_LENGTH];
+			this.chars = new char[UuidUtil.UUID_STRING_LENGTH];
+			this.builder = new StringBuilder(UuidUtil.UUID_STRING_LENGTH);
+		}
+	}
+
+	@Setup
+	public void setup() {
+		this.timeBased = UuidCreator.getTimeBased();
+		this.sequential = UuidCreator.getSequential();
+		this.dceSecurity = UuidCreator.getDceSecurity((byte) 1, 1701);
+		this.mssqlGuid = UuidCreator.getMssqlGuid();
+		this.string = this.timeBased.toString();
+		this.bytes = UuidUtil.fromUuidToBytes(this.timeBased);
+	}
+
+	/*
+	 * Java's UUID
+	 */
+
+	@Benchmark
+	public String Java_ToString() {
+		return this.timeBased.toString();
+	}
+
+	@Benchmark
+	public UUID Java_FromString() {
+		return UUID.fromString(this.string);
+	}
+
+	/*
+	 * Strings
+	 */
+
+	@Benchmark
+	public String UuidUtil_FromUuidToString() {
+		return UuidUtil.fromUuidToString(this.timeBased);
+	}
+
+	@Benchmark
+	public char[] UuidUtil_FormatToChars(Buffers buffers) {
+		UuidUtil.format(this.timeBased, buffers.chars, 0);
+		return buffers.chars;
+	}
+
+	@Benchmark
+	public StringBuilder UuidUtil_AppendTo(Buffers buffers) {
+		buffers.builder.setLength(0);
+		return UuidUtil.appendTo(this.timeBased, buffers.builder);
+	}
+
+	@Benchmark
+	public UUID UuidUtil_FromStringToUuid() {
+		return UuidUtil.fromStringToUuid(this.string);
+	}
+
+	/*
+	 * Checks
+	 */
+
+	@Benchmark
+	public boolean UuidUtil_IsRfc4122Variant() {
+		return UuidUtil.isRfc4122Variant(this.timeBased);
+	}
+
+	@Benchmark
+	public boolean UuidUtil_IsTimeBasedVersion() {
+		return UuidUtil.isTimeBasedVersion(this.timeBased);
+	}
+
+	/*
+	 * Extractions
+	 */
+
+	@Benchmark
+	public long UuidUtil_ExtractNodeIdentifier() {
+		return UuidUtil.extractNodeIdentifier(this.timeBased);
+	}
+
+	@Benchmark
+	public int UuidUtil_ExtractClockSequence() {
+		return UuidUtil.extractClockSequence(this.timeBased);
+	}
+
+	@Benchmark
+	public long UuidUtil_ExtractTimestamp() {
+		return UuidUtil.extractTimestamp(this.timeBased);
+	}
+
+	@Benchmark
+	public long UuidUtil_ExtractTimestampFromSequential() {
+		return UuidUtil.extractTimestamp(this.sequential);
+	}
+
+	@Benchmark
+	public long UuidUtil_ExtractUnixMilliseconds() {
+		return UuidUtil.extractUnixMilliseconds(this.timeBased);
+	}
+
+	@Benchmark
+	public Instant UuidUtil_ExtractInstant() {
+		return UuidUtil.extractInstant(this.timeBased);
+	}
+
+	@Benchmark
+	public byte UuidUtil_ExtractDceSecurityLocalDomain() {
+		return UuidUtil.extractDceSecurityLocalDomain(this.dceSecurity);
+	}
+
+	@Benchmark
+	public int UuidUtil_ExtractDceSecurityLocalIdentifier() {
+		return UuidUtil.extractDceSecurityLocalIdentifier(this.dceSecurity);
+	}
+
+	@Benchmark
+	public long UuidUtil_ExtractDceSecurityTimestamp() {
+		return UuidUtil.extractDceSecurityTimestamp(this.dceSecurity);
+	}
+
+	/*
+	 * Conversions
+	 */
+
+	@Benchmark
+	public byte[] UuidUtil_FromUuidToBytes() {
+		return UuidUtil.fromUuidToBytes(this.timeBased);
+	}
+
+	@Benchmark
+	public UUID UuidUtil_FromBytesToUuid() {
+		return UuidUtil.fromBytesToUuid(this.bytes);
+	}
+
+	@Benchmark
+	public byte[] UuidUtil_FromUuidToBytesAtOffset(Buffers buffers) {
+		UuidUtil.fromUuidToBytes(this.timeBased, buffers.bytes, 0);
+		return buffers.bytes;
+	}
+
+	@Benchmark
+	public UUID UuidUtil_FromSequentialUuidToTimeBasedUuid() {
+		return UuidUtil.fromSequentialUuidToTimeBasedUuid(this.sequential);
+	}
+
+	@Benchmark
+	public UUID UuidUtil_FromTimeBasedUuidToSequentialUuid() {
+		return UuidUtil.fromTimeBasedUuidToSequentialUuid(this.timeBased);
+	}
+
+	@Benchmark
+	public UUID UuidUtil_FromUuidToMssqlGuid() {
+		return UuidUtil.fromUuidToMssqlGuid(this.timeBased);
+	}
+
+	@Benchmark
+	public UUID UuidUtil_FromMssqlGuidToUuid() {
+		return UuidUtil.fromMssqlGuidToUuid(this.mssqlGuid);
+	}
+}
@@ -30,6 +30,7 @@ import java.util.UUID;
 import com.github.f4b6a3.uuid.enums.UuidNamespace;
 import com.github.f4b6a3.uuid.exception.UuidCreatorException;
 import com.github.f4b6a3.uuid.factory.CombGuidCreator;
+import com.github.f4b6a3.uuid.factory.ConcurrentLexicalOrderGuidCreator;
 import com.github.f4b6a3.uuid.factory.DceSecurityUuidCreator;
 import com.github.f4b6a3.uuid.factory.LexicalOrderGuidCreator;
 import com.github.f4b6a3.uuid.factory.MssqlGuidCreator;
@@ -38,8 +39,11 @@ import com.github.f4b6a3.uuid.factory.RandomUuidCreator;
 import com.github.f4b6a3.uuid.factory.NameBasedSha1UuidCreator;
 import com.github.f4b6a3.uuid.factory.NameBasedSha256UuidCreator;
 import com.github.f4b6a3.uuid.factory.SequentialUuidCreator;
+import com.github.f4b6a3.uuid.factory.StripedTimeBasedUuidCreator;
 import com.github.f4b6a3.uuid.factory.TimeBasedUuidCreator;
+import com.github.f4b6a3.uuid.factory.TimeOrderedEpochUuidCreator;
 import com.github.f4b6a3.uuid.random.Xorshift128PlusRandom;
+import com.github.f4b6a3.uuid.timestamp.StallStrategy;
 
 /**
  * Facade to the UUID factories.
@@ -71,7 +75,8 @@ public class UuidCreator {
 	/**
 	 * Returns a fast random UUID.
 	 *
-	 * The random generator used is {@link Xorshift128PlusRandom}.
+	 * The random generator used is {@link Xorshift128PlusRandom}. Each thread
+	 * has its own generator, seeded by {@link java.security.SecureRandom}.
 	 * 
 	 * <pre>
 	 * Details: 
@@ -181,6 +186,34 @@ public class UuidCreator {
 		}
 	}
 
+	/**
+	 * Returns a UUID with timestamp and without machine address, using a
+	 * striped generator.
+	 * 
+	 * The threads are spread over many stripes that use disjoint slices of the
+	 * clock sequence, so they don't wait for each other. The UUIDs are not
+	 * ordered across threads.
+	 *
+	 * <pre>
+	 * Details: 
+	 * - Version number: 1 
+	 * - Variant number: 1 
+	 * - Has timestamp?: YES 
+	 * - Has hardware address (MAC)?: NO 
+	 * - Timestamp bytes are in the RFC-4122 order?: YES
+	 * </pre>
+	 * 
+	 * @return a time-based UUID
+	 */
+	public static UUID getStripedTimeBased() {
+		try {
+			return StripedTimeBasedCreatorLazyHolder.INSTANCE.create();
+		} catch (UuidCreatorException e) {
+			// Ignore the overrun exception and trust the clock sequence
+			return StripedTimeBasedCreatorLazyHolder.INSTANCE.create();
+		}
+	}
+
 	/**
 	 * Returns a UUID with timestamp and machine address.
 	 *
@@ -561,6 +594,18 @@ public class UuidCreator {
 		}
 	}
 
+	/**
+	 * Returns a time-ordered UUID with Unix epoch milliseconds (version 7).
+	 * 
+	 * If more than 2048 UUIDs are requested within the same millisecond, it
+	 * waits for the next millisecond.
+	 * 
+	 * @return a time-ordered UUID
+	 */
+	public static UUID getTimeOrderedEpoch() {
+		return TimeOrderedEpochCreatorLazyHolder.INSTANCE.create();
+	}
+
 	/*
 	 * Public static methods for creating FACTORIES of UUIDs
 	 */
@@ -583,6 +628,16 @@ public class UuidCreator {
 		return new TimeBasedUuidCreator();
 	}
 
+	/**
+	 * Returns a {@link StripedTimeBasedUuidCreator} that creates UUID version
+	 * 1.
+	 * 
+	 * @return {@link StripedTimeBasedUuidCreator}
+	 */
+	public static StripedTimeBasedUuidCreator getStripedTimeBasedCreator() {
+		return new StripedTimeBasedUuidCreator();
+	}
+
 	/**
 	 * Returns a {@link DceSecurityUuidCreator} that creates UUID version 2.
 	 * 
@@ -666,6 +721,40 @@ public class UuidCreator {
 		return new LexicalOrderGuidCreator();
 	}
 
+	/**
+	 * Returns a {@link ConcurrentLexicalOrderGuidCreator}.
+	 * 
+	 * It creates the same GUIDs of {@link LexicalOrderGuidCreator} without
+	 * locks.
+	 * 
+	 * @return {@link ConcurrentLexicalOrderGuidCreator}
+	 */
+	public static ConcurrentLexicalOrderGuidCreator getConcurrentLexicalOrderCreator() {
+		return new ConcurrentLexicalOrderGuidCreator();
+	}
+
+	/**
+	 * Returns a {@link TimeOrderedEpochUuidCreator} that creates UUID version
+	 * 7.
+	 * 
+	 * @return {@link TimeOrderedEpochUuidCreator}
+	 */
+	public static TimeOrderedEpochUuidCreator getTimeOrderedEpochCreator() {
+		return new TimeOrderedEpochUuidCreator();
+	}
+
+	/**
+	 * Returns a {@link TimeOrderedEpochUuidCreator} that creates UUID version
+	 * 7.
+	 * 
+	 * @param method
+	 *            the method for ordering the UUIDs of the same millisecond
+	 * @return {@link TimeOrderedEpochUuidCreator}
+	 */
+	public static TimeOrderedEpochUuidCreator getTimeOrderedEpochCreator(TimeOrderedEpochUuidCreator.Method method) {
+		return new TimeOrderedEpochUuidCreator(method);
+	}
+
 	/*
 	 * Private classes for lazy holders
 	 */
@@ -694,6 +783,10 @@ public class UuidCreator {
 		static final TimeBasedUuidCreator INSTANCE = getTimeBasedCreator();
 	}
 
+	private static class StripedTimeBasedCreatorLazyHolder {
+		static final StripedTimeBasedUuidCreator INSTANCE = getStripedTimeBasedCreator();
+	}
+
 	private static class TimeBasedWithMacCreatorLazyHolder {
 		static final TimeBasedUuidCreator INSTANCE = getTimeBasedCreator().withHardwareAddressNodeIdentifier();
 	}
@@ -737,4 +830,9 @@ public class UuidCreator {
 	private static class LexicalOrderCreatorLazyHolder {
 		static final LexicalOrderGuidCreator INSTANCE = getLexicalOrderCreator();
 	}
+
+	private static class TimeOrderedEpochCreatorLazyHolder {
+		static final TimeOrderedEpochUuidCreator INSTANCE = getTimeOrderedEpochCreator()
+				.withStallStrategy(new StallStrategy());
+	}
 }
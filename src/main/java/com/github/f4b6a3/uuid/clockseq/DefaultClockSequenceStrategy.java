@@ -24,7 +24,7 @@
 
 package com.github.f4b6a3.uuid.clockseq;
 
-import com.github.f4b6a3.uuid.distrib.CyclicDistributor;
+import com.github.f4b6a3.uuid.distrib.BitReversalDistributor;
 import com.github.f4b6a3.uuid.distrib.Distributor;
 import com.github.f4b6a3.uuid.sequence.AbstractSequence;
 import com.github.f4b6a3.uuid.state.AbstractUuidState;
@@ -80,6 +80,11 @@ public class DefaultClockSequenceStrategy extends AbstractSequence implements Cl
 	 * (6b) If the state was available, but the saved timestamp is later than
 	 * the current timestamp, increment the clock sequence value.
 	 * 
+	 * If a state is passed as argument, it is used even if the state setting
+	 * is disabled.
+	 * 
+	 * If the state is shared, the clock sequences are handed out by the state.
+	 * 
 	 * @param timestamp
 	 *            the current timestamp
 	 * @param nodeIdentifier
@@ -93,7 +98,7 @@ public class DefaultClockSequenceStrategy extends AbstractSequence implements Cl
 		this.previousTimestamp = timestamp;
 		this.previousNodeIdentifier = nodeIdentifier;
 
-		if (SettingsUtil.isStateEnabled()) {
+		if (state != null || SettingsUtil.isStateEnabled()) {
 
 			this.addShutdownHook();
 
@@ -103,6 +108,11 @@ public class DefaultClockSequenceStrategy extends AbstractSequence implements Cl
 				this.state = new FileUuidState();
 			}
 
+			if (this.state.isShared()) {
+				this.set(this.state.nextClockSequence());
+				return;
+			}
+
 			if (!this.state.isValid()) {
 				this.reset();
 				return;
@@ -143,22 +153,44 @@ public class DefaultClockSequenceStrategy extends AbstractSequence implements Cl
 	 * just be incremented; otherwise it should be set to a random or
 	 * high-quality pseudo-random value.
 	 * 
+	 * (3) Similarly, if the node ID changes (e.g., because a network card has
+	 * been moved between machines), setting the clock sequence to a random
+	 * number minimizes the probability of a duplicate due to slight differences
+	 * in the clock settings of the machines. If the value of clock sequence
+	 * associated with the changed node ID were known, then the clock sequence
+	 * could just be incremented, but that is unlikely.
+	 * 
+	 * The clock sequence is incremented when the node identifier changes, for
+	 * example, when a node identifier discovered in the background replaces a
+	 * random one.
+	 * 
 	 * @param timestamp
 	 *            a timestamp
 	 * @param nodeIdentifier
-	 *            a node identifier (ignored in this subclass)
+	 *            a node identifier
 	 * @return a clock sequence
 	 */
 	@Override
 	public long getClockSequence(final long timestamp, final long nodeIdentifier) {
 
-		if (timestamp > this.previousTimestamp) {
-			this.previousTimestamp = timestamp;
-			return this.current();
+		final long clockSequence;
+		if (timestamp > this.previousTimestamp && nodeIdentifier == this.previousNodeIdentifier) {
+			clockSequence = this.current();
+		} else if (this.state != null && this.state.isShared()) {
+			this.set(this.state.nextClockSequence());
+			clockSequence = this.current();
+		} else {
+			clockSequence = this.next();
 		}
 
 		this.previousTimestamp = timestamp;
-		return this.next();
+		this.previousNodeIdentifier = nodeIdentifier;
+
+		if (this.state != null) {
+			this.state.update(timestamp, clockSequence, this.previousNodeIdentifier);
+		}
+
+		return clockSequence;
 	}
 
 	@Override
@@ -170,7 +202,7 @@ public class DefaultClockSequenceStrategy extends AbstractSequence implements Cl
 	 * Stores the state in a file on the file system.
 	 */
 	protected void storeState() {
-		if (SettingsUtil.isStateEnabled()) {
+		if (this.state != null) {
 			this.state.setNodeIdentifier(previousNodeIdentifier);
 			this.state.setTimestamp(previousTimestamp);
 			this.state.setClockSequence(this.value);
@@ -202,6 +234,6 @@ public class DefaultClockSequenceStrategy extends AbstractSequence implements Cl
 	}
 
 	private static class DistributorLazyHolder {
-		static final Distributor INSTANCE = new CyclicDistributor(SEQUENCE_MAX + 1);
+		static final Distributor INSTANCE = new BitReversalDistributor(Integer.bitCount(SEQUENCE_MAX));
 	}
 }
\ No newline at end of file
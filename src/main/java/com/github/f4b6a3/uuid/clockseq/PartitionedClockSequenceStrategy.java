@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018-2019 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.f4b6a3.uuid.clockseq;
+
+import com.github.f4b6a3.uuid.util.RandomUtil;
+
+/**
+ * This is an implementation of {@link ClockSequenceStrategy} that keeps the
+ * clock sequence inside a slice of the 14-bit clock sequence space.
+ * 
+ * The space is split in a power of 2 number of partitions. The most significant
+ * bits of the clock sequence are the partition number and the least
+ * significant bits are a local sequence that cycles inside the partition.
+ * 
+ * Generators using different partitions of the same space never produce the
+ * same clock sequence, even if they use the same node identifier and the same
+ * timestamps.
+ * 
+ * For example, with 4 partitions, the partition 2 owns the clock sequences from
+ * 0x2000 to 0x2fff.
+ */
+public class PartitionedClockSequenceStrategy implements ClockSequenceStrategy {
+
+	private long previousTimestamp = 0;
+
+	protected long value;
+
+	protected final long partitionBits;
+	protected final long localMask;
+
+	protected static final int SEQUENCE_BITS = 14;
+	protected static final int PARTITIONS_MAX = 0x4000;
+
+	/**
+	 * This constructor receives the partition number and the number of
+	 * partitions.
+	 * 
+	 * The local sequence is initialized with a random number.
+	 * 
+	 * @param partition
+	 *            the partition number, from 0 to partitions - 1
+	 * @param partitions
+	 *            the number of partitions, a power of 2 from 1 to 16,384
+	 * @throws IllegalArgumentException
+	 *             if the number of partitions is not a power of 2 or the
+	 *             partition number is out of range
+	 */
+	public PartitionedClockSequenceStrategy(int partition, int partitions) {
+
+		if (partitions < 1 || partitions > PARTITIONS_MAX || Integer.bitCount(partitions) != 1) {
+			throw new IllegalArgumentException(
+					String.format("The number of partitions must be a power of 2 up to %s.", PARTITIONS_MAX));
+		}
+
+		if (partition < 0 || partition >= partitions) {
+			throw new IllegalArgumentException(
+					String.format("The partition number must be between 0 and %s.", partitions - 1));
+		}
+
+		final int localBits = SEQUENCE_BITS - Integer.numberOfTrailingZeros(partitions);
+		this.localMask = (1L << localBits) - 1;
+		this.partitionBits = ((long) partition) << localBits;
+		this.value = RandomUtil.nextInt((int) this.localMask + 1);
+	}
+
+	/**
+	 * Get the next value for a timestamp.
+	 * 
+	 * The local sequence is incremented if the timestamp is not greater than
+	 * the previous timestamp. It rolls over inside its own partition.
+	 * 
+	 * @param timestamp
+	 *            a timestamp
+	 * @param nodeIdentifier
+	 *            a node identifier (ignored in this subclass)
+	 * @return a clock sequence
+	 */
+	@Override
+	public long getClockSequence(final long timestamp, final long nodeIdentifier) {
+
+		if (timestamp <= this.previousTimestamp) {
+			this.value = (this.value + 1) & this.localMask;
+		}
+
+		this.previousTimestamp = timestamp;
+		return this.partitionBits | this.value;
+	}
+}
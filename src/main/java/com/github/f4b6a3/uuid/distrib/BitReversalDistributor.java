@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018-2019 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.f4b6a3.uuid.distrib;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.f4b6a3.uuid.util.RandomUtil;
+
+/**
+ * This class hands out numbers in a range of 2^n values so that the first value
+ * is random and the rest values won't repeat until the range is exhausted.
+ * 
+ * It hands out the same points of a circle as {@link CyclicDistributor}, in a
+ * similar order, but with integer arithmetic and without locks. The i-th value
+ * is the first value plus the bits of i in reverse order, which is the van der
+ * Corput sequence in base 2 scaled to the range. Handing out a value takes a
+ * single atomic increment.
+ * 
+ * Example:
+ * 
+ * Say the range is 8 (3 bits) and the first value is ZERO. The values handed
+ * out are 0, 4, 2, 6, 1, 5, 3 and 7. After that, the sequence starts over.
+ * 
+ */
+public class BitReversalDistributor implements Distributor {
+
+	public static final int BITS_MAX = 30;
+
+	private final int bits;
+	private final int mask;
+	private final int offset;
+
+	private final AtomicInteger counter = new AtomicInteger();
+
+	/**
+	 * Creates a distributor for a range of 2^bits values.
+	 * 
+	 * @param bits
+	 *            the number of bits of the values, from 0 to 30
+	 */
+	public BitReversalDistributor(int bits) {
+
+		if (bits < 0 || bits > BITS_MAX) {
+			throw new IllegalArgumentException(String.format("Number of bits out of range [0, %s].", BITS_MAX));
+		}
+
+		this.bits = bits;
+		this.mask = (1 << bits) - 1;
+		this.offset = this.mask == 0 ? 0 : RandomUtil.nextInt(this.mask + 1);
+	}
+
+	@Override
+	public long handOut() {
+		final int index = this.counter.getAndIncrement() & this.mask;
+		final int reversed = this.bits == 0 ? 0 : Integer.reverse(index) >>> (Integer.SIZE - this.bits);
+		return (this.offset + reversed) & this.mask;
+	}
+}
@@ -24,7 +24,9 @@
 
 package com.github.f4b6a3.uuid.factory;
 
-import java.util.UUID;
+import java.nio.ByteBuffer;
+
+import com.github.f4b6a3.uuid.util.UuidUtil;
 
 /**
  * Factory that creates COMB UUIDs.
@@ -42,18 +44,42 @@ import java.util.UUID;
 public class CombGuidCreator extends LexicalOrderGuidCreator {
 
 	/**
-	 * Return a COMB GUID.
+	 * Formats the most significant bits of a COMB GUID.
 	 * 
 	 * See {@link LexicalOrderGuidCreator#create()}
 	 */
 	@Override
-	public synchronized UUID create() {
-
-		final long timestamp = this.getTimestamp();
+	protected long formatMostSignificantBits(final long timestamp, final long high, final long low) {
+		return (high << 48) | (low >>> 16);
+	}
 
-		final long msb = (high << 48) | (low >> 16);
-		final long lsb = (low << 48) | timestamp;
+	/**
+	 * Formats the least significant bits of a COMB GUID.
+	 * 
+	 * See {@link LexicalOrderGuidCreator#create()}
+	 */
+	@Override
+	protected long formatLeastSignificantBits(final long timestamp, final long high, final long low) {
+		return (low << 48) | timestamp;
+	}
 
-		return new UUID(msb, lsb);
+	/**
+	 * Creates many GUIDs and writes them into a byte buffer in the binary
+	 * layout of the MSSQL Server 'uniqueidentifier' type, ready for bulk copy.
+	 * 
+	 * The GUIDs are created in chunks by {@link #create(long[], int)}, so the
+	 * lock is taken once for each chunk and no {@link java.util.UUID} is
+	 * allocated.
+	 * 
+	 * {@link UuidUtil#formatMssqlBinaryMostSignificantBits(long)}
+	 * 
+	 * @param buffer
+	 *            a byte buffer
+	 * @param count
+	 *            the number of GUIDs
+	 */
+	@Override
+	public void createMssqlBinary(final ByteBuffer buffer, final int count) {
+		super.createMssqlBinary(buffer, count);
 	}
 }
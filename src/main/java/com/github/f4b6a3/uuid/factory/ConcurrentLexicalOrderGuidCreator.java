@@ -0,0 +1,303 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018-2019 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.f4b6a3.uuid.factory;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.github.f4b6a3.uuid.exception.UuidCreatorException;
+import com.github.f4b6a3.uuid.factory.abst.AbstractNoArgumentsUuidCreator;
+import com.github.f4b6a3.uuid.timestamp.StallStrategy;
+import com.github.f4b6a3.uuid.timestamp.TimestampStrategy;
+import com.github.f4b6a3.uuid.timestamp.UnixMillisecondsTimestampStretegy;
+import com.github.f4b6a3.uuid.util.RandomUtil;
+
+/**
+ * Factory that creates lexicographically sortable GUIDs, based on the ULID
+ * specification, without locks.
+ * 
+ * The GUIDs are the same of {@link LexicalOrderGuidCreator}: 48 bits of
+ * milliseconds since 1970-01-01 followed by 80 bits that are random at the
+ * start of each millisecond and incremented by one within the same
+ * millisecond.
+ * 
+ * The millisecond and the 80 bits are kept in a single immutable state that is
+ * replaced atomically, so concurrent threads don't serialize on a monitor. The
+ * random bits of each new millisecond come from a
+ * {@link com.github.f4b6a3.uuid.random.BufferedSecureRandom} by default, which
+ * doesn't allocate or call the underlying {@link java.security.SecureRandom} on
+ * every draw.
+ * 
+ * If the system clock goes backwards, the last millisecond is kept and the
+ * random part keeps being incremented, so the GUIDs never go backwards.
+ * 
+ * ULID specification: https://github.com/ulid/spec
+ */
+public class ConcurrentLexicalOrderGuidCreator extends AbstractNoArgumentsUuidCreator {
+
+	protected static final long MAX_HIGH = 0x000000000000ffffL;
+
+	private final AtomicReference<State> state = new AtomicReference<>(new State(0, 0, 0));
+
+	protected volatile TimestampStrategy timestampStrategy;
+	protected volatile StallStrategy stallStrategy;
+	protected volatile Random random;
+
+	public ConcurrentLexicalOrderGuidCreator() {
+		this.timestampStrategy = new UnixMillisecondsTimestampStretegy();
+		this.random = RandomUtil.getBufferedSecureRandom();
+	}
+
+	/**
+	 * Returns a Lexical Order GUID.
+	 * 
+	 * See {@link LexicalOrderGuidCreator#create()}.
+	 * 
+	 * @return {@link UUID} a UUID value
+	 * 
+	 * @throws UuidCreatorException
+	 *             an overflow exception if too many requests within the same
+	 *             millisecond causes an overflow when incrementing the random
+	 *             bits of the GUID.
+	 */
+	@Override
+	public UUID create() {
+		final State first = this.reserve(1);
+		final long msb = this.formatMostSignificantBits(first.timestamp, first.high, first.low);
+		final long lsb = this.formatLeastSignificantBits(first.timestamp, first.high, first.low);
+		return new UUID(msb, lsb);
+	}
+
+	/**
+	 * Creates many GUIDs and writes them into an array of longs.
+	 * 
+	 * The GUIDs are reserved in runs of consecutive values with a single
+	 * atomic operation for each run.
+	 * 
+	 * If an overflow exception is thrown, the GUIDs created before it are kept
+	 * in the array.
+	 * 
+	 * See {@link #create()}.
+	 * 
+	 * @param uuids
+	 *            an array of MSB and LSB pairs
+	 * @param count
+	 *            the number of GUIDs
+	 * 
+	 * @throws UuidCreatorException
+	 *             an overflow exception if too many requests within the same
+	 *             millisecond causes an overflow when incrementing the random
+	 *             bits of the GUID.
+	 */
+	@Override
+	public void create(final long[] uuids, final int count) {
+		validateBulkArguments(uuids, count);
+
+		int i = 0;
+		while (i < count) {
+			final int run = Math.min(count - i, BULK_CHUNK_SIZE);
+			final State first = this.reserve(run);
+
+			final long timestamp = first.timestamp;
+			long high = first.high;
+			long low = first.low;
+			for (int j = 0; j < run; j++, i++) {
+				uuids[i << 1] = this.formatMostSignificantBits(timestamp, high, low);
+				uuids[(i << 1) + 1] = this.formatLeastSignificantBits(timestamp, high, low);
+				if (++low == 0) {
+					high++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reserves a run of consecutive values.
+	 * 
+	 * @param count
+	 *            the number of values
+	 * @return the first value of the run
+	 * 
+	 * @throws UuidCreatorException
+	 *             if an overflow happens.
+	 */
+	protected State reserve(final int count) {
+		while (true) {
+
+			final State previous = this.state.get();
+			final long timestamp = this.timestampStrategy.getTimestamp();
+
+			final State first;
+			if (timestamp <= previous.timestamp) {
+				first = previous.add(1);
+			} else {
+				final Random rand = this.random;
+				first = new State(timestamp, rand.nextInt() & MAX_HIGH, rand.nextLong());
+			}
+
+			final State last = first == null ? null : first.add(count - 1);
+			if (last == null) {
+				if (timestamp <= previous.timestamp) {
+					// Too many requests
+					this.stall(previous.timestamp);
+				}
+				// else the new random part is too close to the maximum
+				continue;
+			}
+
+			if (this.state.compareAndSet(previous, last)) {
+				return first;
+			}
+		}
+	}
+
+	/**
+	 * Waits until the timestamp strategy returns a later timestamp, if a
+	 * {@link StallStrategy} is set.
+	 * 
+	 * @param timestamp
+	 *            the exhausted timestamp
+	 * @throws UuidCreatorException
+	 *             if no stall strategy is set or the maximum wait time is
+	 *             exceeded
+	 */
+	private void stall(final long timestamp) {
+		final StallStrategy stall = this.stallStrategy;
+		if (stall == null || stall.awaitAfter(this.timestampStrategy, timestamp) <= timestamp) {
+			throw new UuidCreatorException(LexicalOrderGuidCreator.OVERFLOW_MESSAGE);
+		}
+	}
+
+	/**
+	 * Formats the most significant bits of the GUID.
+	 * 
+	 * @param timestamp
+	 *            the milliseconds since 1970-01-01
+	 * @param high
+	 *            the 16 high bits of the random part
+	 * @param low
+	 *            the 64 low bits of the random part
+	 * @return the MSB
+	 */
+	protected long formatMostSignificantBits(final long timestamp, final long high, final long low) {
+		return (timestamp << 16) | high;
+	}
+
+	/**
+	 * Formats the least significant bits of the GUID.
+	 * 
+	 * @param timestamp
+	 *            the milliseconds since 1970-01-01
+	 * @param high
+	 *            the 16 high bits of the random part
+	 * @param low
+	 *            the 64 low bits of the random part
+	 * @return the LSB
+	 */
+	protected long formatLeastSignificantBits(final long timestamp, final long high, final long low) {
+		return low;
+	}
+
+	/**
+	 * Used for changing the timestamp strategy.
+	 * 
+	 * @param timestampStrategy
+	 *            a timestamp strategy
+	 * @return {@link ConcurrentLexicalOrderGuidCreator}
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T extends ConcurrentLexicalOrderGuidCreator> T withTimestampStrategy(
+			TimestampStrategy timestampStrategy) {
+		this.timestampStrategy = timestampStrategy;
+		return (T) this;
+	}
+
+	/**
+	 * Used for changing the random generator of the random part.
+	 * 
+	 * The generator must be thread safe.
+	 * 
+	 * @param random
+	 *            a random generator
+	 * @return {@link ConcurrentLexicalOrderGuidCreator}
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T extends ConcurrentLexicalOrderGuidCreator> T withRandomGenerator(Random random) {
+		this.random = random;
+		return (T) this;
+	}
+
+	/**
+	 * Used for waiting for the next millisecond instead of throwing an
+	 * overflow exception.
+	 * 
+	 * See {@link StallStrategy}.
+	 * 
+	 * @param stallStrategy
+	 *            a stall strategy, or null to throw an exception right away
+	 * @return {@link ConcurrentLexicalOrderGuidCreator}
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T extends ConcurrentLexicalOrderGuidCreator> T withStallStrategy(
+			StallStrategy stallStrategy) {
+		this.stallStrategy = stallStrategy;
+		return (T) this;
+	}
+
+	/**
+	 * An immutable state: the millisecond and the 80-bit random part.
+	 */
+	protected static final class State {
+
+		protected final long timestamp;
+		protected final long high;
+		protected final long low;
+
+		protected State(long timestamp, long high, long low) {
+			this.timestamp = timestamp;
+			this.high = high;
+			this.low = low;
+		}
+
+		/**
+		 * Adds a number to the 80-bit random part.
+		 * 
+		 * @param n
+		 *            a non-negative number
+		 * @return the new state, or null if an overflow happens
+		 */
+		protected State add(final long n) {
+			final long sum = this.low + n;
+			final long carry = Long.compareUnsigned(sum, this.low) < 0 ? 1 : 0;
+			final long sumHigh = this.high + carry;
+			if (sumHigh > MAX_HIGH) {
+				return null;
+			}
+			return new State(this.timestamp, sumHigh, sum);
+		}
+	}
+}
@@ -25,10 +25,10 @@
 package com.github.f4b6a3.uuid.factory;
 
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 import com.github.f4b6a3.uuid.enums.UuidVersion;
 import com.github.f4b6a3.uuid.exception.UuidCreatorException;
-import com.github.f4b6a3.uuid.sequence.AbstractSequence;
 
 /**
  * 
@@ -50,8 +50,17 @@ public class DceSecurityUuidCreator extends TimeBasedUuidCreator {
 	public static final byte LOCAL_DOMAIN_GROUP = 1; // POSIX GID domain
 	public static final byte LOCAL_DOMAIN_ORG = 2;
 
+	// COUNTER_MAX: 2^6 (14 bits of the clock sequence minus 8 bits)
+	private static final int COUNTER_MASK = 0x3f;
+
+	// the bits kept from a time-based UUID
+	private static final long MSB_MASK = 0x00000000ffff0fffL;
+	private static final long LSB_MASK = 0xff00ffffffffffffL;
+
 	protected TimeBasedUuidCreator timeBasedUUIDCreator;
-	protected DCESTimestampCounter timestampCounter;
+
+	// one counter for each local domain
+	private final AtomicIntegerArray counters = new AtomicIntegerArray(256);
 
 	protected byte localDomain;
 
@@ -60,7 +69,6 @@ public class DceSecurityUuidCreator extends TimeBasedUuidCreator {
 	 */
 	public DceSecurityUuidCreator() {
 		super(UuidVersion.DCE_SECURITY);
-		timestampCounter = new DCESTimestampCounter();
 	}
 	
 	@Override
@@ -68,6 +76,11 @@ public class DceSecurityUuidCreator extends TimeBasedUuidCreator {
 		throw new UuidCreatorException("Not implemented.");
 	}
 
+	@Override
+	public void create(long[] uuids, int count) {
+		throw new UuidCreatorException("Not implemented.");
+	}
+
 	/**
 	 * 
 	 * Returns a DCE Security UUID based in a local domain and a local
@@ -78,7 +91,7 @@ public class DceSecurityUuidCreator extends TimeBasedUuidCreator {
 	 * 
 	 * Steps of creation:
 	 * 
-	 * (1a) Create a Time-based UUID (version 1);
+	 * (1a) Format the bits of a Time-based UUID (version 1);
 	 * 
 	 * (2a) Replace the least significant 8 bits of the clock sequence with the
 	 * local domain;
@@ -86,6 +99,10 @@ public class DceSecurityUuidCreator extends TimeBasedUuidCreator {
 	 * (3a) Replace the least significant 32 bits of the timestamp with the
 	 * local identifier.
 	 * 
+	 * The bits are replaced while they are formatted, without creating the
+	 * Time-based UUID. Each local domain has its own counter, which is
+	 * incremented without a lock.
+	 * 
 	 * 
 	 * ### DCE 1.1: Authentication and Security Services Security-Version
 	 * (Version 2) UUIDs
@@ -148,20 +165,17 @@ public class DceSecurityUuidCreator extends TimeBasedUuidCreator {
 	 * @param localIdentifier a local identifier
 	 * @return a UUID
 	 */
-	public synchronized UUID create(byte localDomain, int localIdentifier) {
+	public UUID create(byte localDomain, int localIdentifier) {
 
-		// (1a) Create a Time-based UUID (version 1)
-		UUID uuid = super.create();
+		// (2a) the local identifier bits and (1b) the version 2 bits
+		final long msbBits = setVersionBits(setLocalIdentifierBits(0L, localIdentifier));
 
-		// (2a) Insert de local identifier bits
-		long msb = setLocalIdentifierBits(uuid.getMostSignificantBits(), localIdentifier);
+		// (3a) the local domain bits
+		final long counter = this.counters.incrementAndGet(localDomain & 0xff) & COUNTER_MASK;
+		final long lsbBits = setLocalDomainBits(0L, localDomain, counter);
 
-		// (3a) Insert the local domain bits
-		long counter = timestampCounter.next();
-		long lsb = setLocalDomainBits(uuid.getLeastSignificantBits(), localDomain, counter);
-		
-		// (1b) set version 2
-		return new UUID(setVersionBits(msb), lsb);
+		// (1a) format the Time-based bits replacing the bits above
+		return this.createMasked(MSB_MASK, msbBits, LSB_MASK, lsbBits);
 	}
 
 	/**
@@ -233,18 +247,4 @@ public class DceSecurityUuidCreator extends TimeBasedUuidCreator {
 		this.localDomain = localDomain;
 		return this;
 	}
-
-	/**
-	 * Class used to keep a counter to simulate minimize repetition.
-	 */
-	protected class DCESTimestampCounter extends AbstractSequence {
-		
-		// COUNTER_MAX: 2^6 (14 bits of the clock sequence minus 8 bytes)
-		private static final long COUNTER_MIN = 0;
-		private static final long COUNTER_MAX = 63;
-
-		protected DCESTimestampCounter() {
-			super(COUNTER_MIN, COUNTER_MAX);
-		}
-	}
 }
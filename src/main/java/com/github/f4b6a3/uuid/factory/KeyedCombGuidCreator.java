@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018-2019 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.f4b6a3.uuid.factory;
+
+/**
+ * Factory that creates COMB GUIDs that are strictly monotonic for each key.
+ * 
+ * The GUIDs have the layout of {@link CombGuidCreator} and the keyed states
+ * of {@link KeyedLexicalOrderGuidCreator}.
+ * 
+ * @param <K>
+ *            the key type
+ */
+public class KeyedCombGuidCreator<K> extends KeyedLexicalOrderGuidCreator<K> {
+
+	public KeyedCombGuidCreator() {
+		super();
+	}
+
+	/**
+	 * Creates a keyed creator.
+	 * 
+	 * @param maxKeys
+	 *            the maximum number of keys kept in memory
+	 * @param idleTimeout
+	 *            the time in milliseconds after which an unused key is evicted
+	 */
+	public KeyedCombGuidCreator(int maxKeys, long idleTimeout) {
+		super(maxKeys, idleTimeout);
+	}
+
+	/**
+	 * See {@link CombGuidCreator}.
+	 */
+	@Override
+	protected long formatMostSignificantBits(final long timestamp, final long high, final long low) {
+		return (high << 48) | (low >>> 16);
+	}
+
+	/**
+	 * See {@link CombGuidCreator}.
+	 */
+	@Override
+	protected long formatLeastSignificantBits(final long timestamp, final long high, final long low) {
+		return (low << 48) | timestamp;
+	}
+}
@@ -0,0 +1,438 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018-2019 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.f4b6a3.uuid.factory;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.github.f4b6a3.uuid.exception.UuidCreatorException;
+import com.github.f4b6a3.uuid.timestamp.TimestampStrategy;
+import com.github.f4b6a3.uuid.timestamp.UnixMillisecondsTimestampStretegy;
+import com.github.f4b6a3.uuid.util.RandomUtil;
+
+/**
+ * Factory that creates lexicographically sortable GUIDs that are strictly
+ * monotonic for each key, for example, a tenant ID or a shard number.
+ * 
+ * Each key has its own state, like a separate
+ * {@link ConcurrentLexicalOrderGuidCreator}, so GUIDs of different keys never
+ * contend with each other. The states are kept in a concurrent map with a
+ * maximum number of keys. A key that was not used for longer than the idle
+ * timeout is evicted. If the map is full, the least recently used keys are
+ * evicted too, a sixteenth of the maximum at a time, so that the map is not
+ * scanned for every new key.
+ * 
+ * An evicted key starts over with a new state when it is used again. Its
+ * first GUID is still greater than the last GUID created before the eviction,
+ * because it never uses a millisecond less than or equal to the milliseconds
+ * of the evicted states. If needed, the next millisecond is borrowed. So the
+ * maximum number of keys should be greater than the number of partitions in
+ * use: if active keys are evicted all the time, the borrowed milliseconds can
+ * run ahead of the clock.
+ * 
+ * ULID specification: https://github.com/ulid/spec
+ * 
+ * @param <K>
+ *            the key type
+ */
+public class KeyedLexicalOrderGuidCreator<K> {
+
+	public static final int DEFAULT_MAX_KEYS = 10_000;
+	public static final long DEFAULT_IDLE_TIMEOUT = 60_000; // milliseconds
+
+	protected static final long MAX_HIGH = 0x000000000000ffffL;
+
+	private static final State EVICTED = new State(Long.MAX_VALUE, 0, 0, false);
+
+	private final int maxKeys;
+	private final int evictionBatch;
+	private final long idleTimeout;
+
+	private final ConcurrentHashMap<K, Entry> entries = new ConcurrentHashMap<>();
+
+	private final AtomicLong watermark = new AtomicLong();
+	private final AtomicLong nextSweep;
+	private final AtomicLong evictions = new AtomicLong();
+
+	protected volatile TimestampStrategy timestampStrategy;
+	protected volatile Random random;
+
+	public KeyedLexicalOrderGuidCreator() {
+		this(DEFAULT_MAX_KEYS, DEFAULT_IDLE_TIMEOUT);
+	}
+
+	/**
+	 * Creates a keyed creator.
+	 * 
+	 * @param maxKeys
+	 *            the maximum number of keys kept in memory
+	 * @param idleTimeout
+	 *            the time in milliseconds after which an unused key is evicted
+	 */
+	public KeyedLexicalOrderGuidCreator(int maxKeys, long idleTimeout) {
+
+		if (maxKeys < 1) {
+			throw new IllegalArgumentException("The maximum number of keys must be positive.");
+		}
+		if (idleTimeout < 1) {
+			throw new IllegalArgumentException("The idle timeout must be positive.");
+		}
+
+		this.maxKeys = maxKeys;
+		this.evictionBatch = Math.max(1, maxKeys >>> 4);
+		this.idleTimeout = TimeUnit.MILLISECONDS.toNanos(idleTimeout);
+		this.nextSweep = new AtomicLong(System.nanoTime() + this.idleTimeout);
+
+		this.timestampStrategy = new UnixMillisecondsTimestampStretegy();
+		this.random = RandomUtil.getBufferedSecureRandom();
+	}
+
+	/**
+	 * Returns a Lexical Order GUID for a key.
+	 * 
+	 * See {@link LexicalOrderGuidCreator#create()}.
+	 * 
+	 * @param key
+	 *            a key
+	 * @return {@link UUID} a UUID value
+	 * 
+	 * @throws UuidCreatorException
+	 *             an overflow exception if too many requests for the same key
+	 *             within the same millisecond causes an overflow when
+	 *             incrementing the random bits of the GUID.
+	 */
+	public UUID create(final K key) {
+
+		if (key == null) {
+			throw new IllegalArgumentException("Null key.");
+		}
+
+		while (true) {
+			final long now = System.nanoTime();
+			Entry entry = this.entries.get(key);
+			if (entry == null) {
+				final Entry created = new Entry(new State(this.watermark.get(), 0, 0, true), now);
+				entry = this.entries.putIfAbsent(key, created);
+				if (entry == null) {
+					entry = created;
+					this.evictIfFull(created, now);
+				}
+			}
+
+			final State state = this.next(entry);
+			if (state == null) {
+				// evicted by another thread: try again
+				continue;
+			}
+
+			entry.lastAccess = now;
+			this.sweepIfDue(now);
+
+			final long msb = this.formatMostSignificantBits(state.timestamp, state.high, state.low);
+			final long lsb = this.formatLeastSignificantBits(state.timestamp, state.high, state.low);
+			return new UUID(msb, lsb);
+		}
+	}
+
+	/**
+	 * Advances the state of a key.
+	 * 
+	 * @param entry
+	 *            the entry of a key
+	 * @return the new state, or null if the entry was evicted
+	 */
+	private State next(final Entry entry) {
+		while (true) {
+
+			final State previous = entry.state.get();
+			if (previous == EVICTED) {
+				return null;
+			}
+
+			final long timestamp = this.timestampStrategy.getTimestamp();
+
+			final State next;
+			if (timestamp > previous.timestamp) {
+				next = this.newState(timestamp);
+			} else if (previous.fresh) {
+				// borrow the next millisecond after an eviction
+				next = this.newState(previous.timestamp + 1);
+			} else {
+				next = previous.increment();
+				if (next == null) {
+					// Too many requests
+					throw new UuidCreatorException(LexicalOrderGuidCreator.OVERFLOW_MESSAGE);
+				}
+			}
+
+			if (entry.state.compareAndSet(previous, next)) {
+				return next;
+			}
+		}
+	}
+
+	private State newState(final long timestamp) {
+		final Random rand = this.random;
+		return new State(timestamp, rand.nextInt() & MAX_HIGH, rand.nextLong(), false);
+	}
+
+	/**
+	 * Evicts idle keys, and then a batch of the least recently used keys, if
+	 * there are more keys than the maximum.
+	 * 
+	 * The map is scanned once for the whole batch, so the next keys are
+	 * inserted without a scan until the map is full again.
+	 * 
+	 * Threads that insert keys at the same time may briefly exceed the maximum
+	 * by the number of threads.
+	 * 
+	 * @param inserted
+	 *            the entry just inserted, which is never evicted here
+	 * @param now
+	 *            the current value of {@link System#nanoTime()}
+	 */
+	private void evictIfFull(final Entry inserted, final long now) {
+
+		if (this.entries.size() <= this.maxKeys) {
+			return;
+		}
+
+		// the most recently used of the batch is at the head
+		final PriorityQueue<Map.Entry<K, Entry>> oldest = new PriorityQueue<>(this.evictionBatch,
+				new Comparator<Map.Entry<K, Entry>>() {
+					@Override
+					public int compare(Map.Entry<K, Entry> a, Map.Entry<K, Entry> b) {
+						return Long.signum(b.getValue().lastAccess - a.getValue().lastAccess);
+					}
+				});
+
+		for (Map.Entry<K, Entry> item : this.entries.entrySet()) {
+			final Entry entry = item.getValue();
+			if (entry == inserted) {
+				continue;
+			}
+			if (now - entry.lastAccess > this.idleTimeout) {
+				this.evict(item.getKey(), entry);
+			} else if (oldest.size() < this.evictionBatch) {
+				oldest.add(item);
+			} else if (entry.lastAccess - oldest.peek().getValue().lastAccess < 0) {
+				oldest.poll();
+				oldest.add(item);
+			}
+		}
+
+		// leave room for the next keys of the batch
+		final int excess = this.entries.size() - this.maxKeys + this.evictionBatch - 1;
+		while (oldest.size() > Math.max(excess, 0)) {
+			oldest.poll();
+		}
+		for (Map.Entry<K, Entry> item : oldest) {
+			this.evict(item.getKey(), item.getValue());
+		}
+	}
+
+	/**
+	 * Evicts idle keys once every idle timeout.
+	 * 
+	 * @param now
+	 *            the current value of {@link System#nanoTime()}
+	 */
+	private void sweepIfDue(final long now) {
+		final long due = this.nextSweep.get();
+		if (now - due >= 0 && this.nextSweep.compareAndSet(due, now + this.idleTimeout / 2)) {
+			this.sweep(now);
+		}
+	}
+
+	private void sweep(final long now) {
+		for (Map.Entry<K, Entry> item : this.entries.entrySet()) {
+			if (now - item.getValue().lastAccess > this.idleTimeout) {
+				this.evict(item.getKey(), item.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Evicts a key, raising the watermark to the millisecond of its state.
+	 * 
+	 * @param key
+	 *            a key
+	 * @param entry
+	 *            the entry of the key
+	 */
+	private void evict(final K key, final Entry entry) {
+		State state;
+		do {
+			state = entry.state.get();
+			if (state == EVICTED) {
+				// evicted by another thread
+				this.entries.remove(key, entry);
+				return;
+			}
+		} while (!entry.state.compareAndSet(state, EVICTED));
+
+		long mark;
+		do {
+			mark = this.watermark.get();
+		} while (state.timestamp > mark && !this.watermark.compareAndSet(mark, state.timestamp));
+
+		this.entries.remove(key, entry);
+		this.evictions.incrementAndGet();
+	}
+
+	/**
+	 * Returns the number of keys kept in memory.
+	 * 
+	 * @return the number of keys
+	 */
+	public int getSize() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Returns how many keys were evicted.
+	 * 
+	 * @return the number of evictions
+	 */
+	public long getEvictions() {
+		return this.evictions.get();
+	}
+
+	/**
+	 * Formats the most significant bits of the GUID.
+	 * 
+	 * @param timestamp
+	 *            the milliseconds since 1970-01-01
+	 * @param high
+	 *            the 16 high bits of the random part
+	 * @param low
+	 *            the 64 low bits of the random part
+	 * @return the MSB
+	 */
+	protected long formatMostSignificantBits(final long timestamp, final long high, final long low) {
+		return (timestamp << 16) | high;
+	}
+
+	/**
+	 * Formats the least significant bits of the GUID.
+	 * 
+	 * @param timestamp
+	 *            the milliseconds since 1970-01-01
+	 * @param high
+	 *            the 16 high bits of the random part
+	 * @param low
+	 *            the 64 low bits of the random part
+	 * @return the LSB
+	 */
+	protected long formatLeastSignificantBits(final long timestamp, final long high, final long low) {
+		return low;
+	}
+
+	/**
+	 * Used for changing the timestamp strategy.
+	 * 
+	 * @param timestampStrategy
+	 *            a timestamp strategy
+	 * @return {@link KeyedLexicalOrderGuidCreator}
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T extends KeyedLexicalOrderGuidCreator<K>> T withTimestampStrategy(
+			TimestampStrategy timestampStrategy) {
+		this.timestampStrategy = timestampStrategy;
+		return (T) this;
+	}
+
+	/**
+	 * Used for changing the random generator of the random part.
+	 * 
+	 * The generator must be thread safe.
+	 * 
+	 * @param random
+	 *            a random generator
+	 * @return {@link KeyedLexicalOrderGuidCreator}
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T extends KeyedLexicalOrderGuidCreator<K>> T withRandomGenerator(Random random) {
+		this.random = random;
+		return (T) this;
+	}
+
+	/**
+	 * The state of a key and the time it was last used.
+	 */
+	private static final class Entry {
+
+		private final AtomicReference<State> state;
+		private volatile long lastAccess;
+
+		private Entry(State state, long lastAccess) {
+			this.state = new AtomicReference<>(state);
+			this.lastAccess = lastAccess;
+		}
+	}
+
+	/**
+	 * An immutable state: the millisecond and the 80-bit random part.
+	 * 
+	 * A fresh state has no random part yet. Its millisecond is the watermark
+	 * of the evicted states.
+	 */
+	private static final class State {
+
+		private final long timestamp;
+		private final long high;
+		private final long low;
+		private final boolean fresh;
+
+		private State(long timestamp, long high, long low, boolean fresh) {
+			this.timestamp = timestamp;
+			this.high = high;
+			this.low = low;
+			this.fresh = fresh;
+		}
+
+		/**
+		 * Increments the 80-bit random part.
+		 * 
+		 * @return the new state, or null if an overflow happens
+		 */
+		private State increment() {
+			final long sum = this.low + 1;
+			final long sumHigh = sum == 0 ? this.high + 1 : this.high;
+			if (sumHigh > MAX_HIGH) {
+				return null;
+			}
+			return new State(this.timestamp, sumHigh, sum, false);
+		}
+	}
+}
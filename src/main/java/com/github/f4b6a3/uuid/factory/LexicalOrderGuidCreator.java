@@ -27,9 +27,9 @@ package com.github.f4b6a3.uuid.factory;
 import java.util.UUID;
 
 import com.github.f4b6a3.uuid.exception.UuidCreatorException;
-import com.github.f4b6a3.uuid.factory.abst.AbstractUuidCreator;
-import com.github.f4b6a3.uuid.factory.abst.NoArgumentsUuidCreator;
+import com.github.f4b6a3.uuid.factory.abst.AbstractNoArgumentsUuidCreator;
 import com.github.f4b6a3.uuid.timestamp.UnixMillisecondsTimestampStretegy;
+import com.github.f4b6a3.uuid.timestamp.StallStrategy;
 import com.github.f4b6a3.uuid.timestamp.TimestampStrategy;
 import com.github.f4b6a3.uuid.util.RandomUtil;
 
@@ -39,7 +39,7 @@ import com.github.f4b6a3.uuid.util.RandomUtil;
  * 
  * ULID specification: https://github.com/ulid/spec
  */
-public class LexicalOrderGuidCreator extends AbstractUuidCreator implements NoArgumentsUuidCreator {
+public class LexicalOrderGuidCreator extends AbstractNoArgumentsUuidCreator {
 
 	protected static final long MAX_LOW = 0xffffffffffffffffL; // ignore signal
 	protected static final long MAX_HIGH = 0x000000000000ffffL;
@@ -53,6 +53,8 @@ public class LexicalOrderGuidCreator extends AbstractUuidCreator implements NoAr
 
 	protected TimestampStrategy timestampStrategy;
 
+	protected StallStrategy stallStrategy;
+
 	public LexicalOrderGuidCreator() {
 		this.reset();
 		this.timestampStrategy = new UnixMillisecondsTimestampStretegy();
@@ -107,6 +109,10 @@ public class LexicalOrderGuidCreator extends AbstractUuidCreator implements NoAr
 	 * than 280 ULIDs within the same millisecond, or cause the random component
 	 * to overflow with less, the generation will fail.
 	 * 
+	 * If a {@link StallStrategy} is set, the generator waits for the next
+	 * millisecond instead of failing. See
+	 * {@link #withStallStrategy(StallStrategy)}.
+	 * 
 	 * @return {@link UUID} a UUID value
 	 * 
 	 * @throws UuidCreatorException
@@ -119,12 +125,72 @@ public class LexicalOrderGuidCreator extends AbstractUuidCreator implements NoAr
 
 		final long timestamp = this.getTimestamp();
 
-		final long msb = (timestamp << 16) | high;
-		final long lsb = low;
+		final long msb = this.formatMostSignificantBits(timestamp, this.high, this.low);
+		final long lsb = this.formatLeastSignificantBits(timestamp, this.high, this.low);
 
 		return new UUID(msb, lsb);
 	}
 
+	/**
+	 * Creates many GUIDs and writes them into an array of longs.
+	 * 
+	 * The lock is taken once for all the GUIDs.
+	 * 
+	 * If an overflow exception is thrown, the GUIDs created before it are kept
+	 * in the array.
+	 * 
+	 * See {@link #create()}.
+	 * 
+	 * @param uuids
+	 *            an array of MSB and LSB pairs
+	 * @param count
+	 *            the number of GUIDs
+	 * 
+	 * @throws UuidCreatorException
+	 *             an overflow exception if too many requests within the same
+	 *             millisecond causes an overflow when incrementing the random
+	 *             bits of the GUID.
+	 */
+	@Override
+	public synchronized void create(final long[] uuids, final int count) {
+		validateBulkArguments(uuids, count);
+		for (int i = 0; i < count; i++) {
+			final long timestamp = this.getTimestamp();
+			uuids[i << 1] = this.formatMostSignificantBits(timestamp, this.high, this.low);
+			uuids[(i << 1) + 1] = this.formatLeastSignificantBits(timestamp, this.high, this.low);
+		}
+	}
+
+	/**
+	 * Formats the most significant bits of the GUID.
+	 * 
+	 * @param timestamp
+	 *            the milliseconds since 1970-01-01
+	 * @param high
+	 *            the 16 high bits of the random part
+	 * @param low
+	 *            the 64 low bits of the random part
+	 * @return the MSB
+	 */
+	protected long formatMostSignificantBits(final long timestamp, final long high, final long low) {
+		return (timestamp << 16) | high;
+	}
+
+	/**
+	 * Formats the least significant bits of the GUID.
+	 * 
+	 * @param timestamp
+	 *            the milliseconds since 1970-01-01
+	 * @param high
+	 *            the 16 high bits of the random part
+	 * @param low
+	 *            the 64 low bits of the random part
+	 * @return the LSB
+	 */
+	protected long formatLeastSignificantBits(final long timestamp, final long high, final long low) {
+		return low;
+	}
+
 	/**
 	 * Return the current timestamp and resets or increments the random part.
 	 * 
@@ -132,7 +198,12 @@ public class LexicalOrderGuidCreator extends AbstractUuidCreator implements NoAr
 	 */
 	protected synchronized long getTimestamp() {
 
-		final long timestamp = this.timestampStrategy.getTimestamp();
+		long timestamp = this.timestampStrategy.getTimestamp();
+
+		if (timestamp == this.previousTimestamp && this.stallStrategy != null && this.isExhausted()) {
+			// if the wait times out, the same timestamp causes an overflow
+			timestamp = this.stallStrategy.awaitAfter(this.timestampStrategy, timestamp);
+		}
 
 		if (timestamp == this.previousTimestamp) {
 			this.increment();
@@ -144,6 +215,15 @@ public class LexicalOrderGuidCreator extends AbstractUuidCreator implements NoAr
 		return timestamp;
 	}
 
+	/**
+	 * Checks if the random part can't be incremented without an overflow.
+	 * 
+	 * @return true if the random part is exhausted
+	 */
+	protected boolean isExhausted() {
+		return this.low == MAX_LOW && this.high == MAX_HIGH;
+	}
+
 	/**
 	 * Reset the random part of the GUID.
 	 */
@@ -182,4 +262,20 @@ public class LexicalOrderGuidCreator extends AbstractUuidCreator implements NoAr
 		this.timestampStrategy = timestampStrategy;
 		return (T) this;
 	}
+
+	/**
+	 * Used for waiting for the next millisecond instead of throwing an
+	 * overflow exception.
+	 * 
+	 * See {@link StallStrategy}.
+	 * 
+	 * @param stallStrategy
+	 *            a stall strategy, or null to throw an exception right away
+	 * @return {@link LexicalOrderGuidCreator}
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T extends LexicalOrderGuidCreator> T withStallStrategy(StallStrategy stallStrategy) {
+		this.stallStrategy = stallStrategy;
+		return (T) this;
+	}
 }
@@ -24,6 +24,8 @@
 
 package com.github.f4b6a3.uuid.factory;
 
+import java.nio.ByteBuffer;
+
 import com.github.f4b6a3.uuid.enums.UuidVersion;
 import com.github.f4b6a3.uuid.factory.abst.AbstractTimeBasedUuidCreator;
 import com.github.f4b6a3.uuid.util.UuidUtil;
@@ -52,4 +54,23 @@ public class MssqlGuidCreator extends AbstractTimeBasedUuidCreator {
 		long ts = timestamp | 0x1000000000000000L; // set version bits
 		return UuidUtil.formatMssqlMostSignificantBits(ts);
 	}
+
+	/**
+	 * Writes many MSSQL Server 'friendly' GUIDs into a byte buffer, as SQL
+	 * Server stores them in a 'uniqueidentifier' column.
+	 * 
+	 * See {@link #create(long[], int)}: the lock is taken once for each chunk
+	 * of 256 GUIDs and runs of timestamps are reserved at once.
+	 * 
+	 * {@link UuidUtil#formatMssqlBinaryMostSignificantBits(long)}
+	 * 
+	 * @param buffer
+	 *            a byte buffer
+	 * @param count
+	 *            the number of GUIDs
+	 */
+	@Override
+	public void createMssqlBinary(final ByteBuffer buffer, final int count) {
+		super.createMssqlBinary(buffer, count);
+	}
 }
@@ -29,8 +29,8 @@ import java.util.Random;
 import java.util.UUID;
 
 import com.github.f4b6a3.uuid.enums.UuidVersion;
-import com.github.f4b6a3.uuid.factory.abst.AbstractUuidCreator;
-import com.github.f4b6a3.uuid.factory.abst.NoArgumentsUuidCreator;
+import com.github.f4b6a3.uuid.factory.abst.AbstractNoArgumentsUuidCreator;
+import com.github.f4b6a3.uuid.random.BufferedSecureRandom;
 import com.github.f4b6a3.uuid.random.Xorshift128PlusRandom;
 import com.github.f4b6a3.uuid.random.XorshiftRandom;
 import com.github.f4b6a3.uuid.util.ByteUtil;
@@ -48,10 +48,14 @@ import com.github.f4b6a3.uuid.util.ByteUtil;
  * example, {@link Xorshift128PlusRandom}, which is default RNG for some web
  * browsers.
  * 
+ * The fast random generators are not thread-safe, so each thread can have its
+ * own instance. See {@link #withThreadLocalRandomGenerator(ThreadLocal)}.
+ * 
  */
-public class RandomUuidCreator extends AbstractUuidCreator implements NoArgumentsUuidCreator {
+public class RandomUuidCreator extends AbstractNoArgumentsUuidCreator {
 
-	private Random random;
+	private volatile Random random;
+	private volatile ThreadLocal<? extends Random> threadLocalRandom;
 
 	public RandomUuidCreator() {
 		super(UuidVersion.RANDOM_BASED);
@@ -79,24 +83,26 @@ public class RandomUuidCreator extends AbstractUuidCreator implements NoArgument
 		long msb = 0;
 		long lsb = 0;
 
+		final Random generator = this.getRandom();
+
 		// (3) set all bit randomly
-		if (this.random == null) {
+		if (generator == null) {
 
 			final byte[] bytes = new byte[16];
 			SecureRandomLazyHolder.INSTANCE.nextBytes(bytes);
 			msb = ByteUtil.toNumber(bytes, 0, 8);
 			lsb = ByteUtil.toNumber(bytes, 8, 16);
 
-		} else if (this.random instanceof SecureRandom) {
+		} else if (generator instanceof SecureRandom && !(generator instanceof BufferedSecureRandom)) {
 
 			final byte[] bytes = new byte[16];
-			this.random.nextBytes(bytes);
+			generator.nextBytes(bytes);
 			msb = ByteUtil.toNumber(bytes, 0, 8);
 			lsb = ByteUtil.toNumber(bytes, 8, 16);
 
 		} else {
-			msb = this.random.nextLong();
-			lsb = this.random.nextLong();
+			msb = generator.nextLong();
+			lsb = generator.nextLong();
 		}
 
 		// (1)(2) Set the version and variant bits
@@ -106,6 +112,59 @@ public class RandomUuidCreator extends AbstractUuidCreator implements NoArgument
 		return new UUID(msb, lsb);
 	}
 
+	/**
+	 * Creates many random UUIDs and writes them into an array of longs.
+	 * 
+	 * If the random generator is a {@link SecureRandom}, the random bytes of
+	 * many UUIDs are requested at once. A {@link BufferedSecureRandom} already
+	 * does it, so its values are used directly.
+	 * 
+	 * See {@link #create()}.
+	 * 
+	 * @param uuids
+	 *            an array of MSB and LSB pairs
+	 * @param count
+	 *            the number of UUIDs
+	 */
+	@Override
+	public void create(final long[] uuids, final int count) {
+
+		validateBulkArguments(uuids, count);
+
+		final Random generator = this.getRandom();
+
+		if (generator == null
+				|| (generator instanceof SecureRandom && !(generator instanceof BufferedSecureRandom))) {
+
+			final Random secure = generator == null ? SecureRandomLazyHolder.INSTANCE : generator;
+			final byte[] bytes = new byte[Math.min(count, BULK_CHUNK_SIZE) << 4];
+
+			int i = 0;
+			while (i < count) {
+				final int chunk = Math.min(count - i, BULK_CHUNK_SIZE);
+				secure.nextBytes(bytes);
+				for (int j = 0; j < chunk; j++, i++) {
+					// (3) set all bit randomly
+					final long msb = ByteUtil.toNumber(bytes, j << 4, (j << 4) + 8);
+					final long lsb = ByteUtil.toNumber(bytes, (j << 4) + 8, (j << 4) + 16);
+					// (1)(2) Set the version and variant bits
+					uuids[i << 1] = setVersionBits(msb);
+					uuids[(i << 1) + 1] = setVariantBits(lsb);
+				}
+			}
+
+		} else {
+			for (int i = 0; i < count; i++) {
+				// (3) set all bit randomly
+				final long msb = generator.nextLong();
+				final long lsb = generator.nextLong();
+				// (1)(2) Set the version and variant bits
+				uuids[i << 1] = setVersionBits(msb);
+				uuids[(i << 1) + 1] = setVariantBits(lsb);
+			}
+		}
+	}
+
 	/**
 	 * Replace the default random generator, in a fluent way, to another that
 	 * extends {@link Random}.
@@ -123,19 +182,96 @@ public class RandomUuidCreator extends AbstractUuidCreator implements NoArgument
 	 */
 	public synchronized RandomUuidCreator withRandomGenerator(Random random) {
 		this.random = random;
+		this.threadLocalRandom = null;
+		return this;
+	}
+
+	/**
+	 * Replace the default random generator, in a fluent way, to one random
+	 * generator per thread.
+	 * 
+	 * Each thread calls {@link ThreadLocal#get()} and uses its own generator,
+	 * so no state is shared between threads. It is useful for generators that
+	 * are not thread-safe, like {@link XorshiftRandom} and its variations.
+	 * 
+	 * Example:
+	 * 
+	 * <pre>
+	 * new ThreadLocal&lt;Random&gt;() {
+	 * 	protected Random initialValue() {
+	 * 		return new XorshiftStarRandom();
+	 * 	}
+	 * };
+	 * </pre>
+	 * 
+	 * @param threadLocalRandom
+	 *            a thread local random generator
+	 * @return {@link RandomUuidCreator}
+	 */
+	public synchronized RandomUuidCreator withThreadLocalRandomGenerator(
+			ThreadLocal<? extends Random> threadLocalRandom) {
+		this.threadLocalRandom = threadLocalRandom;
+		this.random = null;
 		return this;
 	}
 
 	/**
 	 * Replaces the default random generator with a fester one.
 	 * 
-	 * {@link Xorshift128PlusRandom}
+	 * Each thread has its own instance of {@link Xorshift128PlusRandom}, seeded
+	 * by {@link SecureRandom}.
 	 * 
 	 * @return {@link RandomUuidCreator}
 	 */
 	public synchronized RandomUuidCreator withFastRandomGenerator() {
-		this.random = new Xorshift128PlusRandom();
-		return this;
+		return withThreadLocalRandomGenerator(new ThreadLocal<Random>() {
+			@Override
+			protected Random initialValue() {
+				return new Xorshift128PlusRandom();
+			}
+		});
+	}
+
+	/**
+	 * Replaces the default random generator with a {@link BufferedSecureRandom}.
+	 * 
+	 * The random bytes still come from {@link SecureRandom}, but they are read
+	 * in blocks, so that a UUID doesn't cost a call to {@link SecureRandom}.
+	 * 
+	 * @param blockSize
+	 *            the size of the block of each thread, in bytes
+	 * @param backgroundRefill
+	 *            true if the next block of each thread should be filled in a
+	 *            background thread
+	 * @return {@link RandomUuidCreator}
+	 */
+	public synchronized RandomUuidCreator withBufferedSecureRandomGenerator(int blockSize,
+			boolean backgroundRefill) {
+		return withRandomGenerator(new BufferedSecureRandom(new SecureRandom(), blockSize, backgroundRefill));
+	}
+
+	/**
+	 * Replaces the default random generator with a {@link BufferedSecureRandom}
+	 * with blocks of {@link BufferedSecureRandom#DEFAULT_BLOCK_SIZE} bytes.
+	 * 
+	 * @return {@link RandomUuidCreator}
+	 */
+	public synchronized RandomUuidCreator withBufferedSecureRandomGenerator() {
+		return withRandomGenerator(new BufferedSecureRandom());
+	}
+
+	/**
+	 * Returns the random generator of the current thread, or null if the
+	 * default generator should be used.
+	 * 
+	 * @return a random generator or null
+	 */
+	private Random getRandom() {
+		final ThreadLocal<? extends Random> local = this.threadLocalRandom;
+		if (local != null) {
+			return local.get();
+		}
+		return this.random;
 	}
 
 	private static class SecureRandomLazyHolder {
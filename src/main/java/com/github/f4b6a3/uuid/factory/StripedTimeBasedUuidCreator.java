@@ -0,0 +1,287 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018-2019 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.f4b6a3.uuid.factory;
+
+import java.util.UUID;
+
+import com.github.f4b6a3.uuid.clockseq.PartitionedClockSequenceStrategy;
+import com.github.f4b6a3.uuid.distrib.BitReversalDistributor;
+import com.github.f4b6a3.uuid.distrib.Distributor;
+import com.github.f4b6a3.uuid.enums.UuidVersion;
+import com.github.f4b6a3.uuid.exception.UuidCreatorException;
+import com.github.f4b6a3.uuid.factory.abst.AbstractNoArgumentsUuidCreator;
+import com.github.f4b6a3.uuid.factory.abst.AbstractTimeBasedUuidCreator;
+import com.github.f4b6a3.uuid.nodeid.DefaultNodeIdentifierStrategy;
+import com.github.f4b6a3.uuid.nodeid.FingerprintNodeIdentifierStrategy;
+import com.github.f4b6a3.uuid.nodeid.FixedNodeIdentifierStrategy;
+import com.github.f4b6a3.uuid.nodeid.HardwareAddressNodeIdentifierStrategy;
+import com.github.f4b6a3.uuid.nodeid.NodeIdentifierStrategy;
+import com.github.f4b6a3.uuid.nodeid.RandomNodeIdentifierStrategy;
+import com.github.f4b6a3.uuid.timestamp.DefaultTimestampStrategy;
+import com.github.f4b6a3.uuid.util.UuidUtil;
+
+/**
+ * Factory that creates time-based UUIDs using many independent stripes.
+ * 
+ * RFC-4122 version: 1.
+ * 
+ * Each stripe has its own {@link DefaultTimestampStrategy} and its own slice of
+ * the clock sequence space, handed out by a {@link BitReversalDistributor}. The
+ * threads are spread over the stripes by their thread IDs. Since the clock
+ * sequence slices don't overlap, two stripes never create the same UUID, even
+ * if they use the same timestamp. So there's no lock shared by all the
+ * threads, just a lock for each stripe.
+ * 
+ * The UUIDs created by the same stripe are in ascending order. The UUIDs
+ * created by different stripes are not.
+ */
+public class StripedTimeBasedUuidCreator extends AbstractNoArgumentsUuidCreator {
+
+	protected NodeIdentifierStrategy nodeIdentifierStrategy;
+
+	protected final Stripe[] stripes;
+	protected final int mask;
+
+	protected static final int STRIPES_MAX = 256;
+
+	/**
+	 * This constructor uses a number of stripes that is the power of 2 equal
+	 * to or greater than the number of available processors.
+	 */
+	public StripedTimeBasedUuidCreator() {
+		this(getDefaultStripes());
+	}
+
+	/**
+	 * This constructor receives the number of stripes.
+	 * 
+	 * The more stripes, the less bits are left for the clock sequence of each
+	 * stripe. With 256 stripes each one has 64 clock sequence values.
+	 * 
+	 * @param stripes
+	 *            the number of stripes, a power of 2 from 1 to 256
+	 * @throws IllegalArgumentException
+	 *             if the number of stripes is not a power of 2 or is out of
+	 *             range
+	 */
+	public StripedTimeBasedUuidCreator(int stripes) {
+		super(UuidVersion.TIME_BASED);
+
+		if (stripes < 1 || stripes > STRIPES_MAX || Integer.bitCount(stripes) != 1) {
+			throw new IllegalArgumentException(
+					String.format("The number of stripes must be a power of 2 up to %s.", STRIPES_MAX));
+		}
+
+		this.nodeIdentifierStrategy = new DefaultNodeIdentifierStrategy();
+
+		this.mask = stripes - 1;
+		this.stripes = new Stripe[stripes];
+
+		final Distributor distributor = new BitReversalDistributor(Integer.numberOfTrailingZeros(stripes));
+		for (int i = 0; i < stripes; i++) {
+			final int partition = (int) distributor.handOut();
+			this.stripes[i] = new Stripe(new PartitionedClockSequenceStrategy(partition, stripes));
+		}
+	}
+
+	/**
+	 * Returns a new time-based UUID.
+	 * 
+	 * The stripe is chosen by the ID of the current thread.
+	 * 
+	 * @return {@link UUID} a UUID value
+	 * 
+	 * @throws UuidCreatorException
+	 *             an overrun exception if more than 10 thousand UUIDs are
+	 *             requested within the same millisecond by the same stripe
+	 */
+	@Override
+	public UUID create() {
+
+		final Stripe stripe = this.stripes[(int) Thread.currentThread().getId() & this.mask];
+
+		final long nodeIdentifier = this.nodeIdentifierStrategy.getNodeIdentifier();
+
+		final long timestamp;
+		final long clockSequence;
+
+		synchronized (stripe) {
+			timestamp = stripe.timestampStrategy.getTimestamp();
+			clockSequence = stripe.clockSequenceStrategy.getClockSequence(timestamp,
+					this.getSequenceNodeIdentifier(nodeIdentifier));
+		}
+
+		final long msb = UuidUtil.formatTimeBasedMostSignificantBits(timestamp);
+		final long lsb = UuidUtil.formatRfc4122LeastSignificantBits(nodeIdentifier, clockSequence);
+
+		return new UUID(msb, lsb);
+	}
+
+	/**
+	 * Creates many time-based UUIDs and writes them into an array of longs.
+	 * 
+	 * The stripe of the current thread is locked once for all the UUIDs. Runs
+	 * of consecutive timestamps are reserved at once. When the timestamps of a
+	 * millisecond run out, the generator waits for the next millisecond with
+	 * {@link AbstractTimeBasedUuidCreator#BULK_STALL_STRATEGY}.
+	 * 
+	 * @param uuids
+	 *            an array of MSB and LSB pairs
+	 * @param count
+	 *            the number of UUIDs
+	 * 
+	 * @throws UuidCreatorException
+	 *             an overrun exception if the timestamps of a millisecond run
+	 *             out and the system clock doesn't advance within the maximum
+	 *             wait time
+	 */
+	@Override
+	public void create(final long[] uuids, final int count) {
+
+		validateBulkArguments(uuids, count);
+
+		final Stripe stripe = this.stripes[(int) Thread.currentThread().getId() & this.mask];
+
+		synchronized (stripe) {
+			if (stripe.timestamps == null) {
+				stripe.timestamps = new long[BULK_CHUNK_SIZE];
+			}
+			int i = 0;
+			while (i < count) {
+				final int reserved = stripe.timestampStrategy.getTimestamps(stripe.timestamps, 0,
+						Math.min(count - i, BULK_CHUNK_SIZE), AbstractTimeBasedUuidCreator.BULK_STALL_STRATEGY);
+				for (int j = 0; j < reserved; j++, i++) {
+					final long nodeIdentifier = this.nodeIdentifierStrategy.getNodeIdentifier();
+					final long timestamp = stripe.timestamps[j];
+					final long clockSequence = stripe.clockSequenceStrategy.getClockSequence(timestamp,
+							this.getSequenceNodeIdentifier(nodeIdentifier));
+					uuids[i << 1] = UuidUtil.formatTimeBasedMostSignificantBits(timestamp);
+					uuids[(i << 1) + 1] = UuidUtil.formatRfc4122LeastSignificantBits(nodeIdentifier, clockSequence);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the node identifier given to the clock sequence.
+	 * 
+	 * A {@link RandomNodeIdentifierStrategy} is not a change of node, so it
+	 * doesn't increment the clock sequence for every UUID.
+	 * 
+	 * @param nodeIdentifier
+	 *            the node identifier of the UUID
+	 * @return the node identifier for the clock sequence
+	 */
+	private long getSequenceNodeIdentifier(final long nodeIdentifier) {
+		if (this.nodeIdentifierStrategy instanceof RandomNodeIdentifierStrategy) {
+			return 0;
+		}
+		return nodeIdentifier;
+	}
+
+	/**
+	 * Returns the number of stripes.
+	 * 
+	 * @return the number of stripes
+	 */
+	public int getStripes() {
+		return this.stripes.length;
+	}
+
+	/**
+	 * Use an alternate {@link NodeIdentifierStrategy} to generate node
+	 * identifiers.
+	 * 
+	 * All the stripes share the same node identifier strategy.
+	 * 
+	 * @param nodeIdentifierStrategy
+	 *            a node identifier strategy
+	 * @return {@link StripedTimeBasedUuidCreator}
+	 */
+	public synchronized StripedTimeBasedUuidCreator withNodeIdentifierStrategy(
+			NodeIdentifierStrategy nodeIdentifierStrategy) {
+		this.nodeIdentifierStrategy = nodeIdentifierStrategy;
+		return this;
+	}
+
+	/**
+	 * Set a fixed node identifier to generate UUIDs.
+	 * 
+	 * @param nodeIdentifier
+	 *            a node identifier
+	 * @return {@link StripedTimeBasedUuidCreator}
+	 */
+	public synchronized StripedTimeBasedUuidCreator withNodeIdentifier(long nodeIdentifier) {
+		this.nodeIdentifierStrategy = new FixedNodeIdentifierStrategy(nodeIdentifier);
+		return this;
+	}
+
+	/**
+	 * Set the node identifier to be a real hardware address of the host
+	 * machine.
+	 * 
+	 * @return {@link StripedTimeBasedUuidCreator}
+	 */
+	public synchronized StripedTimeBasedUuidCreator withHardwareAddressNodeIdentifier() {
+		this.nodeIdentifierStrategy = new HardwareAddressNodeIdentifierStrategy();
+		return this;
+	}
+
+	/**
+	 * Set the node identifier to be a system data hash.
+	 * 
+	 * @return {@link StripedTimeBasedUuidCreator}
+	 */
+	public synchronized StripedTimeBasedUuidCreator withFingerprintNodeIdentifier() {
+		this.nodeIdentifierStrategy = new FingerprintNodeIdentifierStrategy();
+		return this;
+	}
+
+	private static int getDefaultStripes() {
+		final int processors = Runtime.getRuntime().availableProcessors();
+		int stripes = 1;
+		while (stripes < processors && stripes < STRIPES_MAX) {
+			stripes <<= 1;
+		}
+		return stripes;
+	}
+
+	/**
+	 * A timestamp strategy and a clock sequence strategy used by a stripe.
+	 */
+	protected static class Stripe {
+
+		protected final DefaultTimestampStrategy timestampStrategy;
+		protected final PartitionedClockSequenceStrategy clockSequenceStrategy;
+
+		private long[] timestamps;
+
+		protected Stripe(PartitionedClockSequenceStrategy clockSequenceStrategy) {
+			this.timestampStrategy = new DefaultTimestampStrategy();
+			this.clockSequenceStrategy = clockSequenceStrategy;
+		}
+	}
+}
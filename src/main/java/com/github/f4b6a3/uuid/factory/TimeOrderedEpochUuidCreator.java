@@ -0,0 +1,371 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018-2019 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.f4b6a3.uuid.factory;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.github.f4b6a3.uuid.enums.UuidVersion;
+import com.github.f4b6a3.uuid.exception.UuidCreatorException;
+import com.github.f4b6a3.uuid.factory.abst.AbstractNoArgumentsUuidCreator;
+import com.github.f4b6a3.uuid.timestamp.StallStrategy;
+import com.github.f4b6a3.uuid.timestamp.TimestampStrategy;
+import com.github.f4b6a3.uuid.timestamp.UnixMillisecondsTimestampStretegy;
+import com.github.f4b6a3.uuid.util.RandomUtil;
+
+/**
+ * Factory that creates time-ordered UUIDs with Unix epoch milliseconds, the
+ * layout of UUID version 7, without locks.
+ * 
+ * <pre>
+ *  0                   1                   2                   3
+ *  0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ * +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ * |                           unix_ts_ms                          |
+ * +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ * |          unix_ts_ms           |  ver  |       rand_a          |
+ * +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ * |var|                        rand_b                             |
+ * +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ * |                            rand_b                             |
+ * +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ * </pre>
+ * 
+ * The 48-bit timestamp comes from a {@link UnixMillisecondsTimestampStretegy}
+ * by default. The UUIDs created within the same millisecond are ordered by
+ * one of the methods of {@link Method}.
+ * 
+ * The millisecond and the 74 bits that follow it are kept in a single
+ * immutable state that is replaced atomically. If the system clock goes
+ * backwards, the last millisecond is kept, so the UUIDs never go backwards.
+ * 
+ * New UUID Formats (draft-peabody-dispatch-new-uuid-format):
+ * https://datatracker.ietf.org/doc/html/draft-peabody-dispatch-new-uuid-format
+ */
+public class TimeOrderedEpochUuidCreator extends AbstractNoArgumentsUuidCreator {
+
+	protected static final long MAX_RAND_A = 0x0000000000000fffL;
+	protected static final long MAX_RAND_B = 0x3fffffffffffffffL;
+
+	// the leftmost bit of rand_a is left clear in a new millisecond
+	protected static final long GUARD_MASK = 0x00000000000007ffL;
+
+	protected static final String OVERFLOW_MESSAGE = "The system caused an overflow in the generator by requesting too many UUIDs.";
+
+	/**
+	 * Methods for ordering the UUIDs created within the same millisecond.
+	 */
+	public enum Method {
+
+		/**
+		 * A 12-bit counter in rand_a, incremented by one. rand_b is random for
+		 * each UUID. At least 2048 UUIDs per millisecond.
+		 */
+		FIXED_LENGTH_COUNTER,
+
+		/**
+		 * The 74 bits of rand_a and rand_b are random in a new millisecond and
+		 * incremented by a random number between 1 and 2^32 within the same
+		 * millisecond, so consecutive UUIDs are still hard to guess.
+		 */
+		MONOTONIC_RANDOM,
+
+		/**
+		 * rand_a has the fraction of the millisecond, in 4096ths, elapsed
+		 * since the first UUID of the same millisecond, measured with
+		 * {@link System#nanoTime()}. If two UUIDs fall into the same fraction,
+		 * the fraction is incremented by one. rand_b is random for each UUID.
+		 */
+		NANO_FRACTION
+	}
+
+	private final Method method;
+
+	private final AtomicReference<State> state = new AtomicReference<>(new State(0, 0, 0, 0));
+
+	protected volatile TimestampStrategy timestampStrategy;
+	protected volatile StallStrategy stallStrategy;
+	protected volatile Random random;
+
+	public TimeOrderedEpochUuidCreator() {
+		this(Method.FIXED_LENGTH_COUNTER);
+	}
+
+	/**
+	 * Creates a time-ordered creator.
+	 * 
+	 * @param method
+	 *            the method for ordering the UUIDs of the same millisecond
+	 */
+	public TimeOrderedEpochUuidCreator(Method method) {
+		super(UuidVersion.TIME_ORDERED_EPOCH);
+
+		if (method == null) {
+			throw new IllegalArgumentException("Null method.");
+		}
+
+		this.method = method;
+		this.timestampStrategy = new UnixMillisecondsTimestampStretegy();
+		this.random = RandomUtil.getBufferedSecureRandom();
+	}
+
+	/**
+	 * Returns a time-ordered UUID with Unix epoch milliseconds.
+	 * 
+	 * @return {@link UUID} a UUID value
+	 * 
+	 * @throws UuidCreatorException
+	 *             an overflow exception if too many UUIDs are requested within
+	 *             the same millisecond and no {@link StallStrategy} is set, or
+	 *             if its maximum wait time is exceeded.
+	 */
+	@Override
+	public UUID create() {
+		while (true) {
+			final State previous = this.state.get();
+			final State next = this.next(previous, this.timestampStrategy.getTimestamp(), this.getNanoTime());
+			if (next == null) {
+				this.stall(previous.timestamp);
+			} else if (this.state.compareAndSet(previous, next)) {
+				return new UUID(this.formatMostSignificantBits(next), this.formatLeastSignificantBits(next));
+			}
+		}
+	}
+
+	/**
+	 * Creates many time-ordered UUIDs and writes them into an array of longs.
+	 * 
+	 * Runs of UUIDs are written into the array first and then published with
+	 * a single atomic operation for each run. If another thread wins the
+	 * race, the run is written again.
+	 * 
+	 * If an overflow exception is thrown, the UUIDs created before it are kept
+	 * in the array.
+	 * 
+	 * See {@link #create()}.
+	 * 
+	 * @param uuids
+	 *            an array of MSB and LSB pairs
+	 * @param count
+	 *            the number of UUIDs
+	 * 
+	 * @throws UuidCreatorException
+	 *             an overflow exception if too many UUIDs are requested within
+	 *             the same millisecond and no {@link StallStrategy} is set, or
+	 *             if its maximum wait time is exceeded.
+	 */
+	@Override
+	public void create(final long[] uuids, final int count) {
+		validateBulkArguments(uuids, count);
+
+		int i = 0;
+		while (i < count) {
+			final int run = Math.min(count - i, BULK_CHUNK_SIZE);
+
+			final State previous = this.state.get();
+			final long timestamp = this.timestampStrategy.getTimestamp();
+			final long nanos = this.getNanoTime();
+
+			State last = previous;
+			int j = 0;
+			for (; j < run; j++) {
+				final State next = this.next(last, timestamp, nanos);
+				if (next == null) {
+					break;
+				}
+				uuids[(i + j) << 1] = this.formatMostSignificantBits(next);
+				uuids[((i + j) << 1) + 1] = this.formatLeastSignificantBits(next);
+				last = next;
+			}
+
+			if (j == 0) {
+				this.stall(previous.timestamp);
+			} else if (this.state.compareAndSet(previous, last)) {
+				i += j;
+			}
+		}
+	}
+
+	/**
+	 * Returns the state that follows another one.
+	 * 
+	 * @param previous
+	 *            the previous state
+	 * @param timestamp
+	 *            the current timestamp
+	 * @param nanos
+	 *            the current value of {@link System#nanoTime()}
+	 * @return the next state, or null if an overflow happens
+	 */
+	private State next(final State previous, final long timestamp, final long nanos) {
+
+		final Random rand = this.random;
+
+		if (timestamp > previous.timestamp) {
+			switch (this.method) {
+			case NANO_FRACTION:
+				return new State(timestamp, 0, rand.nextLong() & MAX_RAND_B, nanos);
+			default:
+				return new State(timestamp, rand.nextInt() & GUARD_MASK, rand.nextLong() & MAX_RAND_B, nanos);
+			}
+		}
+
+		final long randA;
+		final long randB;
+		switch (this.method) {
+		case MONOTONIC_RANDOM:
+			final long sum = previous.randB + (rand.nextInt() & 0xffffffffL) + 1;
+			randA = previous.randA + (sum >>> 62);
+			randB = sum & MAX_RAND_B;
+			break;
+		case NANO_FRACTION:
+			final long fraction = ((nanos - previous.nanos) << 12) / 1_000_000L;
+			randA = Math.max(previous.randA + 1, Math.min(fraction, MAX_RAND_A));
+			randB = rand.nextLong() & MAX_RAND_B;
+			break;
+		default:
+			randA = previous.randA + 1;
+			randB = rand.nextLong() & MAX_RAND_B;
+			break;
+		}
+
+		if (randA > MAX_RAND_A) {
+			// Too many requests
+			return null;
+		}
+		return new State(previous.timestamp, randA, randB, previous.nanos);
+	}
+
+	/**
+	 * Waits until the timestamp strategy returns a later timestamp, if a
+	 * {@link StallStrategy} is set.
+	 * 
+	 * @param timestamp
+	 *            the exhausted timestamp
+	 * @throws UuidCreatorException
+	 *             if no stall strategy is set or the maximum wait time is
+	 *             exceeded
+	 */
+	private void stall(final long timestamp) {
+		final StallStrategy stall = this.stallStrategy;
+		if (stall == null || stall.awaitAfter(this.timestampStrategy, timestamp) <= timestamp) {
+			throw new UuidCreatorException(OVERFLOW_MESSAGE);
+		}
+	}
+
+	/**
+	 * Returns the current value of the high resolution time source.
+	 * 
+	 * It's only used by {@link Method#NANO_FRACTION}.
+	 * 
+	 * @return the current value of {@link System#nanoTime()}
+	 */
+	protected long getNanoTime() {
+		return this.method == Method.NANO_FRACTION ? System.nanoTime() : 0;
+	}
+
+	private long formatMostSignificantBits(final State state) {
+		return (state.timestamp << 16) | 0x0000000000007000L | state.randA;
+	}
+
+	private long formatLeastSignificantBits(final State state) {
+		return RFC4122_VARIANT_BITS | state.randB;
+	}
+
+	/**
+	 * Returns the method for ordering the UUIDs of the same millisecond.
+	 * 
+	 * @return the method
+	 */
+	public Method getMethod() {
+		return this.method;
+	}
+
+	/**
+	 * Used for changing the timestamp strategy.
+	 * 
+	 * @param timestampStrategy
+	 *            a timestamp strategy
+	 * @return {@link TimeOrderedEpochUuidCreator}
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T extends TimeOrderedEpochUuidCreator> T withTimestampStrategy(
+			TimestampStrategy timestampStrategy) {
+		this.timestampStrategy = timestampStrategy;
+		return (T) this;
+	}
+
+	/**
+	 * Used for changing the random generator of rand_a and rand_b.
+	 * 
+	 * The generator must be thread safe.
+	 * 
+	 * @param random
+	 *            a random generator
+	 * @return {@link TimeOrderedEpochUuidCreator}
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T extends TimeOrderedEpochUuidCreator> T withRandomGenerator(Random random) {
+		this.random = random;
+		return (T) this;
+	}
+
+	/**
+	 * Used for waiting for the next millisecond instead of throwing an
+	 * overflow exception.
+	 * 
+	 * See {@link StallStrategy}.
+	 * 
+	 * @param stallStrategy
+	 *            a stall strategy, or null to throw an exception right away
+	 * @return {@link TimeOrderedEpochUuidCreator}
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T extends TimeOrderedEpochUuidCreator> T withStallStrategy(StallStrategy stallStrategy) {
+		this.stallStrategy = stallStrategy;
+		return (T) this;
+	}
+
+	/**
+	 * An immutable state: the millisecond, rand_a, rand_b and the value of
+	 * {@link System#nanoTime()} when the millisecond was first seen.
+	 */
+	private static final class State {
+
+		private final long timestamp;
+		private final long randA;
+		private final long randB;
+		private final long nanos;
+
+		private State(long timestamp, long randA, long randB, long nanos) {
+			this.timestamp = timestamp;
+			this.randA = randA;
+			this.randB = randB;
+			this.nanos = nanos;
+		}
+	}
+}
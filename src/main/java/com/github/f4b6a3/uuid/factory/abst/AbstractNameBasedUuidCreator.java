@@ -24,7 +24,8 @@
 
 package com.github.f4b6a3.uuid.factory.abst;
 
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.UUID;
@@ -36,11 +37,22 @@ import static com.github.f4b6a3.uuid.util.ByteUtil.*;
 
 /**
  * Factory that creates name-based UUIDs.
+ * 
+ * Each thread has its own {@link MessageDigest} and its own buffers, so the
+ * threads don't wait for each other and no array is allocated for each UUID,
+ * except when the name is a {@link String} passed as {@code byte[]} by the
+ * caller.
  */
 public abstract class AbstractNameBasedUuidCreator extends AbstractUuidCreator {
 
-	private UUID namespace;
-	private MessageDigest md = null;
+	/**
+	 * The fixed name space in network byte order, computed once when it is
+	 * set, or null if there is no fixed name space.
+	 */
+	private volatile byte[] namespace;
+
+	private final MessageDigest prototype;
+	private final ThreadLocal<Digester> digesters;
 
 	protected static final String MESSAGE_DIGEST_MD5 = "MD5";
 	protected static final String MESSAGE_DIGEST_SHA1 = "SHA-1";
@@ -66,10 +78,17 @@ public abstract class AbstractNameBasedUuidCreator extends AbstractUuidCreator {
 		super(version);
 
 		try {
-			this.md = MessageDigest.getInstance(messageDigest);
+			this.prototype = MessageDigest.getInstance(messageDigest);
 		} catch (NoSuchAlgorithmException e) {
 			throw new InternalError("Message digest algorithm not supported.", e);
 		}
+
+		this.digesters = new ThreadLocal<Digester>() {
+			@Override
+			protected Digester initialValue() {
+				return new Digester(newMessageDigest());
+			}
+		};
 	}
 	
 	/**
@@ -83,7 +102,7 @@ public abstract class AbstractNameBasedUuidCreator extends AbstractUuidCreator {
 	 */
 	@SuppressWarnings("unchecked")
 	public synchronized <T extends AbstractNameBasedUuidCreator> T withNamespace(UuidNamespace namespace) {
-		this.namespace = namespace.getValue();
+		this.namespace = toNamespaceBytes(namespace.getValue());
 		return (T) this;
 	}
 
@@ -98,7 +117,7 @@ public abstract class AbstractNameBasedUuidCreator extends AbstractUuidCreator {
 	 */
 	@SuppressWarnings("unchecked")
 	public synchronized <T extends AbstractNameBasedUuidCreator> T withNamespace(UUID namespace) {
-		this.namespace = namespace;
+		this.namespace = toNamespaceBytes(namespace);
 		return (T) this;
 	}
 
@@ -115,7 +134,7 @@ public abstract class AbstractNameBasedUuidCreator extends AbstractUuidCreator {
 	 */
 	@SuppressWarnings("unchecked")
 	public synchronized <T extends AbstractNameBasedUuidCreator> T withNamespace(String namespace) {
-		this.namespace = create(namespace);
+		this.namespace = toNamespaceBytes(create(namespace));
 		return (T) this;
 	}
 
@@ -129,7 +148,35 @@ public abstract class AbstractNameBasedUuidCreator extends AbstractUuidCreator {
 	 * @return a name-based UUID
 	 */
 	public UUID create(String name) {
-		return create((UUID) null, name.getBytes(StandardCharsets.UTF_8));
+		return create((UUID) null, (CharSequence) name);
+	}
+
+	/**
+	 * Returns a name-based UUID without name space.
+	 * 
+	 * The name is encoded to UTF-8 without creating a copy of it.
+	 * 
+	 * {@link AbstractNameBasedUuidCreator#create(UUID, CharSequence)}
+	 * 
+	 * @param name
+	 *            a character sequence
+	 * @return a name-based UUID
+	 */
+	public UUID create(CharSequence name) {
+		return create((UUID) null, name);
+	}
+
+	/**
+	 * Returns a name-based UUID without name space.
+	 * 
+	 * {@link AbstractNameBasedUuidCreator#create(UUID, ByteBuffer)}
+	 * 
+	 * @param name
+	 *            a byte buffer of the name in UTF8
+	 * @return a name-based UUID
+	 */
+	public UUID create(ByteBuffer name) {
+		return create((UUID) null, name);
 	}
 
 	/**
@@ -160,7 +207,7 @@ public abstract class AbstractNameBasedUuidCreator extends AbstractUuidCreator {
 	 */
 	public UUID create(String namespace, String name) {
 		UUID namespaceUUID = create(namespace);
-		return create(namespaceUUID, name.getBytes(StandardCharsets.UTF_8));
+		return create(namespaceUUID, (CharSequence) name);
 	}
 
 	/**
@@ -193,7 +240,7 @@ public abstract class AbstractNameBasedUuidCreator extends AbstractUuidCreator {
 	 * @return a name-based UUID
 	 */
 	public UUID create(UUID namespace, String name) {
-		return create(namespace, name.getBytes(StandardCharsets.UTF_8));
+		return create(namespace, (CharSequence) name);
 	}
 
 	/**
@@ -210,7 +257,53 @@ public abstract class AbstractNameBasedUuidCreator extends AbstractUuidCreator {
 	 * @return a name-based UUID
 	 */
 	public UUID create(UuidNamespace namespace, String name) {
-		return create(namespace.getValue(), name.getBytes(StandardCharsets.UTF_8));
+		return create(namespace.getValue(), (CharSequence) name);
+	}
+
+	/**
+	 * Returns a name-based UUID with a name space and a name.
+	 * 
+	 * The name is encoded to UTF-8 in small blocks that are fed to the
+	 * message digest, without creating a copy of the whole name. Unpaired
+	 * surrogates are replaced with '?', just like
+	 * {@link String#getBytes(java.nio.charset.Charset)} does.
+	 * 
+	 * {@link AbstractNameBasedUuidCreator#create(UUID, byte[])}
+	 * 
+	 * @param namespace
+	 *            a name space UUID
+	 * @param name
+	 *            a character sequence
+	 * @return a name-based UUID
+	 */
+	public UUID create(final UUID namespace, final CharSequence name) {
+		final Digester digester = this.digesters.get();
+		final MessageDigest md = this.begin(digester, namespace);
+		digester.update(name);
+		return this.finish(digester, md);
+	}
+
+	/**
+	 * Returns a name-based UUID with a name space and a name.
+	 * 
+	 * The remaining bytes of the buffer are used as the name. The position of
+	 * the buffer is not changed.
+	 * 
+	 * {@link AbstractNameBasedUuidCreator#create(UUID, byte[])}
+	 * 
+	 * @param namespace
+	 *            a name space UUID
+	 * @param name
+	 *            a byte buffer of the name in UTF8
+	 * @return a name-based UUID
+	 */
+	public UUID create(final UUID namespace, final ByteBuffer name) {
+		final Digester digester = this.digesters.get();
+		final MessageDigest md = this.begin(digester, namespace);
+		final int position = name.position();
+		md.update(name);
+		name.position(position);
+		return this.finish(digester, md);
 	}
 	
 	/**
@@ -263,20 +356,62 @@ public abstract class AbstractNameBasedUuidCreator extends AbstractUuidCreator {
 	 * @return a name-based UUID
 	 */
 	public UUID create(final UUID namespace, final byte[] name) {
+		final Digester digester = this.digesters.get();
+		final MessageDigest md = this.begin(digester, namespace);
+		md.update(name);
+		return this.finish(digester, md);
+	}
 
-		final byte[] hash;
+	/**
+	 * Prepares the message digest of the current thread with the name space
+	 * argument or with the fixed name space if the argument is null.
+	 * 
+	 * The bytes of the fixed name space are computed only once, when it is
+	 * set, and are reused for every UUID.
+	 * 
+	 * @param digester
+	 *            the digester of the current thread
+	 * @param namespace
+	 *            a name space UUID or null
+	 * @return the message digest
+	 */
+	private MessageDigest begin(final Digester digester, final UUID namespace) {
+		if (namespace != null) {
+			return digester.begin(digester.toBytes(namespace));
+		}
+		return digester.begin(this.namespace);
+	}
 
-		synchronized (md) {
-			md.reset();
-			if (namespace != null) {
-				md.update(toBytes(namespace.getMostSignificantBits()));
-				md.update(toBytes(namespace.getLeastSignificantBits()));
-			} else if (this.namespace != null) {
-				md.update(toBytes(this.namespace.getMostSignificantBits()));
-				md.update(toBytes(this.namespace.getLeastSignificantBits()));
-			}
-			hash = md.digest(name);
+	/**
+	 * Returns a new array with the bytes of a name space in network byte
+	 * order.
+	 * 
+	 * @param namespace
+	 *            a name space UUID or null
+	 * @return an array of 16 bytes or null
+	 */
+	private static byte[] toNamespaceBytes(final UUID namespace) {
+		if (namespace == null) {
+			return null;
 		}
+		final byte[] bytes = new byte[16];
+		System.arraycopy(toBytes(namespace.getMostSignificantBits()), 0, bytes, 0, 8);
+		System.arraycopy(toBytes(namespace.getLeastSignificantBits()), 0, bytes, 8, 8);
+		return bytes;
+	}
+
+	/**
+	 * Completes the hash and formats the UUID.
+	 * 
+	 * @param digester
+	 *            the digester of the current thread
+	 * @param md
+	 *            the message digest of the digester
+	 * @return a name-based UUID
+	 */
+	private UUID finish(final Digester digester, final MessageDigest md) {
+
+		final byte[] hash = digester.digest();
 
 		long msb = toNumber(hash, 0, 8);
 		long lsb = toNumber(hash, 8, 16);
@@ -286,4 +421,140 @@ public abstract class AbstractNameBasedUuidCreator extends AbstractUuidCreator {
 
 		return new UUID(msb, lsb);
 	}
+
+	/**
+	 * Returns a new message digest of the same algorithm of this creator.
+	 * 
+	 * @return a message digest
+	 */
+	private MessageDigest newMessageDigest() {
+		try {
+			return (MessageDigest) this.prototype.clone();
+		} catch (CloneNotSupportedException e) {
+			try {
+				return MessageDigest.getInstance(this.prototype.getAlgorithm());
+			} catch (NoSuchAlgorithmException ex) {
+				throw new InternalError("Message digest algorithm not supported.", ex);
+			}
+		}
+	}
+
+	/**
+	 * A message digest and the buffers used by a single thread.
+	 */
+	private static final class Digester {
+
+		private final MessageDigest md;
+		private final byte[] namespace = new byte[16];
+		private final byte[] hash;
+		private final byte[] buffer = new byte[256];
+		private boolean dirty = true;
+
+		private Digester(MessageDigest md) {
+			this.md = md;
+			this.hash = new byte[Math.max(md.getDigestLength(), 16)];
+		}
+
+		/**
+		 * Writes a name space into the reusable name space buffer.
+		 * 
+		 * @param namespace
+		 *            a name space UUID
+		 * @return the name space buffer
+		 */
+		private byte[] toBytes(final UUID namespace) {
+			final long msb = namespace.getMostSignificantBits();
+			final long lsb = namespace.getLeastSignificantBits();
+			for (int i = 0; i < 8; i++) {
+				this.namespace[i] = (byte) (msb >>> (56 - (i << 3)));
+				this.namespace[i + 8] = (byte) (lsb >>> (56 - (i << 3)));
+			}
+			return this.namespace;
+		}
+
+		/**
+		 * Feeds the message digest with the name space bytes, if any.
+		 * 
+		 * The message digest is reset by {@link MessageDigest#digest()}, so it
+		 * is reset here only if the previous hash was not completed.
+		 * 
+		 * @param namespace
+		 *            the name space bytes or null
+		 * @return the message digest
+		 */
+		private MessageDigest begin(final byte[] namespace) {
+			if (this.dirty) {
+				this.md.reset();
+			}
+			this.dirty = true;
+			if (namespace != null) {
+				this.md.update(namespace, 0, 16);
+			}
+			return this.md;
+		}
+
+		/**
+		 * Feeds the message digest with a character sequence encoded to UTF-8.
+		 * 
+		 * @param name
+		 *            a character sequence
+		 */
+		private void update(final CharSequence name) {
+
+			final byte[] buf = this.buffer;
+			final int limit = buf.length - 4;
+			final int length = name.length();
+
+			int n = 0;
+			for (int i = 0; i < length; i++) {
+
+				if (n > limit) {
+					this.md.update(buf, 0, n);
+					n = 0;
+				}
+
+				final char c = name.charAt(i);
+				if (c < 0x80) {
+					buf[n++] = (byte) c;
+				} else if (c < 0x800) {
+					buf[n++] = (byte) (0xc0 | (c >> 6));
+					buf[n++] = (byte) (0x80 | (c & 0x3f));
+				} else if (Character.isSurrogate(c)) {
+					final char d = i + 1 < length ? name.charAt(i + 1) : 0;
+					if (Character.isHighSurrogate(c) && Character.isLowSurrogate(d)) {
+						final int cp = Character.toCodePoint(c, d);
+						buf[n++] = (byte) (0xf0 | (cp >> 18));
+						buf[n++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+						buf[n++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+						buf[n++] = (byte) (0x80 | (cp & 0x3f));
+						i++;
+					} else {
+						// unpaired surrogate
+						buf[n++] = (byte) '?';
+					}
+				} else {
+					buf[n++] = (byte) (0xe0 | (c >> 12));
+					buf[n++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+					buf[n++] = (byte) (0x80 | (c & 0x3f));
+				}
+			}
+
+			this.md.update(buf, 0, n);
+		}
+
+		/**
+		 * Completes the hash into the reusable hash buffer.
+		 * 
+		 * @return the hash buffer
+		 */
+		private byte[] digest() {
+			try {
+				this.md.digest(this.hash, 0, this.hash.length);
+				this.dirty = false;
+			} catch (DigestException e) {
+				throw new InternalError("Message digest failed.", e);
+			}
+			return this.hash;
+		}
+	}
 }
@@ -0,0 +1,208 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018-2019 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.f4b6a3.uuid.factory.abst;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import com.github.f4b6a3.uuid.enums.UuidVersion;
+import com.github.f4b6a3.uuid.util.UuidUtil;
+
+/**
+ * Abstract class for subclasses that create {@link UUID} objects without
+ * arguments.
+ * 
+ * It adds bulk methods on top of {@link #create(long[], int)}, which calls
+ * {@link NoArgumentsUuidCreator#create()} once for each UUID. Subclasses should
+ * override it to create all the UUIDs in a single step.
+ * 
+ * The bulk methods are not part of {@link NoArgumentsUuidCreator}, so that
+ * existing implementations of the interface keep compiling.
+ */
+public abstract class AbstractNoArgumentsUuidCreator extends AbstractUuidCreator implements NoArgumentsUuidCreator {
+
+	protected static final int BULK_CHUNK_SIZE = 256;
+
+	public AbstractNoArgumentsUuidCreator() {
+		super();
+	}
+
+	public AbstractNoArgumentsUuidCreator(UuidVersion version) {
+		super(version);
+	}
+
+	/**
+	 * Creates many UUIDs and writes them into an array of longs.
+	 * 
+	 * Each UUID takes two positions of the array: the most significant bits
+	 * are followed by the least significant bits. The array must have at least
+	 * {@code 2 * count} positions.
+	 * 
+	 * @param uuids
+	 *            an array of MSB and LSB pairs
+	 * @param count
+	 *            the number of UUIDs
+	 */
+	public void create(final long[] uuids, final int count) {
+		validateBulkArguments(uuids, count);
+		for (int i = 0; i < count; i++) {
+			final UUID uuid = this.create();
+			uuids[i << 1] = uuid.getMostSignificantBits();
+			uuids[(i << 1) + 1] = uuid.getLeastSignificantBits();
+		}
+	}
+
+	/**
+	 * Creates many UUIDs and writes them into a byte buffer.
+	 * 
+	 * Each UUID takes 16 bytes in big-endian order, whatever the order of the
+	 * buffer is. The position of the buffer is advanced by
+	 * {@code 16 * count}.
+	 * 
+	 * @param buffer
+	 *            a byte buffer
+	 * @param count
+	 *            the number of UUIDs
+	 */
+	public void create(final ByteBuffer buffer, final int count) {
+		this.write(buffer, count, false);
+	}
+
+	/**
+	 * Creates many UUIDs and writes them into a byte buffer in the binary
+	 * layout of the MSSQL Server 'uniqueidentifier' type.
+	 * 
+	 * It is the layout used by SQL Server bulk copy and by .NET
+	 * {@code Guid.ToByteArray()}. Each UUID takes 16 bytes, whatever the order
+	 * of the buffer is. The position of the buffer is advanced by
+	 * {@code 16 * count}.
+	 * 
+	 * Subclasses that create GUIDs for SQL Server make it public.
+	 * 
+	 * {@link UuidUtil#formatMssqlBinaryMostSignificantBits(long)}
+	 * 
+	 * @param buffer
+	 *            a byte buffer
+	 * @param count
+	 *            the number of UUIDs
+	 */
+	protected void createMssqlBinary(final ByteBuffer buffer, final int count) {
+		this.write(buffer, count, true);
+	}
+
+	/**
+	 * Creates many UUIDs in chunks and writes them into a byte buffer.
+	 * 
+	 * @param buffer
+	 *            a byte buffer
+	 * @param count
+	 *            the number of UUIDs
+	 * @param mssql
+	 *            true for the binary layout of MSSQL Server
+	 */
+	private void write(final ByteBuffer buffer, final int count, final boolean mssql) {
+
+		if (count < 0) {
+			throw new IllegalArgumentException("The count must not be negative.");
+		}
+
+		if (buffer.remaining() < ((long) count) << 4) {
+			throw new BufferOverflowException();
+		}
+
+		final boolean bigEndian = buffer.order() == ByteOrder.BIG_ENDIAN;
+		final long[] uuids = new long[Math.min(count, BULK_CHUNK_SIZE) << 1];
+
+		int remaining = count;
+		while (remaining > 0) {
+			final int chunk = Math.min(remaining, BULK_CHUNK_SIZE);
+			this.create(uuids, chunk);
+			if (mssql) {
+				for (int i = 0; i < chunk << 1; i += 2) {
+					uuids[i] = UuidUtil.formatMssqlBinaryMostSignificantBits(uuids[i]);
+				}
+			}
+			for (int i = 0; i < chunk << 1; i++) {
+				buffer.putLong(bigEndian ? uuids[i] : Long.reverseBytes(uuids[i]));
+			}
+			remaining -= chunk;
+		}
+	}
+
+	/**
+	 * Creates a list of UUIDs.
+	 * 
+	 * The UUIDs are created in chunks by {@link #create(long[], int)}.
+	 * 
+	 * @param count
+	 *            the number of UUIDs
+	 * @return a list of UUIDs
+	 */
+	public List<UUID> createList(final int count) {
+
+		if (count < 0) {
+			throw new IllegalArgumentException("The count must not be negative.");
+		}
+
+		final long[] uuids = new long[Math.min(count, BULK_CHUNK_SIZE) << 1];
+		final List<UUID> list = new ArrayList<>(count);
+
+		int remaining = count;
+		while (remaining > 0) {
+			final int chunk = Math.min(remaining, BULK_CHUNK_SIZE);
+			this.create(uuids, chunk);
+			for (int i = 0; i < chunk; i++) {
+				list.add(new UUID(uuids[i << 1], uuids[(i << 1) + 1]));
+			}
+			remaining -= chunk;
+		}
+		return list;
+	}
+
+	/**
+	 * Checks the arguments of {@link #create(long[], int)}.
+	 * 
+	 * @param uuids
+	 *            an array of MSB and LSB pairs
+	 * @param count
+	 *            the number of UUIDs
+	 * @throws IllegalArgumentException
+	 *             if the count is negative or the array is too short
+	 */
+	protected static void validateBulkArguments(final long[] uuids, final int count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("The count must not be negative.");
+		}
+		if (uuids.length < ((long) count) << 1) {
+			throw new IllegalArgumentException(
+					String.format("The array must have at least %s positions.", ((long) count) << 1));
+		}
+	}
+}
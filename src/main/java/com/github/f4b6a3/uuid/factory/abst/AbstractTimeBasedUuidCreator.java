@@ -33,25 +33,40 @@ import com.github.f4b6a3.uuid.clockseq.DefaultClockSequenceStrategy;
 import com.github.f4b6a3.uuid.clockseq.FixedClockSequenceStrategy;
 import com.github.f4b6a3.uuid.enums.UuidVersion;
 import com.github.f4b6a3.uuid.exception.UuidCreatorException;
+import com.github.f4b6a3.uuid.nodeid.AsyncNodeIdentifierStrategy;
+import com.github.f4b6a3.uuid.nodeid.AsyncNodeIdentifierStrategy.Discovery;
 import com.github.f4b6a3.uuid.nodeid.DefaultNodeIdentifierStrategy;
 import com.github.f4b6a3.uuid.nodeid.FixedNodeIdentifierStrategy;
 import com.github.f4b6a3.uuid.nodeid.HardwareAddressNodeIdentifierStrategy;
 import com.github.f4b6a3.uuid.nodeid.NodeIdentifierStrategy;
 import com.github.f4b6a3.uuid.nodeid.RandomNodeIdentifierStrategy;
 import com.github.f4b6a3.uuid.nodeid.FingerprintNodeIdentifierStrategy;
+import com.github.f4b6a3.uuid.sequence.TimeBasedSequence;
+import com.github.f4b6a3.uuid.state.AbstractUuidState;
+import com.github.f4b6a3.uuid.state.MappedFileUuidState;
 import com.github.f4b6a3.uuid.timestamp.DefaultTimestampStrategy;
+import com.github.f4b6a3.uuid.timestamp.DefaultTimestampStrategy.RegressionPolicy;
 import com.github.f4b6a3.uuid.timestamp.FixedTimestampStretegy;
+import com.github.f4b6a3.uuid.timestamp.StallStrategy;
 import com.github.f4b6a3.uuid.timestamp.TimestampStrategy;
 import com.github.f4b6a3.uuid.util.SettingsUtil;
 import com.github.f4b6a3.uuid.util.TimestampUtil;
 import com.github.f4b6a3.uuid.util.UuidUtil;
 
-public abstract class AbstractTimeBasedUuidCreator extends AbstractUuidCreator implements NoArgumentsUuidCreator {
+public abstract class AbstractTimeBasedUuidCreator extends AbstractNoArgumentsUuidCreator {
 
 	protected TimestampStrategy timestampStrategy;
 	protected ClockSequenceStrategy clockSequenceStrategy;
 	protected NodeIdentifierStrategy nodeIdentifierStrategy;
 
+	protected volatile TimeBasedSequence sequence;
+
+	private long[] timestamps;
+
+	// used by bulk generation if the timestamp strategy has no stall strategy
+	public static final StallStrategy BULK_STALL_STRATEGY = new StallStrategy(StallStrategy.DEFAULT_SPINS,
+			StallStrategy.DEFAULT_YIELDS, StallStrategy.DEFAULT_MAX_PARK, 100_000_000); // 100 ms
+
 	/**
 	 * This constructor requires a version number.
 	 * 
@@ -153,7 +168,66 @@ public abstract class AbstractTimeBasedUuidCreator extends AbstractUuidCreator i
 	 *             an overrun exception if more than 10 thousand UUIDs are
 	 *             requested within the same millisecond
 	 */
-	public synchronized UUID create() {
+	public UUID create() {
+		return this.createMasked(-1L, 0L, -1L, 0L);
+	}
+
+	/**
+	 * Returns a new time-based UUID with some of its bits replaced.
+	 * 
+	 * The MSB and the LSB are formatted, masked and combined with the
+	 * replacement bits in a single pass, so that subclasses that derive their
+	 * UUIDs from time-based ones don't have to take a {@link UUID} apart and
+	 * build another one. See {@link #create()}.
+	 * 
+	 * @param msbMask
+	 *            the bits of the MSB to keep
+	 * @param msbBits
+	 *            the bits to set in the MSB
+	 * @param lsbMask
+	 *            the bits of the LSB to keep
+	 * @param lsbBits
+	 *            the bits to set in the LSB
+	 * @return {@link UUID} a UUID value
+	 * 
+	 * @throws UuidCreatorException
+	 *             an overrun exception if more than 10 thousand UUIDs are
+	 *             requested within the same millisecond
+	 */
+	protected UUID createMasked(final long msbMask, final long msbBits, final long lsbMask, final long lsbBits) {
+
+		final TimeBasedSequence lockFreeSequence = this.sequence;
+		if (lockFreeSequence != null) {
+
+			// (4a)(5a) get the node identifier
+			final long nodeIdentifier = this.nodeIdentifierStrategy.getNodeIdentifier();
+
+			// (3a)(5a)(6a)(7b) get the timestamp and the sequence value
+			final TimeBasedSequence.State state = lockFreeSequence.reserve(1,
+					this.getSequenceNodeIdentifier(nodeIdentifier));
+
+			// (9a) format a UUID from the MSB and LSB
+			final long msb = this.formatMostSignificantBits(state.getTimestamp());
+			final long lsb = this.formatLeastSignificantBits(nodeIdentifier, state.getClockSequence());
+			return new UUID((msb & msbMask) | msbBits, (lsb & lsbMask) | lsbBits);
+		}
+
+		synchronized (this) {
+			return this.createSynchronized(msbMask, msbBits, lsbMask, lsbBits);
+		}
+	}
+
+	/**
+	 * Returns a new time-based UUID using the configured strategies.
+	 * 
+	 * The caller must hold the lock of this creator. The masks and the
+	 * replacement bits are the ones of
+	 * {@link #createMasked(long, long, long, long)}.
+	 * 
+	 * @return {@link UUID} a UUID value
+	 */
+	private UUID createSynchronized(final long msbMask, final long msbBits, final long lsbMask,
+			final long lsbBits) {
 
 		// (3a) get the timestamp
 		final long timestamp = this.timestampStrategy.getTimestamp();
@@ -162,7 +236,8 @@ public abstract class AbstractTimeBasedUuidCreator extends AbstractUuidCreator i
 		final long nodeIdentifier = this.nodeIdentifierStrategy.getNodeIdentifier();
 
 		// (5a)(6a) get the sequence value
-		final long clockSequence = this.clockSequenceStrategy.getClockSequence(timestamp, nodeIdentifier);
+		final long clockSequence = this.clockSequenceStrategy.getClockSequence(timestamp,
+				this.getSequenceNodeIdentifier(nodeIdentifier));
 
 		// (9a) format the most significant bits
 		final long msb = this.formatMostSignificantBits(timestamp);
@@ -171,7 +246,119 @@ public abstract class AbstractTimeBasedUuidCreator extends AbstractUuidCreator i
 		final long lsb = this.formatLeastSignificantBits(nodeIdentifier, clockSequence);
 
 		// (9a) format a UUID from the MSB and LSB
-		return new UUID(msb, lsb);
+		return new UUID((msb & msbMask) | msbBits, (lsb & lsbMask) | lsbBits);
+	}
+
+	/**
+	 * Creates many time-based UUIDs and writes them into an array of longs.
+	 * 
+	 * The lock is taken once for all the UUIDs. If the timestamp strategy is a
+	 * {@link DefaultTimestampStrategy}, runs of consecutive timestamps are
+	 * reserved at once instead of reading the system time for each UUID.
+	 * 
+	 * A bulk request may need more than the 10 thousand timestamps of a
+	 * millisecond. When they run out, the generator waits for the next
+	 * millisecond and keeps filling the array. The wait uses the
+	 * {@link StallStrategy} of the timestamp strategy, or
+	 * {@link #BULK_STALL_STRATEGY} if it has none.
+	 * 
+	 * If an overrun exception is thrown, the UUIDs created before it are kept
+	 * in the array.
+	 * 
+	 * See {@link #create()}.
+	 * 
+	 * @param uuids
+	 *            an array of MSB and LSB pairs
+	 * @param count
+	 *            the number of UUIDs
+	 * 
+	 * @throws UuidCreatorException
+	 *             an overrun exception if the timestamps of a millisecond run
+	 *             out and the system clock doesn't advance within the maximum
+	 *             wait time
+	 */
+	@Override
+	public void create(final long[] uuids, final int count) {
+
+		validateBulkArguments(uuids, count);
+
+		final TimeBasedSequence lockFreeSequence = this.sequence;
+		if (lockFreeSequence != null) {
+			int i = 0;
+			while (i < count) {
+				final long nodeIdentifier = this.nodeIdentifierStrategy.getNodeIdentifier();
+				final TimeBasedSequence.State state = lockFreeSequence.reserve(count - i,
+						this.getSequenceNodeIdentifier(nodeIdentifier), BULK_STALL_STRATEGY);
+				final long timestamp = state.getFirstTimestamp();
+				for (int j = 0; j < state.getCount(); j++, i++) {
+					uuids[i << 1] = this.formatMostSignificantBits(timestamp + j);
+					uuids[(i << 1) + 1] = this.formatLeastSignificantBits(nodeIdentifier, state.getClockSequence());
+				}
+			}
+			return;
+		}
+
+		synchronized (this) {
+			if (this.timestampStrategy instanceof DefaultTimestampStrategy) {
+				final DefaultTimestampStrategy strategy = (DefaultTimestampStrategy) this.timestampStrategy;
+				final StallStrategy stall = strategy.getStallStrategy() != null ? strategy.getStallStrategy()
+						: BULK_STALL_STRATEGY;
+				if (this.timestamps == null) {
+					this.timestamps = new long[BULK_CHUNK_SIZE];
+				}
+				int i = 0;
+				while (i < count) {
+					final int reserved = strategy.getTimestamps(this.timestamps, 0, Math.min(count - i, BULK_CHUNK_SIZE),
+							stall);
+					for (int j = 0; j < reserved; j++, i++) {
+						this.format(uuids, i, this.timestamps[j]);
+					}
+				}
+			} else {
+				for (int i = 0; i < count; i++) {
+					this.format(uuids, i, this.timestampStrategy.getTimestamp());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Formats the UUID of a position of an array of MSB and LSB pairs.
+	 * 
+	 * The caller must hold the lock of this creator.
+	 * 
+	 * @param uuids
+	 *            an array of MSB and LSB pairs
+	 * @param index
+	 *            the index of the UUID
+	 * @param timestamp
+	 *            a timestamp
+	 */
+	private void format(final long[] uuids, final int index, final long timestamp) {
+		final long nodeIdentifier = this.nodeIdentifierStrategy.getNodeIdentifier();
+		final long clockSequence = this.clockSequenceStrategy.getClockSequence(timestamp,
+				this.getSequenceNodeIdentifier(nodeIdentifier));
+		uuids[index << 1] = this.formatMostSignificantBits(timestamp);
+		uuids[(index << 1) + 1] = this.formatLeastSignificantBits(nodeIdentifier, clockSequence);
+	}
+
+	/**
+	 * Returns the node identifier given to the clock sequence.
+	 * 
+	 * A {@link RandomNodeIdentifierStrategy} returns a new node identifier for
+	 * every UUID. It is not a change of node, so the clock sequence is not
+	 * incremented for it. Otherwise every UUID would take a new clock sequence
+	 * and write it to the state.
+	 * 
+	 * @param nodeIdentifier
+	 *            the node identifier of the UUID
+	 * @return the node identifier for the clock sequence
+	 */
+	private long getSequenceNodeIdentifier(final long nodeIdentifier) {
+		if (this.nodeIdentifierStrategy instanceof RandomNodeIdentifierStrategy) {
+			return 0;
+		}
+		return nodeIdentifier;
 	}
 
 	/**
@@ -190,6 +377,7 @@ public abstract class AbstractTimeBasedUuidCreator extends AbstractUuidCreator i
 	public synchronized <T extends AbstractTimeBasedUuidCreator> T withTimestampStrategy(
 			TimestampStrategy timestampStrategy) {
 		this.timestampStrategy = timestampStrategy;
+		this.sequence = null;
 		return (T) this;
 	}
 
@@ -224,6 +412,99 @@ public abstract class AbstractTimeBasedUuidCreator extends AbstractUuidCreator i
 	public synchronized <T extends AbstractTimeBasedUuidCreator> T withClockSequenceStrategy(
 			ClockSequenceStrategy clockSequenceStrategy) {
 		this.clockSequenceStrategy = clockSequenceStrategy;
+		this.sequence = null;
+		return (T) this;
+	}
+
+	/**
+	 * Use a {@link DefaultTimestampStrategy} with a policy for when the system
+	 * clock goes backwards.
+	 * 
+	 * See {@link RegressionPolicy}.
+	 * 
+	 * @param regressionPolicy
+	 *            the policy for when the system clock goes backwards
+	 * @param maxBorrow
+	 *            the maximum distance in milliseconds that the timestamps can
+	 *            be ahead of the system clock
+	 * @param <T>
+	 *            type parameter
+	 * @return {@link AbstractTimeBasedUuidCreator}
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T extends AbstractTimeBasedUuidCreator> T withClockRegressionPolicy(
+			RegressionPolicy regressionPolicy, long maxBorrow) {
+		this.timestampStrategy = new DefaultTimestampStrategy(regressionPolicy, maxBorrow, this.getStallStrategy());
+		this.sequence = null;
+		return (T) this;
+	}
+
+	/**
+	 * Use a {@link DefaultTimestampStrategy} that waits for the next
+	 * millisecond instead of throwing an overrun exception when more than 10
+	 * thousand UUIDs are requested within the same millisecond.
+	 * 
+	 * The regression policy of the current {@link DefaultTimestampStrategy},
+	 * if any, is kept.
+	 * 
+	 * Like other timestamp strategy changes, this turns the lock-free
+	 * generation off.
+	 * 
+	 * See {@link StallStrategy}.
+	 * 
+	 * @param stallStrategy
+	 *            the stall strategy used on overrun, or null to throw an
+	 *            exception right away
+	 * @param <T>
+	 *            type parameter
+	 * @return {@link AbstractTimeBasedUuidCreator}
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T extends AbstractTimeBasedUuidCreator> T withStallStrategy(StallStrategy stallStrategy) {
+		RegressionPolicy regressionPolicy = RegressionPolicy.DEFAULT;
+		long maxBorrow = DefaultTimestampStrategy.DEFAULT_MAX_BORROW;
+		if (this.timestampStrategy instanceof DefaultTimestampStrategy) {
+			final DefaultTimestampStrategy strategy = (DefaultTimestampStrategy) this.timestampStrategy;
+			regressionPolicy = strategy.getRegressionPolicy();
+			maxBorrow = strategy.getMaxBorrow();
+		}
+		this.timestampStrategy = new DefaultTimestampStrategy(regressionPolicy, maxBorrow, stallStrategy);
+		this.sequence = null;
+		return (T) this;
+	}
+
+	/**
+	 * Returns the stall strategy of the current timestamp strategy.
+	 * 
+	 * @return the stall strategy, or null if none is used
+	 */
+	private StallStrategy getStallStrategy() {
+		if (this.timestampStrategy instanceof DefaultTimestampStrategy) {
+			return ((DefaultTimestampStrategy) this.timestampStrategy).getStallStrategy();
+		}
+		return null;
+	}
+
+	/**
+	 * Use a {@link DefaultClockSequenceStrategy} that restores and keeps its
+	 * state in a given {@link AbstractUuidState}.
+	 * 
+	 * The state is used even if the state setting is disabled. For example,
+	 * {@link MappedFileUuidState} stores the state periodically while UUIDs
+	 * are created, not only when the program exits.
+	 * 
+	 * @param state
+	 *            a state
+	 * @param <T>
+	 *            type parameter
+	 * @return {@link AbstractTimeBasedUuidCreator}
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T extends AbstractTimeBasedUuidCreator> T withUuidState(AbstractUuidState state) {
+		long timestamp = this.timestampStrategy.getTimestamp();
+		long nodeIdentifier = this.nodeIdentifierStrategy.getNodeIdentifier();
+		this.clockSequenceStrategy = new DefaultClockSequenceStrategy(timestamp, nodeIdentifier, state);
+		this.sequence = null;
 		return (T) this;
 	}
 
@@ -241,6 +522,7 @@ public abstract class AbstractTimeBasedUuidCreator extends AbstractUuidCreator i
 	@SuppressWarnings("unchecked")
 	public synchronized <T extends AbstractTimeBasedUuidCreator> T withInstant(Instant instant) {
 		this.timestampStrategy = new FixedTimestampStretegy(TimestampUtil.toTimestamp(instant));
+		this.sequence = null;
 		return (T) this;
 	}
 
@@ -258,6 +540,7 @@ public abstract class AbstractTimeBasedUuidCreator extends AbstractUuidCreator i
 	@SuppressWarnings("unchecked")
 	public synchronized <T extends AbstractTimeBasedUuidCreator> T withTimestamp(long timestamp) {
 		this.timestampStrategy = new FixedTimestampStretegy(timestamp);
+		this.sequence = null;
 		return (T) this;
 	}
 
@@ -276,6 +559,7 @@ public abstract class AbstractTimeBasedUuidCreator extends AbstractUuidCreator i
 	public synchronized <T extends AbstractTimeBasedUuidCreator> T withUnixMilliseconds(long unixMilliseconds) {
 		long timestamp = TimestampUtil.toTimestamp(unixMilliseconds);
 		this.timestampStrategy = new FixedTimestampStretegy(timestamp);
+		this.sequence = null;
 		return (T) this;
 	}
 
@@ -327,10 +611,32 @@ public abstract class AbstractTimeBasedUuidCreator extends AbstractUuidCreator i
 		return (T) this;
 	}
 
+	/**
+	 * Set the node identifier to be discovered in the background.
+	 * 
+	 * A cached or random node identifier is used until the hardware address or
+	 * the fingerprint is found. Then the clock sequence is incremented and the
+	 * discovered node identifier is used.
+	 * 
+	 * See {@link AsyncNodeIdentifierStrategy}.
+	 * 
+	 * @param discovery
+	 *            the way the node identifier is discovered
+	 * @param <T>
+	 *            type parameter
+	 * @return {@link AbstractTimeBasedUuidCreator}
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T extends AbstractTimeBasedUuidCreator> T withAsyncNodeIdentifier(Discovery discovery) {
+		this.nodeIdentifierStrategy = new AsyncNodeIdentifierStrategy(discovery);
+		return (T) this;
+	}
+
 	/**
 	 * Set the node identifier to be a random identifier.
 	 * 
-	 * Each UUID generated will have a different random node identifier.
+	 * Each UUID generated will have a different random node identifier. The
+	 * clock sequence is not incremented for each new node identifier.
 	 * 
 	 * @param <T>
 	 *            type parameter
@@ -345,7 +651,8 @@ public abstract class AbstractTimeBasedUuidCreator extends AbstractUuidCreator i
 	/**
 	 * Set the node identifier to be a random identifier.
 	 * 
-	 * Each UUID generated will have a different random node identifier.
+	 * Each UUID generated will have a different random node identifier. The
+	 * clock sequence is not incremented for each new node identifier.
 	 * 
 	 * @param random
 	 *            a random number generator
@@ -373,6 +680,47 @@ public abstract class AbstractTimeBasedUuidCreator extends AbstractUuidCreator i
 	@SuppressWarnings("unchecked")
 	public synchronized <T extends AbstractTimeBasedUuidCreator> T withClockSequence(int clockSequence) {
 		this.clockSequenceStrategy = new FixedClockSequenceStrategy(clockSequence);
+		this.sequence = null;
+		return (T) this;
+	}
+
+	/**
+	 * Use a lock-free generator instead of the synchronized strategies.
+	 * 
+	 * The timestamp counter and the clock sequence are kept in a single
+	 * immutable state that is replaced atomically, so that concurrent threads
+	 * do not serialize on the monitor of this creator. The algorithm is the
+	 * same of {@link DefaultTimestampStrategy} and
+	 * {@link DefaultClockSequenceStrategy}: the system time has millisecond
+	 * resolution, the counter is added to the system time and the clock
+	 * sequence is incremented if the timestamp does not advance.
+	 * 
+	 * The node identifier is read before each state change and kept in the
+	 * state, so the clock sequence is also incremented if the node identifier
+	 * changes, for example when {@link AsyncNodeIdentifierStrategy} or a
+	 * {@code LeasedNodeIdentifierStrategy} replace it.
+	 * 
+	 * The clock sequences are taken from the current
+	 * {@link ClockSequenceStrategy} once per millisecond and whenever the node
+	 * identifier changes. So the state of a {@link DefaultClockSequenceStrategy}
+	 * is updated and stored on exit as in the synchronized mode, and a shared
+	 * state still hands out the clock sequences. The current
+	 * {@link TimestampStrategy} is not used in this mode.
+	 * 
+	 * Setting another timestamp or clock sequence strategy turns this mode
+	 * off.
+	 * 
+	 * @param <T>
+	 *            type parameter
+	 * @return {@link AbstractTimeBasedUuidCreator}
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T extends AbstractTimeBasedUuidCreator> T withLockFreeGeneration() {
+		final long timestamp = TimestampUtil.getCurrentTimestamp();
+		final long nodeIdentifier = this.nodeIdentifierStrategy.getNodeIdentifier();
+		final long clockSequence = this.clockSequenceStrategy.getClockSequence(timestamp,
+				this.getSequenceNodeIdentifier(nodeIdentifier));
+		this.sequence = new TimeBasedSequence(clockSequence, this.clockSequenceStrategy);
 		return (T) this;
 	}
 
@@ -43,7 +43,8 @@ public abstract class AbstractUuidCreator {
 	protected static final long[] RFC4122_VERSION_BITS = {
 			0x0000000000000000L, 0x0000000000001000L, 
 			0x0000000000002000L, 0x0000000000003000L, 
-			0x0000000000004000L, 0x0000000000005000L };
+			0x0000000000004000L, 0x0000000000005000L, 
+			0x0000000000006000L, 0x0000000000007000L };
 	
 	public AbstractUuidCreator() {
 		this.version = null;
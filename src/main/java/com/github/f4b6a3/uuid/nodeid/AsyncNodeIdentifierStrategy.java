@@ -0,0 +1,259 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018-2019 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.f4b6a3.uuid.nodeid;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import com.github.f4b6a3.uuid.clockseq.DefaultClockSequenceStrategy;
+import com.github.f4b6a3.uuid.util.ByteUtil;
+import com.github.f4b6a3.uuid.util.FingerprintUtil;
+import com.github.f4b6a3.uuid.util.NodeIdentifierUtil;
+import com.github.f4b6a3.uuid.util.RandomUtil;
+import com.github.f4b6a3.uuid.util.SettingsUtil;
+
+/**
+ * This is an implementation of {@link NodeIdentifierStrategy} that discovers
+ * the node identifier in the background.
+ * 
+ * Finding the hardware address or calculating the fingerprint enumerates the
+ * network interfaces and may do DNS lookups, which can take hundreds of
+ * milliseconds. This strategy doesn't wait for it. It starts with the node
+ * identifier discovered in a previous run, if cached, or with a random
+ * multicast node identifier. When the discovery finishes, the discovered node
+ * identifier replaces the initial one and is cached for the next runs. If no
+ * hardware address is found, the discovery fails and the random node
+ * identifier is kept, but not cached.
+ * 
+ * The {@link DefaultClockSequenceStrategy} increments the clock sequence when
+ * the node identifier changes, so the switch is safe.
+ * 
+ * The cache is a file named `uuidcreator.nodeid` in the state directory. See
+ * {@link SettingsUtil#getStateDirectory()}.
+ */
+public class AsyncNodeIdentifierStrategy implements NodeIdentifierStrategy {
+
+	protected static final String FILE_NAME = "uuidcreator.nodeid";
+
+	private static final String HARDWARE_ADDRESS_KEY = "hardware_address";
+
+	private static final Object MONITOR = new Object();
+
+	/**
+	 * The ways a node identifier can be discovered.
+	 */
+	public enum Discovery {
+
+		/**
+		 * See {@link HardwareAddressNodeIdentifierStrategy}.
+		 */
+		HARDWARE_ADDRESS,
+
+		/**
+		 * See {@link FingerprintNodeIdentifierStrategy}.
+		 */
+		FINGERPRINT
+	}
+
+	private final String key;
+	private final File cacheFile;
+
+	private volatile long nodeIdentifier;
+	private volatile boolean discovered = false;
+
+	private final CountDownLatch done = new CountDownLatch(1);
+
+	/**
+	 * Creates a strategy that caches the node identifier in the state
+	 * directory.
+	 * 
+	 * @param discovery
+	 *            the way the node identifier is discovered
+	 */
+	public AsyncNodeIdentifierStrategy(Discovery discovery) {
+		this(discovery, SettingsUtil.getStateDirectory());
+	}
+
+	/**
+	 * Creates a strategy that caches the node identifier in a directory.
+	 * 
+	 * @param discovery
+	 *            the way the node identifier is discovered
+	 * @param cacheDirectory
+	 *            the cache directory, or null for no cache
+	 */
+	public AsyncNodeIdentifierStrategy(final Discovery discovery, String cacheDirectory) {
+		this(discovery.name().toLowerCase(Locale.ROOT), new Callable<Long>() {
+			@Override
+			public Long call() {
+				if (discovery == Discovery.FINGERPRINT) {
+					return FingerprintUtil.getFingerprint();
+				}
+				Long hardwareAddress = HardwareAddressNodeIdentifierStrategy.findHardwareAddress();
+				if (hardwareAddress == null) {
+					throw new IllegalStateException("No hardware address found.");
+				}
+				return hardwareAddress;
+			}
+		}, cacheDirectory);
+	}
+
+	/**
+	 * Creates a strategy with a custom discovery.
+	 * 
+	 * @param key
+	 *            the name of the discovery in the cache file
+	 * @param discovery
+	 *            a task that returns the node identifier
+	 * @param cacheDirectory
+	 *            the cache directory, or null for no cache
+	 */
+	public AsyncNodeIdentifierStrategy(String key, final Callable<Long> discovery, String cacheDirectory) {
+
+		this.key = key;
+		this.cacheFile = cacheDirectory == null ? null : new File(cacheDirectory, FILE_NAME);
+
+		final Long cached = this.loadCache();
+		if (cached != null) {
+			this.nodeIdentifier = cached;
+		} else {
+			this.nodeIdentifier = NodeIdentifierUtil.setMulticastNodeIdentifier(RandomUtil.nextLong())
+					& 0x0000ffffffffffffL;
+		}
+
+		DiscoveryExecutorLazyHolder.INSTANCE.execute(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					final long result = discovery.call() & 0x0000ffffffffffffL;
+					if (cached == null || cached != result) {
+						storeCache(result);
+					}
+					nodeIdentifier = result;
+					discovered = true;
+				} catch (Exception e) {
+					// keep the initial node identifier
+				} finally {
+					done.countDown();
+				}
+			}
+		});
+	}
+
+	@Override
+	public long getNodeIdentifier() {
+		return this.nodeIdentifier;
+	}
+
+	/**
+	 * Checks if the discovery has finished successfully.
+	 * 
+	 * @return true if the node identifier was discovered
+	 */
+	public boolean isDiscovered() {
+		return this.discovered;
+	}
+
+	/**
+	 * Waits for the discovery to finish.
+	 * 
+	 * @param timeout
+	 *            the maximum time to wait in milliseconds
+	 * @return true if the node identifier was discovered
+	 * @throws InterruptedException
+	 *             if interrupted while waiting
+	 */
+	public boolean await(long timeout) throws InterruptedException {
+		this.done.await(timeout, TimeUnit.MILLISECONDS);
+		return this.discovered;
+	}
+
+	private Long loadCache() {
+		if (this.cacheFile == null) {
+			return null;
+		}
+		synchronized (MONITOR) {
+			try (FileReader file = new FileReader(this.cacheFile)) {
+				Properties properties = new Properties();
+				properties.load(file);
+				String hexadecimal = properties.getProperty(this.key);
+				if (hexadecimal != null && hexadecimal.matches("[0-9a-fA-F]{12}")) {
+					long value = ByteUtil.toNumber(hexadecimal);
+					// a random node identifier is not a hardware address
+					if (HARDWARE_ADDRESS_KEY.equals(this.key)
+							&& NodeIdentifierUtil.isMulticastNodeIdentifier(value)) {
+						return null;
+					}
+					return value;
+				}
+			} catch (IOException e) {
+				// do nothing
+			}
+			return null;
+		}
+	}
+
+	private void storeCache(long value) {
+		if (this.cacheFile == null) {
+			return;
+		}
+		synchronized (MONITOR) {
+			Properties properties = new Properties();
+			try (FileReader file = new FileReader(this.cacheFile)) {
+				properties.load(file);
+			} catch (IOException e) {
+				// a new file
+			}
+			properties.setProperty(this.key, ByteUtil.toHexadecimal(value).substring(4));
+			try (FileWriter file = new FileWriter(this.cacheFile)) {
+				properties.store(file, null);
+			} catch (IOException e) {
+				// do nothing
+			}
+		}
+	}
+
+	private static class DiscoveryExecutorLazyHolder {
+		static final Executor INSTANCE = Executors.newSingleThreadExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "uuid-creator-node-discovery");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+}
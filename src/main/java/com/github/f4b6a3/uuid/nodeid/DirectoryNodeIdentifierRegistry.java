@@ -0,0 +1,198 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018-2019 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.f4b6a3.uuid.nodeid;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import com.github.f4b6a3.uuid.exception.UuidCreatorException;
+import com.github.f4b6a3.uuid.util.RandomUtil;
+
+/**
+ * A {@link NodeIdentifierRegistry} kept in a directory shared by many
+ * processes.
+ * 
+ * Each held slot is a file named `nodeid-N.lease`, where N is the slot number.
+ * The file has three lines: owner, token and expiration. The slot files are
+ * read and written while holding a {@link FileLock} on the file
+ * `nodeid.lock`.
+ * 
+ * The directory can be a local directory shared by the processes of a host,
+ * or a network file system that supports file locks. The clocks of the hosts
+ * must be roughly synchronized, since the expirations are absolute times.
+ */
+public class DirectoryNodeIdentifierRegistry implements NodeIdentifierRegistry {
+
+	protected static final String LOCK_FILE_NAME = "nodeid.lock";
+	protected static final String LEASE_FILE_FORMAT = "nodeid-%s.lease";
+
+	/**
+	 * A JVM can't hold two overlapping locks of the same file, so the
+	 * registries of the same JVM take turns.
+	 */
+	private static final Object MONITOR = new Object();
+
+	private final File directory;
+	private final int capacity;
+
+	/**
+	 * Creates a registry.
+	 * 
+	 * @param directory
+	 *            the shared directory
+	 * @param capacity
+	 *            the number of slots
+	 */
+	public DirectoryNodeIdentifierRegistry(String directory, int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Capacity must be positive.");
+		}
+		this.directory = new File(directory);
+		this.capacity = capacity;
+	}
+
+	@Override
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	@SuppressWarnings("try")
+	@Override
+	public NodeIdentifierLease acquire(String owner, long duration) {
+		if (owner.indexOf('\n') >= 0 || owner.indexOf('\r') >= 0) {
+			throw new IllegalArgumentException("Owner name with line breaks.");
+		}
+		synchronized (MONITOR) {
+			try (RandomAccessFile file = this.openLockFile(); FileLock lock = file.getChannel().lock()) {
+				final long now = this.getCurrentTime();
+				for (int i = 0; i < this.capacity; i++) {
+					final NodeIdentifierLease current = this.read(i);
+					if (current == null || current.getExpiration() <= now) {
+						final NodeIdentifierLease lease = new NodeIdentifierLease(i, owner, RandomUtil.nextLong(),
+								now + duration);
+						this.write(lease);
+						return lease;
+					}
+				}
+				return null;
+			} catch (IOException e) {
+				throw new UuidCreatorException(String.format("Unable to acquire a node identifier: %s.", e));
+			}
+		}
+	}
+
+	@SuppressWarnings("try")
+	@Override
+	public NodeIdentifierLease renew(NodeIdentifierLease lease, long duration) {
+		synchronized (MONITOR) {
+			try (RandomAccessFile file = this.openLockFile(); FileLock lock = file.getChannel().lock()) {
+				if (!lease.isSameLease(this.read(lease.getSlot()))) {
+					return null;
+				}
+				final NodeIdentifierLease renewed = lease.withExpiration(this.getCurrentTime() + duration);
+				this.write(renewed);
+				return renewed;
+			} catch (IOException e) {
+				throw new UuidCreatorException(String.format("Unable to renew a node identifier: %s.", e));
+			}
+		}
+	}
+
+	@SuppressWarnings("try")
+	@Override
+	public void release(NodeIdentifierLease lease) {
+		synchronized (MONITOR) {
+			try (RandomAccessFile file = this.openLockFile(); FileLock lock = file.getChannel().lock()) {
+				if (lease.isSameLease(this.read(lease.getSlot()))) {
+					Files.deleteIfExists(this.getLeasePath(lease.getSlot()));
+				}
+			} catch (IOException e) {
+				throw new UuidCreatorException(String.format("Unable to release a node identifier: %s.", e));
+			}
+		}
+	}
+
+	/**
+	 * Returns the current time in milliseconds since 1970-01-01.
+	 * 
+	 * @return the current time
+	 */
+	protected long getCurrentTime() {
+		return System.currentTimeMillis();
+	}
+
+	private RandomAccessFile openLockFile() throws IOException {
+		if (!this.directory.isDirectory() && !this.directory.mkdirs()) {
+			throw new IOException(String.format("Unable to create the directory %s", this.directory));
+		}
+		return new RandomAccessFile(new File(this.directory, LOCK_FILE_NAME), "rw");
+	}
+
+	private Path getLeasePath(int slot) {
+		return new File(this.directory, String.format(LEASE_FILE_FORMAT, slot)).toPath();
+	}
+
+	/**
+	 * Reads the lease of a slot.
+	 * 
+	 * A broken file is treated as a free slot.
+	 * 
+	 * @param slot
+	 *            the slot number
+	 * @return a lease, or null if the slot is free
+	 * @throws IOException
+	 *             if the file can't be read
+	 */
+	private NodeIdentifierLease read(int slot) throws IOException {
+		final Path path = this.getLeasePath(slot);
+		if (!Files.exists(path)) {
+			return null;
+		}
+		final List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+		if (lines.size() < 3) {
+			return null;
+		}
+		try {
+			return new NodeIdentifierLease(slot, lines.get(0), Long.parseLong(lines.get(1)),
+					Long.parseLong(lines.get(2)));
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	private void write(NodeIdentifierLease lease) throws IOException {
+		final List<String> lines = Arrays.asList(lease.getOwner(), Long.toString(lease.getToken()),
+				Long.toString(lease.getExpiration()));
+		Files.write(this.getLeasePath(lease.getSlot()), lines, StandardCharsets.UTF_8);
+	}
+}
@@ -78,6 +78,22 @@ public class HardwareAddressNodeIdentifierStrategy implements NodeIdentifierStra
 	 */
 	protected long getHardwareAddress() {
 
+		Long hardwareAddress = findHardwareAddress();
+		if (hardwareAddress != null) {
+			return hardwareAddress;
+		}
+
+		// Return a random node identifier
+		return getRandomMulticastNodeIdentifier();
+	}
+
+	/**
+	 * Find the machine address without falling back to a random one.
+	 * 
+	 * @return a hardware address, or null if no MAC is found
+	 */
+	static Long findHardwareAddress() {
+
 		// first try
 		NetworkData networkData = NetworkData.getNetworkData();
 
@@ -93,12 +109,11 @@ public class HardwareAddressNodeIdentifierStrategy implements NodeIdentifierStra
 		if (networkData != null) {
 			String hardwareAddress = networkData.getInterfaceHardwareAddress();
 			if (hardwareAddress != null && !hardwareAddress.isEmpty()) {
-				return ByteUtil.toNumber(networkData.getInterfaceHardwareAddress());
+				return ByteUtil.toNumber(hardwareAddress);
 			}
 		}
 
-		// Return a random node identifier
-		return getRandomMulticastNodeIdentifier();
+		return null;
 	}
 
 	/**
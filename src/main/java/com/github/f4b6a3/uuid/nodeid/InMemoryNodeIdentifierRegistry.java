@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018-2019 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.f4b6a3.uuid.nodeid;
+
+import com.github.f4b6a3.uuid.util.RandomUtil;
+
+/**
+ * A {@link NodeIdentifierRegistry} kept in memory.
+ * 
+ * It can only coordinate generators of the same JVM. It is useful for tests,
+ * as a stand-in for a coordination service.
+ */
+public class InMemoryNodeIdentifierRegistry implements NodeIdentifierRegistry {
+
+	private final NodeIdentifierLease[] leases;
+
+	/**
+	 * Creates a registry.
+	 * 
+	 * @param capacity
+	 *            the number of slots
+	 */
+	public InMemoryNodeIdentifierRegistry(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Capacity must be positive.");
+		}
+		this.leases = new NodeIdentifierLease[capacity];
+	}
+
+	@Override
+	public int getCapacity() {
+		return this.leases.length;
+	}
+
+	@Override
+	public synchronized NodeIdentifierLease acquire(String owner, long duration) {
+		final long now = this.getCurrentTime();
+		for (int i = 0; i < this.leases.length; i++) {
+			if (this.leases[i] == null || this.leases[i].getExpiration() <= now) {
+				this.leases[i] = new NodeIdentifierLease(i, owner, RandomUtil.nextLong(), now + duration);
+				return this.leases[i];
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public synchronized NodeIdentifierLease renew(NodeIdentifierLease lease, long duration) {
+		if (!lease.isSameLease(this.leases[lease.getSlot()])) {
+			return null;
+		}
+		this.leases[lease.getSlot()] = lease.withExpiration(this.getCurrentTime() + duration);
+		return this.leases[lease.getSlot()];
+	}
+
+	@Override
+	public synchronized void release(NodeIdentifierLease lease) {
+		if (lease.isSameLease(this.leases[lease.getSlot()])) {
+			this.leases[lease.getSlot()] = null;
+		}
+	}
+
+	/**
+	 * Returns the current time in milliseconds since 1970-01-01.
+	 * 
+	 * @return the current time
+	 */
+	protected long getCurrentTime() {
+		return System.currentTimeMillis();
+	}
+}
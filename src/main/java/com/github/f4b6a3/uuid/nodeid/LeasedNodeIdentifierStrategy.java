@@ -0,0 +1,226 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018-2019 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.f4b6a3.uuid.nodeid;
+
+import java.lang.management.ManagementFactory;
+
+import com.github.f4b6a3.uuid.exception.UuidCreatorException;
+import com.github.f4b6a3.uuid.util.NodeIdentifierUtil;
+import com.github.f4b6a3.uuid.util.RandomUtil;
+
+/**
+ * This is an implementation of {@link NodeIdentifierStrategy} that leases a
+ * unique node identifier from a {@link NodeIdentifierRegistry}.
+ * 
+ * The node identifier is the slot number with the multicast bit set, so it
+ * never conflicts with a real MAC address, and no two generators that share
+ * the registry use the same node identifier at the same time. The slot number
+ * can also be used to shard key spaces.
+ * 
+ * The lease is renewed when half of its duration has passed, while node
+ * identifiers are requested. An expired lease is never used: if it can't be
+ * renewed, another slot is acquired and the node identifier changes.
+ * 
+ * If the registry can't be reached or has no free slot, a random multicast
+ * node identifier is used, like in {@link RandomNodeIdentifierStrategy}, and
+ * the registry is tried again later. If the registry can't be reached while a
+ * lease is still valid, the lease is kept until it expires.
+ */
+public class LeasedNodeIdentifierStrategy implements NodeIdentifierStrategy {
+
+	public static final long DEFAULT_LEASE_DURATION = 60_000; // milliseconds
+
+	private final NodeIdentifierRegistry registry;
+	private final String owner;
+	private final long duration;
+
+	private volatile NodeIdentifierLease lease;
+	private volatile long nodeIdentifier;
+	private volatile long refreshTime;
+
+	/**
+	 * Creates a strategy with the default lease duration. The owner name is
+	 * the JVM name, usually "pid@hostname".
+	 * 
+	 * @param registry
+	 *            a node identifier registry
+	 */
+	public LeasedNodeIdentifierStrategy(NodeIdentifierRegistry registry) {
+		this(registry, ManagementFactory.getRuntimeMXBean().getName(), DEFAULT_LEASE_DURATION);
+	}
+
+	/**
+	 * Creates a strategy.
+	 * 
+	 * @param registry
+	 *            a node identifier registry
+	 * @param owner
+	 *            the owner name, written in the registry
+	 * @param duration
+	 *            the lease duration in milliseconds
+	 */
+	public LeasedNodeIdentifierStrategy(NodeIdentifierRegistry registry, String owner, long duration) {
+
+		if (registry == null || owner == null) {
+			throw new IllegalArgumentException("Null registry or owner.");
+		}
+		if (duration < 2) {
+			throw new IllegalArgumentException("Lease duration too short.");
+		}
+
+		this.registry = registry;
+		this.owner = owner;
+		this.duration = duration;
+		this.nodeIdentifier = getRandomNodeIdentifier();
+
+		this.refresh(System.currentTimeMillis());
+	}
+
+	/**
+	 * Returns the leased node identifier, renewing the lease if it is due.
+	 * 
+	 * @return a node identifier
+	 */
+	@Override
+	public long getNodeIdentifier() {
+		final long now = System.currentTimeMillis();
+		if (now >= this.refreshTime) {
+			this.refresh(now);
+		}
+		return this.nodeIdentifier;
+	}
+
+	/**
+	 * Renews the lease or acquires another slot. Falls back to a random node
+	 * identifier if it fails.
+	 * 
+	 * @param now
+	 *            the current time
+	 */
+	private synchronized void refresh(final long now) {
+
+		if (now < this.refreshTime) {
+			// another thread did it
+			return;
+		}
+
+		final NodeIdentifierLease current = this.lease;
+		try {
+			if (current != null) {
+				final NodeIdentifierLease renewed = this.registry.renew(current, this.duration);
+				if (renewed != null) {
+					this.lease = renewed;
+					this.refreshTime = now + (this.duration / 2);
+					return;
+				}
+			}
+
+			final NodeIdentifierLease acquired = this.registry.acquire(this.owner, this.duration);
+			if (acquired != null) {
+				this.lease = acquired;
+				this.nodeIdentifier = toNodeIdentifier(acquired.getSlot());
+				this.refreshTime = now + (this.duration / 2);
+				return;
+			}
+		} catch (UuidCreatorException e) {
+			if (current != null && now < current.getExpiration()) {
+				// keep the valid lease and try again soon
+				this.refreshTime = Math.min(now + this.getRetryInterval(), current.getExpiration());
+				return;
+			}
+		}
+
+		// fall back to a random node identifier
+		if (current != null) {
+			this.lease = null;
+			this.nodeIdentifier = getRandomNodeIdentifier();
+		}
+		this.refreshTime = now + this.getRetryInterval();
+	}
+
+	/**
+	 * Releases the lease, so that the slot can be acquired by another
+	 * generator. After that, a random node identifier is used until the next
+	 * retry.
+	 */
+	public synchronized void close() {
+		final NodeIdentifierLease current = this.lease;
+		this.lease = null;
+		this.nodeIdentifier = getRandomNodeIdentifier();
+		this.refreshTime = System.currentTimeMillis() + this.getRetryInterval();
+		if (current != null) {
+			this.registry.release(current);
+		}
+	}
+
+	/**
+	 * Returns the current lease.
+	 * 
+	 * @return a lease, or null if a random node identifier is used
+	 */
+	public NodeIdentifierLease getLease() {
+		return this.lease;
+	}
+
+	/**
+	 * Returns the leased slot number.
+	 * 
+	 * @return the slot number, or -1 if a random node identifier is used
+	 */
+	public int getSlot() {
+		final NodeIdentifierLease current = this.lease;
+		return current == null ? -1 : current.getSlot();
+	}
+
+	/**
+	 * Checks if a random node identifier is used, because no slot could be
+	 * leased.
+	 * 
+	 * @return true if the node identifier is random
+	 */
+	public boolean isFallback() {
+		return this.lease == null;
+	}
+
+	private long getRetryInterval() {
+		return Math.max(1, this.duration / 10);
+	}
+
+	/**
+	 * Returns the node identifier of a slot.
+	 * 
+	 * @param slot
+	 *            the slot number
+	 * @return a multicast node identifier
+	 */
+	protected static long toNodeIdentifier(int slot) {
+		return NodeIdentifierUtil.setMulticastNodeIdentifier(slot);
+	}
+
+	private static long getRandomNodeIdentifier() {
+		return NodeIdentifierUtil.setMulticastNodeIdentifier(RandomUtil.nextLong() & 0x0000ffffffffffffL);
+	}
+}
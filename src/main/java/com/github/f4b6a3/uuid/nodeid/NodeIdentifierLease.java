@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018-2019 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.f4b6a3.uuid.nodeid;
+
+/**
+ * An immutable lease of a slot of a {@link NodeIdentifierRegistry}.
+ * 
+ * The token is a random number chosen when the slot is acquired. It tells
+ * apart two leases of the same slot by the same owner, for example, after the
+ * first one expired.
+ */
+public final class NodeIdentifierLease {
+
+	private final int slot;
+	private final String owner;
+	private final long token;
+	private final long expiration;
+
+	/**
+	 * Creates a lease.
+	 * 
+	 * @param slot
+	 *            the slot number
+	 * @param owner
+	 *            the owner name
+	 * @param token
+	 *            a random token
+	 * @param expiration
+	 *            the expiration time in milliseconds since 1970-01-01
+	 */
+	public NodeIdentifierLease(int slot, String owner, long token, long expiration) {
+		this.slot = slot;
+		this.owner = owner;
+		this.token = token;
+		this.expiration = expiration;
+	}
+
+	public int getSlot() {
+		return this.slot;
+	}
+
+	public String getOwner() {
+		return this.owner;
+	}
+
+	public long getToken() {
+		return this.token;
+	}
+
+	public long getExpiration() {
+		return this.expiration;
+	}
+
+	/**
+	 * Checks if another lease is the same lease, regardless of expiration.
+	 * 
+	 * @param other
+	 *            another lease
+	 * @return true if the slot, the owner and the token are equal
+	 */
+	public boolean isSameLease(NodeIdentifierLease other) {
+		return other != null && this.slot == other.slot && this.token == other.token
+				&& this.owner.equals(other.owner);
+	}
+
+	/**
+	 * Returns a copy of this lease with another expiration.
+	 * 
+	 * @param expiration
+	 *            the expiration time in milliseconds since 1970-01-01
+	 * @return a lease
+	 */
+	public NodeIdentifierLease withExpiration(long expiration) {
+		return new NodeIdentifierLease(this.slot, this.owner, this.token, expiration);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("NodeIdentifierLease [slot=%s, owner=%s, token=%s, expiration=%s]", this.slot,
+				this.owner, this.token, this.expiration);
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018-2019 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.f4b6a3.uuid.nodeid;
+
+import com.github.f4b6a3.uuid.exception.UuidCreatorException;
+
+/**
+ * A registry that leases node identifier slots, so that no two generators
+ * hold the same slot at the same time.
+ * 
+ * A slot is held until its lease expires or is released. The holder must
+ * renew the lease before it expires. An expired slot can be acquired by
+ * anyone.
+ * 
+ * This interface can be implemented on top of a coordination service, like
+ * ZooKeeper or etcd. This project provides {@link InMemoryNodeIdentifierRegistry}
+ * and {@link DirectoryNodeIdentifierRegistry}.
+ * 
+ * The implementations throw {@link UuidCreatorException} if the registry can't
+ * be reached.
+ */
+public interface NodeIdentifierRegistry {
+
+	/**
+	 * Returns the number of slots.
+	 * 
+	 * @return the number of slots
+	 */
+	int getCapacity();
+
+	/**
+	 * Acquires a free or expired slot.
+	 * 
+	 * @param owner
+	 *            the owner name
+	 * @param duration
+	 *            the lease duration in milliseconds
+	 * @return a lease, or null if all slots are held
+	 */
+	NodeIdentifierLease acquire(String owner, long duration);
+
+	/**
+	 * Extends a lease.
+	 * 
+	 * It fails if the slot was acquired by someone else after the lease
+	 * expired.
+	 * 
+	 * @param lease
+	 *            a lease
+	 * @param duration
+	 *            the lease duration in milliseconds, counted from now
+	 * @return the renewed lease, or null if the lease was lost
+	 */
+	NodeIdentifierLease renew(NodeIdentifierLease lease, long duration);
+
+	/**
+	 * Frees the slot of a lease, if it is still held by the lease.
+	 * 
+	 * @param lease
+	 *            a lease
+	 */
+	void release(NodeIdentifierLease lease);
+}
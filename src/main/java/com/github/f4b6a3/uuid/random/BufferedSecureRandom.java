@@ -0,0 +1,244 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018-2019 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.f4b6a3.uuid.random;
+
+import java.security.SecureRandom;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * A subclass of {@link java.security.SecureRandom} that reads random bytes
+ * from a {@link SecureRandom} in large blocks.
+ * 
+ * Each thread has its own block of random bytes. The values returned by
+ * {@link #nextLong()} and {@link #nextBytes(byte[])} are sliced from that
+ * block, so the underlying {@link SecureRandom} is called once per block
+ * instead of once per value, and no array is allocated per value.
+ * 
+ * Optionally, each thread can have a spare block that is filled ahead of time
+ * by a background daemon thread. When the current block is exhausted and the
+ * spare block is ready, the blocks are swapped. Otherwise the current block is
+ * filled by the calling thread.
+ * 
+ * The random bytes are as good as the bytes of the underlying
+ * {@link SecureRandom}. The difference is that up to two blocks of unused
+ * random bytes per thread are kept in memory.
+ */
+public class BufferedSecureRandom extends SecureRandom {
+
+	private static final long serialVersionUID = 2942683567357937352L;
+
+	public static final int DEFAULT_BLOCK_SIZE = 4096;
+	public static final int MIN_BLOCK_SIZE = 16;
+	public static final int MAX_BLOCK_SIZE = 65536;
+
+	private final SecureRandom random;
+	private final int blockSize;
+	private final boolean backgroundRefill;
+	private final ThreadLocal<Block> blocks;
+
+	/**
+	 * Creates a buffered secure random with blocks of
+	 * {@link #DEFAULT_BLOCK_SIZE} bytes and no background refill.
+	 */
+	public BufferedSecureRandom() {
+		this(new SecureRandom(), DEFAULT_BLOCK_SIZE, false);
+	}
+
+	/**
+	 * Creates a buffered secure random.
+	 * 
+	 * @param random
+	 *            the secure random that provides the random bytes
+	 * @param blockSize
+	 *            the size of each block, from {@link #MIN_BLOCK_SIZE} to
+	 *            {@link #MAX_BLOCK_SIZE}, in multiples of 8
+	 * @param backgroundRefill
+	 *            true if the spare blocks should be filled in a background
+	 *            thread
+	 */
+	public BufferedSecureRandom(SecureRandom random, int blockSize, boolean backgroundRefill) {
+
+		if (random == null) {
+			throw new IllegalArgumentException("Null secure random.");
+		}
+		if (blockSize < MIN_BLOCK_SIZE || blockSize > MAX_BLOCK_SIZE || (blockSize & 7) != 0) {
+			throw new IllegalArgumentException(String.format("Invalid block size: %s.", blockSize));
+		}
+
+		this.random = random;
+		this.blockSize = blockSize;
+		this.backgroundRefill = backgroundRefill;
+		this.blocks = new ThreadLocal<Block>() {
+			@Override
+			protected Block initialValue() {
+				return new Block();
+			}
+		};
+	}
+
+	@Override
+	public String getAlgorithm() {
+		return this.random == null ? super.getAlgorithm() : this.random.getAlgorithm();
+	}
+
+	@Override
+	public void setSeed(long seed) {
+		// The constructor of java.util.Random calls this method before the
+		// fields are assigned.
+		if (this.random != null) {
+			this.random.setSeed(seed);
+		}
+	}
+
+	@Override
+	public void setSeed(byte[] seed) {
+		this.random.setSeed(seed);
+	}
+
+	@Override
+	public byte[] generateSeed(int numBytes) {
+		return this.random.generateSeed(numBytes);
+	}
+
+	@Override
+	public void nextBytes(byte[] bytes) {
+
+		if (bytes.length > this.blockSize) {
+			this.random.nextBytes(bytes);
+			return;
+		}
+
+		final Block block = this.blocks.get();
+
+		int offset = 0;
+		while (offset < bytes.length) {
+			if (block.position == this.blockSize) {
+				block.refill();
+			}
+			final int length = Math.min(bytes.length - offset, this.blockSize - block.position);
+			System.arraycopy(block.bytes, block.position, bytes, offset, length);
+			block.position += length;
+			offset += length;
+		}
+	}
+
+	@Override
+	public long nextLong() {
+
+		final Block block = this.blocks.get();
+
+		if (this.blockSize - block.position < 8) {
+			block.refill();
+		}
+
+		final byte[] bytes = block.bytes;
+		final int i = block.position;
+		block.position += 8;
+
+		return ((bytes[i] & 0xffL) << 56) | ((bytes[i + 1] & 0xffL) << 48) | ((bytes[i + 2] & 0xffL) << 40)
+				| ((bytes[i + 3] & 0xffL) << 32) | ((bytes[i + 4] & 0xffL) << 24) | ((bytes[i + 5] & 0xffL) << 16)
+				| ((bytes[i + 6] & 0xffL) << 8) | (bytes[i + 7] & 0xffL);
+	}
+
+	@Override
+	public int nextInt() {
+		return (int) (nextLong() >>> 32);
+	}
+
+	/**
+	 * The block of random bytes of a single thread.
+	 */
+	private final class Block implements Runnable {
+
+		private byte[] bytes;
+		private int position;
+
+		private byte[] spare;
+		private volatile boolean spareReady;
+		private volatile boolean refilling;
+
+		private Block() {
+			this.bytes = new byte[blockSize];
+			this.position = blockSize;
+			if (backgroundRefill) {
+				this.spare = new byte[blockSize];
+			}
+		}
+
+		/**
+		 * Replaces the exhausted block with new random bytes.
+		 */
+		private void refill() {
+			if (this.spare == null) {
+				random.nextBytes(this.bytes);
+			} else if (this.spareReady) {
+				final byte[] temp = this.bytes;
+				this.bytes = this.spare;
+				this.spare = temp;
+				this.spareReady = false;
+				this.schedule();
+			} else {
+				random.nextBytes(this.bytes);
+				this.schedule();
+			}
+			this.position = 0;
+		}
+
+		/**
+		 * Asks the background thread to fill the spare block, if it is not
+		 * already being filled.
+		 */
+		private void schedule() {
+			if (!this.refilling && !this.spareReady) {
+				this.refilling = true;
+				RefillExecutorLazyHolder.INSTANCE.execute(this);
+			}
+		}
+
+		@Override
+		public void run() {
+			try {
+				random.nextBytes(this.spare);
+				this.spareReady = true;
+			} finally {
+				this.refilling = false;
+			}
+		}
+	}
+
+	private static class RefillExecutorLazyHolder {
+		static final Executor INSTANCE = Executors.newSingleThreadExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "uuid-creator-secure-random-refill");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+}
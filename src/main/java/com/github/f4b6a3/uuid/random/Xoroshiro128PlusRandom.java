@@ -26,6 +26,8 @@ package com.github.f4b6a3.uuid.random;
 
 import java.util.Random;
 
+import com.github.f4b6a3.uuid.util.RandomUtil;
+
 /**
  * A subclass of {@link java.util.Random} that implements the Xoroshiro 128 Plus random
  * number generator.
@@ -38,11 +40,13 @@ public class Xoroshiro128PlusRandom extends Random {
 	private static final long serialVersionUID = -7444349550311614229L;
 	long[] seed = new long[2];
 
+	/**
+	 * Creates a generator with a random non-zero seed from
+	 * {@link java.security.SecureRandom}.
+	 */
 	public Xoroshiro128PlusRandom() {
-		long nanotime = System.nanoTime();
-		long hashcode = (long) this.hashCode();
-		this.seed[0] = (nanotime << 32) ^ (nanotime);
-		this.seed[1] = (hashcode << 32) ^ (hashcode);
+		this.seed[0] = RandomUtil.nextSeed();
+		this.seed[1] = RandomUtil.nextSeed();
 	}
 	
 	public Xoroshiro128PlusRandom(long[] seed) {
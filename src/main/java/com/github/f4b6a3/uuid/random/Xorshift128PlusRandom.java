@@ -26,6 +26,8 @@ package com.github.f4b6a3.uuid.random;
 
 import java.util.Random;
 
+import com.github.f4b6a3.uuid.util.RandomUtil;
+
 /**
  * A subclass of {@link java.util.Random} that implements the Xorshift 128 Plus random
  * number generator.
@@ -39,11 +41,13 @@ public class Xorshift128PlusRandom extends Random {
 	
 	long[] seed = new long[2];
 
+	/**
+	 * Creates a generator with a random non-zero seed from
+	 * {@link java.security.SecureRandom}.
+	 */
 	public Xorshift128PlusRandom() {
-		long nanotime = System.nanoTime();
-		long hashcode = (long) this.hashCode();
-		this.seed[0] = (nanotime << 32) ^ (nanotime);
-		this.seed[1] = (hashcode << 32) ^ (hashcode);
+		this.seed[0] = RandomUtil.nextSeed();
+		this.seed[1] = RandomUtil.nextSeed();
 	}
 	
 	public Xorshift128PlusRandom(long[] seed) {
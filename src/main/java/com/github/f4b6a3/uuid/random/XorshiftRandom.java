@@ -26,6 +26,8 @@ package com.github.f4b6a3.uuid.random;
 
 import java.util.Random;
 
+import com.github.f4b6a3.uuid.util.RandomUtil;
+
 /**
  * A subclass of {@link java.util.Random} that implements the Xorshift random
  * number generator.
@@ -35,18 +37,21 @@ import java.util.Random;
  * Reference:
  * 
  * George Marsaglia. 2003. Xorshift RNGs. Journal of Statistical Software 8, 14
- * (2003), 1–6. https://www.jstatsoft.org/article/view/v008i14
+ * (2003), 1-6. https://www.jstatsoft.org/article/view/v008i14
  * 
  */
 public class XorshiftRandom extends Random {
 
 	private static final long serialVersionUID = 5084310156945573858L;
 
-	private long seed = System.nanoTime();
+	private long seed;
 
+	/**
+	 * Creates a generator with a random non-zero seed from
+	 * {@link java.security.SecureRandom}.
+	 */
 	public XorshiftRandom() {
-		long nanotime = System.nanoTime();
-		this.seed = (nanotime << 32) ^ (nanotime);
+		this.seed = RandomUtil.nextSeed();
 	}
 	
 	public XorshiftRandom(long seed) {
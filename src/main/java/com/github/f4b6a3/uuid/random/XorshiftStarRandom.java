@@ -26,6 +26,8 @@ package com.github.f4b6a3.uuid.random;
 
 import java.util.Random;
 
+import com.github.f4b6a3.uuid.util.RandomUtil;
+
 /**
  * A subclass of {@link java.util.Random} that implements the Xorshift Star random
  * number generator.
@@ -39,9 +41,12 @@ public class XorshiftStarRandom extends Random {
 	
 	private long seed;
 
+	/**
+	 * Creates a generator with a random non-zero seed from
+	 * {@link java.security.SecureRandom}.
+	 */
 	public XorshiftStarRandom() {
-		long nanotime = System.nanoTime();
-		this.seed = (nanotime << 32) ^ (nanotime);
+		this.seed = RandomUtil.nextSeed();
 	}
 	
 	public XorshiftStarRandom(long seed) {
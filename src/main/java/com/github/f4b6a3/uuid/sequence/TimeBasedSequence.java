@@ -0,0 +1,469 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018-2019 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.f4b6a3.uuid.sequence;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.github.f4b6a3.uuid.clockseq.ClockSequenceStrategy;
+import com.github.f4b6a3.uuid.exception.UuidCreatorException;
+import com.github.f4b6a3.uuid.timestamp.StallStrategy;
+import com.github.f4b6a3.uuid.timestamp.TimestampStrategy;
+import com.github.f4b6a3.uuid.util.RandomUtil;
+import com.github.f4b6a3.uuid.util.TimestampUtil;
+
+/**
+ * This class is a lock-free equivalent of the pair of strategies
+ * {@code DefaultTimestampStrategy} and {@code DefaultClockSequenceStrategy}.
+ * 
+ * The system time, the timestamp counter, the last timestamp issued and the
+ * clock sequence are kept together in an immutable {@link State} that is
+ * swapped with a compare-and-set operation. Threads that lose the race simply
+ * retry with the winner's state, so no monitor is involved.
+ * 
+ * The rules are the same of the default strategies:
+ * 
+ * - The counter is reset to its low 8 bits when the system time advances;
+ * 
+ * - The counter is added to the system time to simulate a 100-nanosecond
+ * resolution;
+ * 
+ * - An overrun exception is thrown if the counter exceeds 9,999 within the same
+ * system time;
+ * 
+ * - The clock sequence is incremented if the new timestamp is not greater than
+ * the previous one;
+ * 
+ * - The clock sequence is incremented if the node identifier changes.
+ * 
+ * If a {@link ClockSequenceStrategy} is given, the clock sequence is taken
+ * from it whenever the system time or the node identifier changes, instead of
+ * being incremented here. The strategy is called once per system time, with
+ * the last timestamp that the system time can issue. So the state of a
+ * {@code DefaultClockSequenceStrategy} is kept up to date and stored on exit,
+ * without taking a lock for every UUID.
+ * 
+ * ### RFC-4122 - 4.2.1.2. System Clock Resolution
+ * 
+ * (4a) A high resolution timestamp can be simulated by keeping a count of the
+ * number of UUIDs that have been generated with the same value of the system
+ * time, and using it to construct the low order bits of the timestamp. The
+ * count will range between zero and the number of 100-nanosecond intervals per
+ * system time interval.
+ * 
+ * ### RFC-4122 - 4.2.1. Basic Algorithm
+ * 
+ * (6a) If the state was available, but the saved timestamp is later than the
+ * current timestamp, increment the clock sequence value.
+ * 
+ * (7b) If the state was available, but the saved node ID was different than
+ * the current node ID, increment the clock sequence.
+ */
+public class TimeBasedSequence {
+
+	private final AtomicReference<State> state;
+
+	private final ClockSequenceStrategy clockSequenceStrategy;
+
+	private final TimestampStrategy clock = new TimestampStrategy() {
+		@Override
+		public long getTimestamp() {
+			return getCurrentTime();
+		}
+	};
+
+	protected static final int COUNTER_MIN = 0;
+	protected static final int COUNTER_MAX = 9_999;
+
+	protected static final int COUNTER_OFFSET_MAX = 0xff; // 255
+
+	protected static final int SEQUENCE_MAX = 0x3fff;
+
+	protected static final long NODE_UNKNOWN = -1L;
+
+	protected static final String OVERRUN_MESSAGE = "The system overran the generator by requesting too many UUIDs.";
+
+	/**
+	 * This constructor initializes the counter with a random number between 0
+	 * and 255.
+	 * 
+	 * @param clockSequence
+	 *            the initial clock sequence
+	 */
+	public TimeBasedSequence(long clockSequence) {
+		this(RandomUtil.nextInt(COUNTER_OFFSET_MAX), clockSequence);
+	}
+
+	/**
+	 * This constructor receives the initial counter and clock sequence.
+	 * 
+	 * @param counter
+	 *            the initial counter
+	 * @param clockSequence
+	 *            the initial clock sequence
+	 */
+	public TimeBasedSequence(long counter, long clockSequence) {
+		this(counter, clockSequence, null);
+	}
+
+	/**
+	 * This constructor receives the initial clock sequence and the strategy
+	 * that hands out the next ones.
+	 * 
+	 * @param clockSequence
+	 *            the initial clock sequence
+	 * @param clockSequenceStrategy
+	 *            the clock sequence strategy
+	 */
+	public TimeBasedSequence(long clockSequence, ClockSequenceStrategy clockSequenceStrategy) {
+		this(RandomUtil.nextInt(COUNTER_OFFSET_MAX), clockSequence, clockSequenceStrategy);
+	}
+
+	/**
+	 * This constructor receives the initial counter, the initial clock sequence
+	 * and the strategy that hands out the next ones.
+	 * 
+	 * @param counter
+	 *            the initial counter
+	 * @param clockSequence
+	 *            the initial clock sequence
+	 * @param clockSequenceStrategy
+	 *            the clock sequence strategy, or null
+	 */
+	protected TimeBasedSequence(long counter, long clockSequence, ClockSequenceStrategy clockSequenceStrategy) {
+		this.state = new AtomicReference<>(new State(0, counter, 0, clockSequence & SEQUENCE_MAX, NODE_UNKNOWN, 0));
+		this.clockSequenceStrategy = clockSequenceStrategy;
+	}
+
+	/**
+	 * Returns the next state using the current system time.
+	 * 
+	 * @return the next state
+	 * 
+	 * @throws UuidCreatorException
+	 *             an overrun exception if more than 10 thousand UUIDs are
+	 *             requested within the same millisecond
+	 */
+	public State next() {
+		return this.advance(1, NODE_UNKNOWN, null);
+	}
+
+	/**
+	 * Returns the next state using the current system time, reserving a run
+	 * of consecutive timestamps.
+	 * 
+	 * The run stops at the last counter value of the current system time, so
+	 * it may be shorter than requested. All the timestamps of the run share
+	 * the same clock sequence.
+	 * 
+	 * @param count
+	 *            the maximum number of timestamps, greater than zero
+	 * @return the next state
+	 * 
+	 * @throws UuidCreatorException
+	 *             an overrun exception if more than 10 thousand UUIDs are
+	 *             requested within the same millisecond
+	 */
+	public State reserve(final int count) {
+		return this.advance(count, NODE_UNKNOWN, null);
+	}
+
+	/**
+	 * Returns the next state using the current system time and a node
+	 * identifier, reserving a run of consecutive timestamps.
+	 * 
+	 * The clock sequence is incremented if the node identifier is different
+	 * from the one of the previous state.
+	 * 
+	 * @param count
+	 *            the maximum number of timestamps, greater than zero
+	 * @param nodeIdentifier
+	 *            the node identifier
+	 * @return the next state
+	 * 
+	 * @throws UuidCreatorException
+	 *             an overrun exception if more than 10 thousand UUIDs are
+	 *             requested within the same millisecond
+	 */
+	public State reserve(final int count, final long nodeIdentifier) {
+		return this.advance(count, nodeIdentifier, null);
+	}
+
+	/**
+	 * Returns the next state using the current system time and a node
+	 * identifier, reserving a run of consecutive timestamps and waiting for
+	 * the next system time if the counter of the current one is exhausted.
+	 * 
+	 * @param count
+	 *            the maximum number of timestamps, greater than zero
+	 * @param nodeIdentifier
+	 *            the node identifier
+	 * @param stallStrategy
+	 *            the stall strategy used on overrun, or null to throw an
+	 *            exception right away
+	 * @return the next state
+	 * 
+	 * @throws UuidCreatorException
+	 *             an overrun exception if the counter is exhausted and the
+	 *             system time doesn't advance within the maximum wait time
+	 */
+	public State reserve(final int count, final long nodeIdentifier, final StallStrategy stallStrategy) {
+		return this.advance(count, nodeIdentifier, stallStrategy);
+	}
+
+	/**
+	 * Returns the next state using the current system time.
+	 * 
+	 * The system time is read after the previous state on every attempt, so a
+	 * thread that loses the race never retries with a time older than the
+	 * winner's. Otherwise it would take a stale time for a clock regression
+	 * and increment the clock sequence.
+	 * 
+	 * @param count
+	 *            the maximum number of timestamps, greater than zero
+	 * @param nodeIdentifier
+	 *            the node identifier, or {@link #NODE_UNKNOWN} to keep the
+	 *            previous one
+	 * @param stall
+	 *            the stall strategy, or null
+	 * @return the next state
+	 */
+	private State advance(final int count, final long nodeIdentifier, final StallStrategy stall) {
+		while (true) {
+			final State previous = this.state.get();
+			long time = this.getCurrentTime();
+			if (stall != null && time <= previous.time && previous.counter > COUNTER_MAX) {
+				// (3b) stall until the system clock catches up, or overrun
+				time = stall.awaitAfter(this.clock, previous.time);
+			}
+			final State next = this.next(previous, time, count, nodeIdentifier);
+			if (next != null) {
+				return next;
+			}
+		}
+	}
+
+	/**
+	 * Returns the next state for a given system time.
+	 * 
+	 * @param time
+	 *            the system time as a timestamp
+	 * @return the next state
+	 * 
+	 * @throws UuidCreatorException
+	 *             an overrun exception if more than 10 thousand UUIDs are
+	 *             requested within the same millisecond
+	 */
+	protected State next(final long time) {
+		return next(time, 1);
+	}
+
+	/**
+	 * Returns the next state for a given system time, reserving a run of
+	 * consecutive timestamps.
+	 * 
+	 * @param time
+	 *            the system time as a timestamp
+	 * @param count
+	 *            the maximum number of timestamps, greater than zero
+	 * @return the next state
+	 * 
+	 * @throws UuidCreatorException
+	 *             an overrun exception if more than 10 thousand UUIDs are
+	 *             requested within the same millisecond
+	 */
+	protected State next(final long time, final int count) {
+		while (true) {
+			final State next = this.next(this.state.get(), time, count, NODE_UNKNOWN);
+			if (next != null) {
+				return next;
+			}
+		}
+	}
+
+	/**
+	 * Tries to replace a state with the next one.
+	 * 
+	 * @param previous
+	 *            the previous state
+	 * @param time
+	 *            the system time as a timestamp
+	 * @param count
+	 *            the maximum number of timestamps, greater than zero
+	 * @param nodeIdentifier
+	 *            the node identifier, or {@link #NODE_UNKNOWN} to keep the
+	 *            previous one
+	 * @return the next state, or null if another thread replaced the previous
+	 *         state first
+	 * 
+	 * @throws UuidCreatorException
+	 *             an overrun exception if more than 10 thousand UUIDs are
+	 *             requested within the same millisecond
+	 */
+	private State next(final State previous, final long time, final int count, final long nodeIdentifier) {
+
+		final long node = nodeIdentifier == NODE_UNKNOWN ? previous.nodeIdentifier : nodeIdentifier;
+
+		long counter = previous.counter;
+		if (time > previous.time) {
+			counter &= COUNTER_OFFSET_MAX;
+		}
+
+		if (counter > COUNTER_MAX) {
+			// (3b) Too many requests
+			final State reset = new State(time, COUNTER_MIN, previous.timestamp, previous.clockSequence,
+					previous.nodeIdentifier, 0);
+			if (this.state.compareAndSet(previous, reset)) {
+				throw new UuidCreatorException(OVERRUN_MESSAGE);
+			}
+			return null;
+		}
+
+		final int reserved = (int) Math.min(count, COUNTER_MAX - counter + 1);
+
+		// (4a) simulate a high resolution timestamp
+		final long first = time + counter;
+
+		long clockSequence = previous.clockSequence;
+		if (this.clockSequenceStrategy != null) {
+			if (time != previous.time || node != previous.nodeIdentifier) {
+				// the strategy compares with the last timestamp it was given
+				clockSequence = this.getClockSequence(time + COUNTER_MAX, node);
+			}
+		} else if (first <= previous.timestamp
+				|| (node != previous.nodeIdentifier && previous.nodeIdentifier != NODE_UNKNOWN)) {
+			clockSequence = (clockSequence + 1) & SEQUENCE_MAX;
+		}
+
+		final State next = new State(time, counter + reserved, first + reserved - 1, clockSequence, node, reserved);
+		return this.state.compareAndSet(previous, next) ? next : null;
+	}
+
+	/**
+	 * Returns the clock sequence of the strategy.
+	 * 
+	 * The strategies are not thread safe, so the strategy is locked. It
+	 * happens once per system time, not once per UUID.
+	 * 
+	 * @param timestamp
+	 *            the last timestamp of the system time
+	 * @param nodeIdentifier
+	 *            the node identifier
+	 * @return a clock sequence
+	 */
+	private long getClockSequence(final long timestamp, final long nodeIdentifier) {
+		synchronized (this.clockSequenceStrategy) {
+			return this.clockSequenceStrategy.getClockSequence(timestamp, nodeIdentifier) & SEQUENCE_MAX;
+		}
+	}
+
+	/**
+	 * Returns the current system time as a timestamp.
+	 * 
+	 * @return a timestamp
+	 */
+	protected long getCurrentTime() {
+		return TimestampUtil.getCurrentTimestamp();
+	}
+
+	/**
+	 * Returns the last state returned by this sequence.
+	 * 
+	 * @return the current state
+	 */
+	public State current() {
+		return this.state.get();
+	}
+
+	/**
+	 * Immutable snapshot of the sequence.
+	 */
+	public static final class State {
+
+		private final long time;
+		private final long counter;
+		private final long timestamp;
+		private final long clockSequence;
+		private final long nodeIdentifier;
+		private final int count;
+
+		protected State(long time, long counter, long timestamp, long clockSequence, long nodeIdentifier, int count) {
+			this.time = time;
+			this.counter = counter;
+			this.timestamp = timestamp;
+			this.clockSequence = clockSequence;
+			this.nodeIdentifier = nodeIdentifier;
+			this.count = count;
+		}
+
+		/**
+		 * Returns the timestamp with the counter value added.
+		 * 
+		 * If a run of timestamps was reserved, it is the last one of the run.
+		 * 
+		 * @return a timestamp
+		 */
+		public long getTimestamp() {
+			return this.timestamp;
+		}
+
+		/**
+		 * Returns the first timestamp of the run.
+		 * 
+		 * @return a timestamp
+		 */
+		public long getFirstTimestamp() {
+			return this.timestamp - this.count + 1;
+		}
+
+		/**
+		 * Returns the number of timestamps of the run.
+		 * 
+		 * @return the number of timestamps
+		 */
+		public int getCount() {
+			return this.count;
+		}
+
+		/**
+		 * Returns the clock sequence.
+		 * 
+		 * @return a clock sequence
+		 */
+		public long getClockSequence() {
+			return this.clockSequence;
+		}
+
+		/**
+		 * Returns the node identifier, or {@link TimeBasedSequence#NODE_UNKNOWN}
+		 * if no node identifier was given yet.
+		 * 
+		 * @return a node identifier
+		 */
+		public long getNodeIdentifier() {
+			return this.nodeIdentifier;
+		}
+	}
+}
@@ -24,13 +24,23 @@
 
 package com.github.f4b6a3.uuid.state;
 
+import com.github.f4b6a3.uuid.util.SettingsUtil;
+
 public abstract class AbstractUuidState {
 
 	protected long timestamp = 0;
 	protected long clockSequence = 0;
 	protected long nodeIdentifier = 0;
 
+	/**
+	 * Lease interval in 100-nanosecond ticks, or zero if disabled.
+	 */
+	protected long leaseInterval = 0;
+
+	private static final long TICKS_PER_MILLI = 10_000;
+
 	public AbstractUuidState() {
+		this.leaseInterval = SettingsUtil.getStateLease() * TICKS_PER_MILLI;
 	}
 
 	public long getTimestamp() {
@@ -57,6 +67,113 @@ public abstract class AbstractUuidState {
 		this.nodeIdentifier = nodeIdentifier;
 	}
 
+	/**
+	 * Returns the lease interval in milliseconds, or zero if the lease is
+	 * disabled.
+	 * 
+	 * @return the lease interval
+	 */
+	public long getLeaseInterval() {
+		return this.leaseInterval / TICKS_PER_MILLI;
+	}
+
+	/**
+	 * Sets the lease interval in milliseconds. Zero disables the lease.
+	 * 
+	 * The default value comes from the setting {@code uuidcreator.state.lease}.
+	 * 
+	 * @param leaseInterval
+	 *            the lease interval
+	 */
+	public void setLeaseInterval(long leaseInterval) {
+		if (leaseInterval < 0) {
+			throw new IllegalArgumentException("Negative lease interval.");
+		}
+		this.leaseInterval = leaseInterval * TICKS_PER_MILLI;
+	}
+
+	/**
+	 * Returns true if the lease is enabled.
+	 * 
+	 * @return true if the lease is enabled
+	 */
+	public boolean isLeased() {
+		return this.leaseInterval > 0;
+	}
+
+	/**
+	 * Updates the state with the values used by the last UUID.
+	 * 
+	 * It is called by the clock sequence strategy for every timestamp, so it
+	 * must be cheap. Without lease, this implementation only keeps the values
+	 * in memory. Subclasses can override it to store the state periodically.
+	 * 
+	 * With lease, the stored timestamp is a high-water mark some distance
+	 * ahead of the current timestamp. The state is only stored again when a
+	 * timestamp reaches the mark, or when the clock sequence or the node
+	 * identifier changes. Since no UUID has a timestamp beyond the stored
+	 * mark, a restart after the mark keeps the clock sequence, even if the
+	 * state was not stored on exit.
+	 * 
+	 * ### RFC-4122 - 4.2.1.3. Writing Stable Storage
+	 * 
+	 * The timestamp only needs to be written to stable storage periodically.
+	 * If the stable store is written with a timestamp that is greater than any
+	 * actually generated, the generator can resume without risk after a
+	 * restart, as long as the clock passes it.
+	 * 
+	 * @param timestamp
+	 *            the last timestamp
+	 * @param clockSequence
+	 *            the current clock sequence
+	 * @param nodeIdentifier
+	 *            the current node identifier
+	 */
+	public void update(long timestamp, long clockSequence, long nodeIdentifier) {
+
+		if (this.isLeased()) {
+			if (timestamp >= this.timestamp || clockSequence != this.clockSequence
+					|| nodeIdentifier != this.nodeIdentifier) {
+				this.timestamp = timestamp + this.leaseInterval;
+				this.clockSequence = clockSequence;
+				this.nodeIdentifier = nodeIdentifier;
+				this.store();
+			}
+			return;
+		}
+
+		this.timestamp = timestamp;
+		this.clockSequence = clockSequence;
+		this.nodeIdentifier = nodeIdentifier;
+	}
+
+	/**
+	 * Returns true if the clock sequences are handed out by the state, instead
+	 * of being incremented by the clock sequence strategy.
+	 * 
+	 * A shared state hands out clock sequences that are not used by other
+	 * processes. See {@link SharedFileUuidState}.
+	 * 
+	 * @return true if the state hands out the clock sequences
+	 */
+	public boolean isShared() {
+		return false;
+	}
+
+	/**
+	 * Returns the next clock sequence to be used.
+	 * 
+	 * It is called by the clock sequence strategy only if
+	 * {@link #isShared()} returns true. This implementation just increments
+	 * the current clock sequence.
+	 * 
+	 * @return a clock sequence
+	 */
+	public long nextClockSequence() {
+		this.clockSequence = (this.clockSequence + 1) & 0x3fff;
+		return this.clockSequence;
+	}
+
 	public abstract void store();
 
 	public abstract void load();
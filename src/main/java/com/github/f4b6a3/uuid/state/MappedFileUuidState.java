@@ -0,0 +1,281 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018-2019 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.f4b6a3.uuid.state;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+import com.github.f4b6a3.uuid.util.SettingsUtil;
+
+/**
+ * A state stored in a small memory-mapped file.
+ * 
+ * The file has a fixed binary layout: a header with a magic number and a
+ * layout version, followed by two slots. Each slot has a sequence number, the
+ * timestamp, the node identifier, the clock sequence and a CRC-32 of these
+ * fields.
+ * 
+ * A store writes the slot that doesn't hold the latest state, so a write that
+ * is interrupted in the middle leaves the other slot intact. A load uses the
+ * valid slot with the highest sequence number.
+ * 
+ * The state is stored by {@link #update(long, long, long)} every N UUIDs or
+ * every N milliseconds, whichever comes first. Since the file is mapped, a
+ * store is a memory write. The operating system writes the page to disk even
+ * if the JVM is killed. Use the option {@code force} to also survive power
+ * failures, at the cost of a disk write per store.
+ * 
+ * ### RFC-4122 - 4.2.1.1. Reading Stable Storage
+ * 
+ * The state only needs to be read from stable storage once at boot time, if
+ * it is read into a system-wide shared volatile store (and updated whenever
+ * the stable store is updated).
+ * 
+ * ### RFC-4122 - 4.2.1.3. Writing Stable Storage
+ * 
+ * The clock sequence needs to be written to stable storage, but it only needs
+ * to be written when it changes. The timestamp only needs to be written to
+ * stable storage periodically.
+ */
+public class MappedFileUuidState extends AbstractUuidState {
+
+	private static final String FILE_NAME = "uuidcreator";
+	private static final String FILE_EXTENSION = "mapped.state";
+
+	protected static final int MAGIC = 0x55554944; // "UUID"
+	protected static final int LAYOUT_VERSION = 1;
+
+	protected static final int HEADER_SIZE = 16;
+	protected static final int SLOT_SIZE = 32;
+	protected static final int SLOT_DATA_SIZE = 28;
+	protected static final int FILE_SIZE = HEADER_SIZE + 2 * SLOT_SIZE;
+
+	public static final long DEFAULT_STORE_INTERVAL = 1000; // milliseconds
+	public static final long DEFAULT_STORE_COUNT = 10_000; // UUIDs
+
+	private static final long TICKS_PER_MILLI = 10_000;
+
+	private final String fileName;
+	private final long storeInterval;
+	private final long storeCount;
+	private final boolean force;
+
+	private MappedByteBuffer buffer;
+	private final CRC32 crc = new CRC32();
+	private final byte[] scratch = new byte[SLOT_DATA_SIZE];
+
+	private long sequence;
+	private int slot;
+	private long count;
+	private long lastStoredTimestamp;
+
+	private boolean valid;
+
+	/**
+	 * Creates a state in the state directory with the default cadence.
+	 */
+	public MappedFileUuidState() {
+		this(SettingsUtil.getStateDirectory(), DEFAULT_STORE_INTERVAL, DEFAULT_STORE_COUNT, false);
+	}
+
+	/**
+	 * Creates a state in a directory.
+	 * 
+	 * @param directory
+	 *            the directory of the state file
+	 * @param storeInterval
+	 *            the maximum interval between stores, in milliseconds
+	 * @param storeCount
+	 *            the maximum number of updates between stores
+	 * @param force
+	 *            true if each store should be forced to the disk
+	 */
+	public MappedFileUuidState(String directory, long storeInterval, long storeCount, boolean force) {
+		super();
+
+		if (storeInterval < 0 || storeCount < 1) {
+			throw new IllegalArgumentException("Invalid store cadence.");
+		}
+
+		this.fileName = String.join(".", String.join("/", directory, FILE_NAME), FILE_EXTENSION);
+		this.storeInterval = storeInterval * TICKS_PER_MILLI;
+		this.storeCount = storeCount;
+		this.force = force;
+
+		this.map();
+		this.load();
+	}
+
+	/**
+	 * Maps the state file, creating it if it doesn't exist.
+	 */
+	private void map() {
+		try (RandomAccessFile file = new RandomAccessFile(new File(this.fileName), "rw")) {
+			if (file.length() < FILE_SIZE) {
+				file.setLength(FILE_SIZE);
+			}
+			this.buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+		} catch (IOException e) {
+			// do nothing
+			this.buffer = null;
+		}
+	}
+
+	@Override
+	public synchronized void load() {
+
+		this.valid = false;
+
+		if (this.buffer == null) {
+			return;
+		}
+
+		if (this.buffer.getInt(0) != MAGIC || this.buffer.getInt(4) != LAYOUT_VERSION) {
+			this.format();
+			return;
+		}
+
+		int latest = -1;
+		for (int i = 0; i < 2; i++) {
+			final int offset = HEADER_SIZE + i * SLOT_SIZE;
+			if (this.checksum(offset) == this.buffer.getInt(offset + SLOT_DATA_SIZE)) {
+				final long slotSequence = this.buffer.getLong(offset);
+				if (latest < 0 || slotSequence > this.sequence) {
+					this.sequence = slotSequence;
+					latest = i;
+				}
+			}
+		}
+
+		if (latest < 0) {
+			return;
+		}
+
+		final int offset = HEADER_SIZE + latest * SLOT_SIZE;
+		this.slot = latest;
+		this.timestamp = this.buffer.getLong(offset + 8);
+		this.nodeIdentifier = this.buffer.getLong(offset + 16) & 0x0000FFFFFFFFFFFFL;
+		this.clockSequence = this.buffer.getInt(offset + 24) & 0x00003FFF;
+		this.lastStoredTimestamp = this.timestamp;
+
+		this.valid = this.timestamp != 0 && this.clockSequence != 0 && this.nodeIdentifier != 0;
+	}
+
+	@Override
+	public synchronized void store() {
+
+		if (this.buffer == null) {
+			return;
+		}
+
+		// write the slot that doesn't hold the latest state
+		final int next = this.slot ^ 1;
+		final int offset = HEADER_SIZE + next * SLOT_SIZE;
+
+		this.buffer.putLong(offset, this.sequence + 1);
+		this.buffer.putLong(offset + 8, this.timestamp);
+		this.buffer.putLong(offset + 16, this.nodeIdentifier);
+		this.buffer.putInt(offset + 24, (int) this.clockSequence);
+		this.buffer.putInt(offset + SLOT_DATA_SIZE, this.checksum(offset));
+
+		if (this.force) {
+			this.buffer.force();
+		}
+
+		this.sequence++;
+		this.slot = next;
+		this.count = 0;
+		this.lastStoredTimestamp = this.timestamp;
+	}
+
+	/**
+	 * Updates the state and stores it if the cadence was reached.
+	 * 
+	 * The state is stored immediately if the clock sequence or the node
+	 * identifier has changed.
+	 * 
+	 * If the lease is enabled, the cadence is ignored and the state is stored
+	 * when the lease expires. See
+	 * {@link AbstractUuidState#update(long, long, long)}.
+	 */
+	@Override
+	public synchronized void update(long timestamp, long clockSequence, long nodeIdentifier) {
+
+		if (this.isLeased()) {
+			super.update(timestamp, clockSequence, nodeIdentifier);
+			return;
+		}
+
+		final boolean changed = clockSequence != this.clockSequence || nodeIdentifier != this.nodeIdentifier;
+
+		this.timestamp = timestamp;
+		this.clockSequence = clockSequence;
+		this.nodeIdentifier = nodeIdentifier;
+
+		if (changed || ++this.count >= this.storeCount
+				|| timestamp - this.lastStoredTimestamp >= this.storeInterval) {
+			this.store();
+		}
+	}
+
+	@Override
+	public boolean isValid() {
+		return this.valid;
+	}
+
+	/**
+	 * Writes the header and clears the slots.
+	 */
+	private void format() {
+		for (int i = 0; i < FILE_SIZE; i++) {
+			this.buffer.put(i, (byte) 0);
+		}
+		this.buffer.putInt(0, MAGIC);
+		this.buffer.putInt(4, LAYOUT_VERSION);
+		this.sequence = 0;
+		this.slot = 1;
+	}
+
+	/**
+	 * Computes the CRC-32 of the data of a slot.
+	 * 
+	 * @param offset
+	 *            the offset of the slot
+	 * @return the checksum
+	 */
+	private int checksum(final int offset) {
+		for (int i = 0; i < SLOT_DATA_SIZE; i++) {
+			this.scratch[i] = this.buffer.get(offset + i);
+		}
+		this.crc.reset();
+		this.crc.update(this.scratch, 0, SLOT_DATA_SIZE);
+		return (int) this.crc.getValue();
+	}
+}
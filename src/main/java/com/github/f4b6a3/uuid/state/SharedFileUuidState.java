@@ -0,0 +1,289 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018-2019 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.f4b6a3.uuid.state;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+
+import com.github.f4b6a3.uuid.exception.UuidCreatorException;
+import com.github.f4b6a3.uuid.util.RandomUtil;
+import com.github.f4b6a3.uuid.util.SettingsUtil;
+
+/**
+ * A state shared by all processes of the same host.
+ * 
+ * The state is kept in a small memory-mapped file that is protected by a
+ * {@link FileLock}. Each process leases a block of clock sequences from a
+ * counter in the file, so two processes never use the same clock sequence,
+ * even if they use the same node identifier and the same timestamps. The lock
+ * is only taken when a block is leased or when the state is stored.
+ * 
+ * The clock sequences of a block are handed out by
+ * {@link #nextClockSequence()} when the clock goes backwards. When the block
+ * is exhausted, another block is leased.
+ * 
+ * There are 16,384 clock sequences, so the counter wraps around. While a
+ * process uses a block, it holds a lock on a region of the file that
+ * represents the block, one byte for each clock sequence. The operating
+ * system releases the lock when the process ends. A block that is still
+ * locked is skipped when the counter wraps around, and if all the blocks are
+ * locked, leasing fails with an exception.
+ * 
+ * ### RFC-4122 - 4.2.1. Basic Algorithm
+ * 
+ * (1a) Obtain a system-wide global lock
+ * 
+ * (8a) Release the global lock
+ */
+public class SharedFileUuidState extends AbstractUuidState {
+
+	private static final String FILE_NAME = "uuidcreator";
+	private static final String FILE_EXTENSION = "shared.state";
+
+	protected static final int MAGIC = 0x55554944; // "UUID"
+	protected static final int LAYOUT_VERSION = 1;
+
+	protected static final int OFFSET_COUNTER = 8;
+	protected static final int OFFSET_TIMESTAMP = 16;
+	protected static final int OFFSET_NODEID = 24;
+	protected static final int FILE_SIZE = 32;
+
+	// the locks of the blocks are beyond the mapped region
+	protected static final int OFFSET_BLOCKS = FILE_SIZE;
+
+	protected static final int SEQUENCE_MASK = 0x3fff;
+	protected static final int MAX_BLOCK_SIZE = 1024;
+
+	public static final int DEFAULT_BLOCK_SIZE = 16;
+
+	/**
+	 * A JVM can't hold two overlapping locks of the same file, so the
+	 * instances of the same JVM take turns.
+	 */
+	private static final Object MONITOR = new Object();
+
+	private final String fileName;
+	private final int blockSize;
+
+	private RandomAccessFile file;
+	private MappedByteBuffer buffer;
+
+	private long blockNext;
+	private long blockEnd;
+	private FileLock blockLock;
+
+	/**
+	 * Creates a shared state in the state directory with blocks of
+	 * {@link #DEFAULT_BLOCK_SIZE} clock sequences.
+	 */
+	public SharedFileUuidState() {
+		this(SettingsUtil.getStateDirectory(), DEFAULT_BLOCK_SIZE);
+	}
+
+	/**
+	 * Creates a shared state in a directory.
+	 * 
+	 * @param directory
+	 *            the directory of the state file
+	 * @param blockSize
+	 *            the number of clock sequences leased at once, a power of 2
+	 *            from 1 to 1024
+	 */
+	public SharedFileUuidState(String directory, int blockSize) {
+		super();
+
+		if (blockSize < 1 || blockSize > MAX_BLOCK_SIZE || Integer.bitCount(blockSize) != 1) {
+			throw new IllegalArgumentException(String.format("Invalid block size: %s.", blockSize));
+		}
+
+		this.fileName = String.join(".", String.join("/", directory, FILE_NAME), FILE_EXTENSION);
+		this.blockSize = blockSize;
+
+		this.map();
+		this.load();
+	}
+
+	/**
+	 * Maps the state file, creating it if it doesn't exist.
+	 * 
+	 * The file is kept open, since closing it would release the locks.
+	 */
+	private void map() {
+		try {
+			this.file = new RandomAccessFile(new File(this.fileName), "rw");
+			this.buffer = this.file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+		} catch (IOException e) {
+			throw new UuidCreatorException(String.format("Unable to open the shared state: %s.", this.fileName));
+		}
+	}
+
+	/**
+	 * Returns true, because this state hands out the clock sequences.
+	 */
+	@Override
+	public boolean isShared() {
+		return true;
+	}
+
+	/**
+	 * Returns the next clock sequence of the block leased by this process.
+	 * 
+	 * A new block is leased when the current block is exhausted.
+	 */
+	@Override
+	public synchronized long nextClockSequence() {
+		if (this.blockNext == this.blockEnd) {
+			this.lease();
+		}
+		this.clockSequence = this.blockNext++ & SEQUENCE_MASK;
+		return this.clockSequence;
+	}
+
+	/**
+	 * Leases a block of clock sequences from the shared counter.
+	 * 
+	 * The blocks still in use by other processes are skipped. The block
+	 * previously used by this process is released after the new one is
+	 * leased.
+	 * 
+	 * @throws UuidCreatorException
+	 *             if all the blocks are in use
+	 */
+	@SuppressWarnings("try")
+	private void lease() {
+		synchronized (MONITOR) {
+			try (FileLock lock = this.file.getChannel().lock(0, FILE_SIZE, false)) {
+				this.prepare();
+				final int blocks = (SEQUENCE_MASK + 1) / this.blockSize;
+				for (int i = 0; i <= blocks; i++) {
+
+					long start = this.buffer.getLong(OFFSET_COUNTER) & SEQUENCE_MASK;
+					if (start + this.blockSize > SEQUENCE_MASK + 1) {
+						// a block doesn't wrap around
+						start = 0;
+					}
+					this.buffer.putLong(OFFSET_COUNTER, (start + this.blockSize) & SEQUENCE_MASK);
+
+					final FileLock acquired = this.tryLockBlock(start);
+					if (acquired != null) {
+						if (this.blockLock != null) {
+							this.blockLock.release();
+						}
+						this.blockLock = acquired;
+						this.blockNext = start;
+						this.blockEnd = start + this.blockSize;
+						return;
+					}
+				}
+			} catch (IOException e) {
+				throw new UuidCreatorException(String.format("Unable to lock the shared state: %s.", this.fileName));
+			}
+		}
+		throw new UuidCreatorException(
+				String.format("All the clock sequences of the shared state are in use: %s.", this.fileName));
+	}
+
+	/**
+	 * Tries to lock the region of the file that represents a block.
+	 * 
+	 * @param start
+	 *            the first clock sequence of the block
+	 * @return the lock, or null if the block is in use by another process or
+	 *         by another instance of this JVM
+	 * @throws IOException
+	 *             if an I/O error occurs
+	 */
+	private FileLock tryLockBlock(final long start) throws IOException {
+		try {
+			return this.file.getChannel().tryLock(OFFSET_BLOCKS + start, this.blockSize, false);
+		} catch (OverlappingFileLockException e) {
+			return null;
+		}
+	}
+
+	@SuppressWarnings("try")
+	@Override
+	public synchronized void load() {
+		synchronized (MONITOR) {
+			try (FileLock lock = this.file.getChannel().lock(0, FILE_SIZE, false)) {
+				this.prepare();
+				this.timestamp = this.buffer.getLong(OFFSET_TIMESTAMP);
+				this.nodeIdentifier = this.buffer.getLong(OFFSET_NODEID);
+			} catch (IOException e) {
+				throw new UuidCreatorException(String.format("Unable to lock the shared state: %s.", this.fileName));
+			}
+		}
+	}
+
+	/**
+	 * Stores the greatest timestamp of all processes and the node identifier.
+	 */
+	@SuppressWarnings("try")
+	@Override
+	public synchronized void store() {
+		synchronized (MONITOR) {
+			try (FileLock lock = this.file.getChannel().lock(0, FILE_SIZE, false)) {
+				this.prepare();
+				if (this.timestamp > this.buffer.getLong(OFFSET_TIMESTAMP)) {
+					this.buffer.putLong(OFFSET_TIMESTAMP, this.timestamp);
+				}
+				this.buffer.putLong(OFFSET_NODEID, this.nodeIdentifier);
+			} catch (IOException e) {
+				// do nothing
+			}
+		}
+	}
+
+	/**
+	 * The state is always valid, since the clock sequences are leased from the
+	 * shared counter.
+	 */
+	@Override
+	public boolean isValid() {
+		return true;
+	}
+
+	/**
+	 * Initializes the file if it is new or has an unknown layout. The counter
+	 * starts at a random multiple of the maximum block size. Must be called
+	 * with the lock held.
+	 */
+	private void prepare() {
+		if (this.buffer.getInt(0) != MAGIC || this.buffer.getInt(4) != LAYOUT_VERSION) {
+			this.buffer.putLong(OFFSET_COUNTER,
+					RandomUtil.nextInt((SEQUENCE_MASK + 1) / MAX_BLOCK_SIZE) * MAX_BLOCK_SIZE);
+			this.buffer.putLong(OFFSET_TIMESTAMP, 0);
+			this.buffer.putLong(OFFSET_NODEID, 0);
+			this.buffer.putInt(4, LAYOUT_VERSION);
+			this.buffer.putInt(0, MAGIC);
+		}
+	}
+}
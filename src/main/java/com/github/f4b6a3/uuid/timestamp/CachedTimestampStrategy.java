@@ -0,0 +1,206 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018-2019 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.f4b6a3.uuid.timestamp;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import com.github.f4b6a3.uuid.util.TimestampUtil;
+
+/**
+ * This is an implementation of {@link TimestampStrategy} that reads the system
+ * time from a cache instead of calling {@link System#currentTimeMillis()} at
+ * every request.
+ * 
+ * A background daemon thread reads the system time at a fixed tick interval and
+ * publishes it into a volatile field. Reading the system time is then a plain
+ * memory read. It helps on hosts where reading the clock is a slow system call.
+ * 
+ * The counter, the overrun and the clock regression policy are the same of
+ * {@link DefaultTimestampStrategy}. The timestamps are behind the system time
+ * by up to one tick interval, or more if the background thread is delayed. The
+ * delay is measured at every tick and reported by {@link #getMaxDrift()}.
+ * 
+ * The background thread is shared by all instances. An instance stops being
+ * updated when {@link #close()} is called or when it is garbage collected.
+ * 
+ */
+public class CachedTimestampStrategy extends DefaultTimestampStrategy {
+
+	public static final long DEFAULT_TICK_INTERVAL = 1; // milliseconds
+
+	private final long tickInterval;
+
+	private volatile long cachedTimestamp;
+	private volatile long maxDrift = 0;
+
+	private final ScheduledFuture<?> ticker;
+
+	public CachedTimestampStrategy() {
+		this(DEFAULT_TICK_INTERVAL);
+	}
+
+	/**
+	 * Creates a strategy with a tick interval.
+	 * 
+	 * @param tickInterval
+	 *            the interval in milliseconds between system time reads
+	 */
+	public CachedTimestampStrategy(long tickInterval) {
+		this(tickInterval, RegressionPolicy.DEFAULT, DEFAULT_MAX_BORROW, null);
+	}
+
+	/**
+	 * Creates a strategy with a tick interval, a clock regression policy and a
+	 * stall strategy.
+	 * 
+	 * @param tickInterval
+	 *            the interval in milliseconds between system time reads
+	 * @param regressionPolicy
+	 *            the policy for when the system clock goes backwards
+	 * @param maxBorrow
+	 *            the maximum distance in milliseconds that the timestamps can
+	 *            be ahead of the system clock, used by
+	 *            {@link RegressionPolicy#BORROW}
+	 * @param stallStrategy
+	 *            the stall strategy used on overrun, or null to throw an
+	 *            exception right away
+	 */
+	public CachedTimestampStrategy(long tickInterval, RegressionPolicy regressionPolicy, long maxBorrow,
+			StallStrategy stallStrategy) {
+		super(regressionPolicy, maxBorrow, stallStrategy);
+
+		if (tickInterval <= 0) {
+			throw new IllegalArgumentException("Tick interval must be positive.");
+		}
+
+		this.tickInterval = tickInterval;
+		this.cachedTimestamp = TimestampUtil.getCurrentTimestamp();
+		this.ticker = TickerLazyHolder.INSTANCE.scheduleAtFixedRate(new Tick(this), tickInterval, tickInterval,
+				TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Returns the system time read by the background thread.
+	 * 
+	 * @return a timestamp
+	 */
+	@Override
+	protected long getCurrentTimestamp() {
+		return this.cachedTimestamp;
+	}
+
+	/**
+	 * Reads the system time and publishes it.
+	 */
+	protected void tick() {
+		final long current = TimestampUtil.getCurrentTimestamp();
+		final long drift = current - this.cachedTimestamp;
+		if (drift > this.maxDrift) {
+			this.maxDrift = drift;
+		}
+		this.cachedTimestamp = current;
+	}
+
+	/**
+	 * Returns the tick interval.
+	 * 
+	 * @return the interval in milliseconds
+	 */
+	public long getTickInterval() {
+		return this.tickInterval;
+	}
+
+	/**
+	 * Returns how far the cached time is behind the system time right now.
+	 * 
+	 * @return the difference in 100-nanosecond intervals
+	 */
+	public long getDrift() {
+		return TimestampUtil.getCurrentTimestamp() - this.cachedTimestamp;
+	}
+
+	/**
+	 * Returns the largest difference between the cached time and the system
+	 * time seen by the background thread before publishing a new time.
+	 * 
+	 * It is about one tick interval if the background thread runs on time.
+	 * 
+	 * @return the difference in 100-nanosecond intervals
+	 */
+	public long getMaxDrift() {
+		return this.maxDrift;
+	}
+
+	/**
+	 * Stops the updates of the cached time.
+	 * 
+	 * After that the timestamps stay at the last system time read, so the
+	 * strategy is overrun as soon as the counter is exhausted.
+	 */
+	public void close() {
+		this.ticker.cancel(false);
+	}
+
+	/**
+	 * The task of the background thread. It doesn't keep the strategy from
+	 * being garbage collected.
+	 */
+	private static final class Tick implements Runnable {
+
+		private final WeakReference<CachedTimestampStrategy> reference;
+
+		private Tick(CachedTimestampStrategy strategy) {
+			this.reference = new WeakReference<>(strategy);
+		}
+
+		@Override
+		public void run() {
+			final CachedTimestampStrategy strategy = this.reference.get();
+			if (strategy == null) {
+				// throwing cancels the periodic task
+				throw new IllegalStateException("Strategy collected.");
+			}
+			strategy.tick();
+		}
+	}
+
+	private static class TickerLazyHolder {
+		static final ScheduledExecutorService INSTANCE = Executors
+				.newSingleThreadScheduledExecutor(new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread(runnable, "uuid-creator-clock-ticker");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+	}
+}
@@ -56,6 +56,19 @@ import com.github.f4b6a3.uuid.util.TimestampUtil;
  * single system time interval, the UUID service MUST either return an error, or
  * stall the UUID generator until the system clock catches up.
  * 
+ * ### Clock regression
+ * 
+ * The way this strategy reacts when the system clock goes backwards, for
+ * example, when NTP steps the clock or a VM is migrated, is defined by a
+ * {@link RegressionPolicy}. See {@link RegressionPolicy} for details.
+ * 
+ * ### Overrun
+ * 
+ * By default an exception is thrown if more than 10 thousand UUIDs are
+ * requested within the same millisecond. If a {@link StallStrategy} is given,
+ * the strategy waits for the next millisecond instead, and throws only if the
+ * clock doesn't move within the maximum wait time of the {@link StallStrategy}.
+ * 
  */
 public class DefaultTimestampStrategy extends AbstractSequence implements TimestampStrategy {
 
@@ -66,23 +79,362 @@ public class DefaultTimestampStrategy extends AbstractSequence implements Timest
 
 	protected static final int COUNTER_OFFSET_MAX = 0xff; // 255
 
+	protected static final long TICKS_PER_MILLI = 10_000;
+
+	public static final long DEFAULT_MAX_BORROW = 1_000; // milliseconds
+
 	protected static final String OVERRUN_MESSAGE = "The system overran the generator by requesting too many UUIDs.";
 
+	/**
+	 * Policies for when the system clock goes backwards.
+	 */
+	public enum RegressionPolicy {
+
+		/**
+		 * The timestamps follow the system clock backwards. The counter keeps
+		 * incrementing and the clock sequence strategy changes the clock
+		 * sequence. It is the behavior described by the RFC-4122.
+		 */
+		DEFAULT,
+
+		/**
+		 * The timestamps stay pinned to the last timestamp while the system
+		 * clock is behind it. When the counter of the pinned timestamp is
+		 * exhausted, the next millisecond is borrowed from the future, as long
+		 * as the timestamp stays no more than a maximum distance ahead of the
+		 * system clock. The timestamps never go backwards, so the clock
+		 * sequence doesn't change.
+		 * 
+		 * Borrowing also happens when more than 10 thousand UUIDs are
+		 * requested within the same millisecond, instead of an overrun.
+		 */
+		BORROW,
+
+		/**
+		 * When the system clock goes backwards, the timestamps are derived
+		 * from {@link System#nanoTime()}, starting from the last timestamp,
+		 * until the system clock catches up.
+		 */
+		NANOTIME
+	}
+
+	private final RegressionPolicy regressionPolicy;
+	private final long maxBorrow;
+	private final StallStrategy stallStrategy;
+
+	private long lastCurrentTimestamp = 0;
+
+	private boolean anchored = false;
+	private long anchorTimestamp = 0;
+	private long anchorNanos = 0;
+
+	private volatile long regressions = 0;
+	private volatile long borrows = 0;
+	private volatile long fallbacks = 0;
+
 	public DefaultTimestampStrategy() {
+		this(RegressionPolicy.DEFAULT, DEFAULT_MAX_BORROW);
+	}
+
+	/**
+	 * Creates a strategy with a clock regression policy.
+	 * 
+	 * @param regressionPolicy
+	 *            the policy for when the system clock goes backwards
+	 * @param maxBorrow
+	 *            the maximum distance in milliseconds that the timestamps can
+	 *            be ahead of the system clock, used by
+	 *            {@link RegressionPolicy#BORROW}
+	 */
+	public DefaultTimestampStrategy(RegressionPolicy regressionPolicy, long maxBorrow) {
+		this(regressionPolicy, maxBorrow, null);
+	}
+
+	/**
+	 * Creates a strategy with a clock regression policy that waits for the next
+	 * millisecond when it is overrun.
+	 * 
+	 * @param regressionPolicy
+	 *            the policy for when the system clock goes backwards
+	 * @param maxBorrow
+	 *            the maximum distance in milliseconds that the timestamps can
+	 *            be ahead of the system clock, used by
+	 *            {@link RegressionPolicy#BORROW}
+	 * @param stallStrategy
+	 *            the stall strategy used on overrun, or null to throw an
+	 *            exception right away
+	 */
+	public DefaultTimestampStrategy(RegressionPolicy regressionPolicy, long maxBorrow,
+			StallStrategy stallStrategy) {
 		super(COUNTER_MIN, COUNTER_MAX);
 		this.value = RandomUtil.nextInt(COUNTER_OFFSET_MAX);
+
+		if (regressionPolicy == null) {
+			throw new IllegalArgumentException("Null regression policy.");
+		}
+		if (maxBorrow < 0) {
+			throw new IllegalArgumentException("Negative maximum borrow.");
+		}
+
+		this.regressionPolicy = regressionPolicy;
+		this.maxBorrow = maxBorrow * TICKS_PER_MILLI;
+		this.stallStrategy = stallStrategy;
 	}
 
 	@Override
 	public long getTimestamp() {
 
-		final long timestamp = TimestampUtil.getCurrentTimestamp();
+		final long timestamp = this.getNextBaseTimestamp(this.stallStrategy);
 		final long counter = getNextCounter(timestamp);
 
 		// (4a) simulate a high resolution timestamp
 		return timestamp + counter;
 	}
 
+	/**
+	 * Writes a run of consecutive timestamps into an array.
+	 * 
+	 * The system time is read once and the counter is advanced once for the
+	 * whole run. The run stops at the last counter value of the current system
+	 * time, so fewer timestamps than requested may be written. The result is
+	 * the same as calling {@link #getTimestamp()} many times within the same
+	 * system time interval.
+	 * 
+	 * @param timestamps
+	 *            an array of timestamps
+	 * @param offset
+	 *            the first position of the array
+	 * @param count
+	 *            the maximum number of timestamps
+	 * @return the number of timestamps written
+	 * 
+	 * @throws UuidCreatorException
+	 *             an overrun exception if more than 10 thousand UUIDs are
+	 *             requested within the same millisecond
+	 */
+	public int getTimestamps(final long[] timestamps, final int offset, final int count) {
+		return this.getTimestamps(timestamps, offset, count, this.stallStrategy);
+	}
+
+	/**
+	 * Writes a run of consecutive timestamps into an array, waiting for the
+	 * next system time with a given {@link StallStrategy} if the counter of the
+	 * previous one is exhausted.
+	 * 
+	 * It's used by bulk generation, which may need many system time intervals
+	 * to fill the array even if this strategy has no stall strategy of its own.
+	 * 
+	 * @param timestamps
+	 *            an array of timestamps
+	 * @param offset
+	 *            the first position of the array
+	 * @param count
+	 *            the maximum number of timestamps
+	 * @param stallStrategy
+	 *            the stall strategy used on overrun, or null to throw an
+	 *            exception right away
+	 * @return the number of timestamps written
+	 * 
+	 * @throws UuidCreatorException
+	 *             an overrun exception if the counter is exhausted and the
+	 *             system time doesn't advance within the maximum wait time
+	 */
+	public int getTimestamps(final long[] timestamps, final int offset, final int count,
+			final StallStrategy stallStrategy) {
+
+		final long timestamp = this.getNextBaseTimestamp(stallStrategy);
+		final long counter = getNextCounter(timestamp);
+
+		final int reserved = (int) Math.min(count, maxValue - counter + 1);
+		for (int i = 0; i < reserved; i++) {
+			// (4a) simulate a high resolution timestamp
+			timestamps[offset + i] = timestamp + counter + i;
+		}
+
+		this.value = counter + reserved;
+		return reserved;
+	}
+
+	/**
+	 * Returns the system time as a timestamp with millisecond accuracy.
+	 * 
+	 * @return a timestamp
+	 */
+	protected long getCurrentTimestamp() {
+		return TimestampUtil.getCurrentTimestamp();
+	}
+
+	/**
+	 * Returns the system time after applying the regression policy.
+	 * 
+	 * @return a timestamp
+	 */
+	protected long getBaseTimestamp() {
+
+		final long current = this.getCurrentTimestamp();
+
+		if (current < this.lastCurrentTimestamp) {
+			this.regressions++;
+		}
+		this.lastCurrentTimestamp = current;
+
+		switch (this.regressionPolicy) {
+		case BORROW:
+			return this.borrow(current);
+		case NANOTIME:
+			return this.anchor(current);
+		default:
+			return current;
+		}
+	}
+
+	/**
+	 * Returns the base timestamp, waiting for the next one if the counter of
+	 * the previous timestamp is exhausted and a {@link StallStrategy} is given.
+	 * 
+	 * @param stall
+	 *            the stall strategy, or null
+	 * @return a timestamp
+	 */
+	private long getNextBaseTimestamp(final StallStrategy stall) {
+
+		long timestamp = this.getBaseTimestamp();
+
+		if (stall == null || timestamp != this.previousTimestamp || this.value <= this.maxValue) {
+			return timestamp;
+		}
+
+		// (3b) stall until the system clock catches up
+		final long start = System.nanoTime();
+		for (int attempt = 0; timestamp == this.previousTimestamp; attempt++) {
+			if (!stall.pause(attempt, start)) {
+				// give up: next() throws the overrun exception
+				stall.end(start, true);
+				return timestamp;
+			}
+			timestamp = this.getBaseTimestamp();
+		}
+		stall.end(start, false);
+
+		return timestamp;
+	}
+
+	/**
+	 * Keeps the timestamp pinned to the previous one while the system time is
+	 * behind it, and borrows the next millisecond if the counter is exhausted.
+	 * 
+	 * @param current
+	 *            the system time
+	 * @return a timestamp
+	 */
+	private long borrow(final long current) {
+
+		if (this.previousTimestamp - current > this.maxBorrow) {
+			// too far behind: give up and follow the system clock
+			return current;
+		}
+
+		long timestamp = Math.max(current, this.previousTimestamp);
+
+		if (timestamp == this.previousTimestamp && this.value > this.maxValue) {
+			final long next = this.previousTimestamp + TICKS_PER_MILLI;
+			if (next - current <= this.maxBorrow) {
+				this.borrows++;
+				timestamp = next;
+			}
+		}
+
+		return timestamp;
+	}
+
+	/**
+	 * Derives the timestamp from {@link System#nanoTime()} while the system
+	 * time is behind the previous timestamp.
+	 * 
+	 * @param current
+	 *            the system time
+	 * @return a timestamp
+	 */
+	private long anchor(final long current) {
+
+		if (this.anchored) {
+			final long elapsed = (System.nanoTime() - this.anchorNanos) / 1_000_000;
+			final long monotonic = this.anchorTimestamp + (elapsed * TICKS_PER_MILLI);
+			if (current >= monotonic) {
+				this.anchored = false;
+				return current;
+			}
+			return monotonic;
+		}
+
+		if (current < this.previousTimestamp) {
+			this.fallbacks++;
+			this.anchored = true;
+			this.anchorTimestamp = this.previousTimestamp;
+			this.anchorNanos = System.nanoTime();
+			return this.previousTimestamp;
+		}
+
+		return current;
+	}
+
+	/**
+	 * Returns the regression policy.
+	 * 
+	 * @return the regression policy
+	 */
+	public RegressionPolicy getRegressionPolicy() {
+		return this.regressionPolicy;
+	}
+
+	/**
+	 * Returns the maximum distance in milliseconds that the timestamps can be
+	 * ahead of the system clock.
+	 * 
+	 * @return the maximum borrow
+	 */
+	public long getMaxBorrow() {
+		return this.maxBorrow / TICKS_PER_MILLI;
+	}
+
+	/**
+	 * Returns the stall strategy used on overrun.
+	 * 
+	 * @return the stall strategy, or null if none is used
+	 */
+	public StallStrategy getStallStrategy() {
+		return this.stallStrategy;
+	}
+
+	/**
+	 * Returns how many times the system clock was seen going backwards.
+	 * 
+	 * @return the number of clock regressions
+	 */
+	public long getRegressions() {
+		return this.regressions;
+	}
+
+	/**
+	 * Returns how many milliseconds were borrowed from the future by the
+	 * policy {@link RegressionPolicy#BORROW}.
+	 * 
+	 * @return the number of borrowed milliseconds
+	 */
+	public long getBorrows() {
+		return this.borrows;
+	}
+
+	/**
+	 * Returns how many times the policy {@link RegressionPolicy#NANOTIME}
+	 * switched to {@link System#nanoTime()}.
+	 * 
+	 * @return the number of fallbacks
+	 */
+	public long getFallbacks() {
+		return this.fallbacks;
+	}
+
 	/**
 	 * Get the next counter value.
 	 * 
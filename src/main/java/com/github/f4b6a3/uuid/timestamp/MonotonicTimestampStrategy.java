@@ -0,0 +1,227 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018-2019 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.f4b6a3.uuid.timestamp;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.f4b6a3.uuid.util.TimestampUtil;
+
+/**
+ * This is an implementation of {@link TimestampStrategy} that provides
+ * 100-nanosecond resolution and never goes backwards.
+ * 
+ * The system time is read once, when the first timestamp is requested. After that the
+ * timestamps are derived from the time elapsed since then, measured by
+ * {@link System#nanoTime()}. Every timestamp is greater than the previous one,
+ * even if it is requested by another thread, so the counter of
+ * {@link DefaultTimestampStrategy} and the changes of clock sequence are
+ * rarely needed.
+ * 
+ * The strategy is resynchronized with the system time periodically. The
+ * difference is not corrected at once. Instead, the timestamps run a little
+ * faster or slower until the difference is gone, like NTP slewing. The speed
+ * change is limited by a maximum slew rate in parts per million. The
+ * timestamps don't jump, even if the system time does. A system time within
+ * the same millisecond of the timestamp is not a difference, since the system
+ * time has millisecond resolution.
+ * 
+ */
+public class MonotonicTimestampStrategy implements TimestampStrategy {
+
+	public static final long DEFAULT_RESYNC_INTERVAL = 1_000; // milliseconds
+	public static final long DEFAULT_MAX_SLEW = 500; // parts per million
+
+	protected static final long TICKS_PER_MILLI = 10_000;
+	protected static final long NANOS_PER_TICK = 100;
+	protected static final long NANOS_PER_MILLI = 1_000_000;
+	protected static final long PARTS_PER_MILLION = 1_000_000;
+
+	private final long resyncInterval;
+	private final long maxSlew;
+
+	private volatile Anchor anchor;
+	private volatile long drift = 0;
+
+	private final AtomicLong previous = new AtomicLong();
+
+	public MonotonicTimestampStrategy() {
+		this(DEFAULT_RESYNC_INTERVAL, DEFAULT_MAX_SLEW);
+	}
+
+	/**
+	 * Creates a strategy with a resync interval and a maximum slew rate.
+	 * 
+	 * @param resyncInterval
+	 *            the interval in milliseconds between resyncs with the system
+	 *            time
+	 * @param maxSlew
+	 *            the maximum slew rate in parts per million, from 1 to 999,999
+	 */
+	public MonotonicTimestampStrategy(long resyncInterval, long maxSlew) {
+
+		if (resyncInterval <= 0) {
+			throw new IllegalArgumentException("Resync interval must be positive.");
+		}
+		if (maxSlew <= 0 || maxSlew >= PARTS_PER_MILLION) {
+			throw new IllegalArgumentException(
+					String.format("Maximum slew rate out of range [1, %s].", PARTS_PER_MILLION - 1));
+		}
+
+		this.resyncInterval = resyncInterval * NANOS_PER_MILLI;
+		this.maxSlew = maxSlew;
+	}
+
+	@Override
+	public long getTimestamp() {
+
+		final long nanos = this.getNanoTime();
+
+		Anchor a = this.anchor;
+		if (a == null || nanos - a.nanos >= this.resyncInterval) {
+			a = this.resync(nanos);
+		}
+
+		final long timestamp = a.timestamp(nanos, this.maxSlew);
+
+		long last;
+		long next;
+		do {
+			last = this.previous.get();
+			next = timestamp > last ? timestamp : last + 1;
+		} while (!this.previous.compareAndSet(last, next));
+
+		return next;
+	}
+
+	/**
+	 * Measures the difference to the system time and starts slewing it.
+	 * 
+	 * @param nanos
+	 *            the current value of {@link System#nanoTime()}
+	 * @return the new anchor
+	 */
+	private synchronized Anchor resync(final long nanos) {
+
+		Anchor a = this.anchor;
+		if (a == null) {
+			// the first call reads the system time
+			a = new Anchor(this.getCurrentTimestamp(), nanos, 0);
+			this.anchor = a;
+			return a;
+		}
+		if (nanos - a.nanos < this.resyncInterval) {
+			// another thread did it
+			return a;
+		}
+
+		final long timestamp = a.timestamp(nanos, this.maxSlew);
+		final long current = this.getCurrentTimestamp();
+
+		// the system time is truncated to milliseconds
+		long correction = 0;
+		if (timestamp < current) {
+			correction = current - timestamp;
+		} else if (timestamp >= current + TICKS_PER_MILLI) {
+			correction = (current + TICKS_PER_MILLI - 1) - timestamp;
+		}
+
+		this.drift = correction;
+		a = new Anchor(timestamp, nanos, correction);
+		this.anchor = a;
+		return a;
+	}
+
+	/**
+	 * Returns the system time as a timestamp with millisecond accuracy.
+	 * 
+	 * @return a timestamp
+	 */
+	protected long getCurrentTimestamp() {
+		return TimestampUtil.getCurrentTimestamp();
+	}
+
+	/**
+	 * Returns the value of {@link System#nanoTime()}.
+	 * 
+	 * @return the nano time
+	 */
+	protected long getNanoTime() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * Returns the difference to the system time measured in the last resync.
+	 * 
+	 * A positive value means that the timestamps were behind the system time.
+	 * 
+	 * @return the difference in 100-nanosecond intervals
+	 */
+	public long getDrift() {
+		return this.drift;
+	}
+
+	/**
+	 * An immutable point from which timestamps are derived.
+	 */
+	private static final class Anchor {
+
+		private final long timestamp;
+		private final long nanos;
+		private final long correction;
+
+		private Anchor(long timestamp, long nanos, long correction) {
+			this.timestamp = timestamp;
+			this.nanos = nanos;
+			this.correction = correction;
+		}
+
+		/**
+		 * Returns the timestamp after some time elapsed since this anchor,
+		 * applying as much of the correction as the slew rate allows.
+		 * 
+		 * @param nanos
+		 *            the current value of {@link System#nanoTime()}
+		 * @param maxSlew
+		 *            the maximum slew rate in parts per million
+		 * @return a timestamp
+		 */
+		private long timestamp(final long nanos, final long maxSlew) {
+
+			final long elapsed = (nanos - this.nanos) / NANOS_PER_TICK;
+
+			if (this.correction == 0) {
+				return this.timestamp + elapsed;
+			}
+
+			final long slew = (elapsed / PARTS_PER_MILLION) * maxSlew
+					+ ((elapsed % PARTS_PER_MILLION) * maxSlew) / PARTS_PER_MILLION;
+			final long applied = this.correction > 0 ? Math.min(this.correction, slew)
+					: Math.max(this.correction, -slew);
+
+			return this.timestamp + elapsed + applied;
+		}
+	}
+}
@@ -0,0 +1,232 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2018-2019 Fabio Lima
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.f4b6a3.uuid.timestamp;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class makes a generator wait for the next clock tick instead of failing
+ * when it is overrun by too many requests within the same system time
+ * interval.
+ * 
+ * The wait has three phases: a short busy spin, then a number of
+ * {@link Thread#yield()} calls, then {@link LockSupport#parkNanos(long)} with
+ * a growing park time. The phases are bounded by the constructor arguments. If
+ * the clock doesn't move within the maximum wait time, the generator gives up
+ * and fails as usual.
+ * 
+ * The same instance can be shared by many generators. The time spent waiting
+ * is accumulated in counters that can be read at any time.
+ * 
+ * ### RFC-4122 - 4.2.1.2. System Clock Resolution
+ * 
+ * (3b) If a system overruns the generator by requesting too many UUIDs within a
+ * single system time interval, the UUID service MUST either return an error, or
+ * stall the UUID generator until the system clock catches up.
+ */
+public class StallStrategy {
+
+	public static final int DEFAULT_SPINS = 100;
+	public static final int DEFAULT_YIELDS = 10;
+	public static final long DEFAULT_MAX_PARK = 100_000; // nanoseconds
+	public static final long DEFAULT_MAX_WAIT = 10_000_000; // nanoseconds
+
+	protected static final long MIN_PARK = 1_000; // nanoseconds
+
+	private final int spins;
+	private final int yields;
+	private final long maxPark;
+	private final long maxWait;
+
+	private final AtomicLong stalls = new AtomicLong();
+	private final AtomicLong timeouts = new AtomicLong();
+	private final AtomicLong waitTime = new AtomicLong();
+	private final AtomicLong maxWaitTime = new AtomicLong();
+
+	public StallStrategy() {
+		this(DEFAULT_SPINS, DEFAULT_YIELDS, DEFAULT_MAX_PARK, DEFAULT_MAX_WAIT);
+	}
+
+	/**
+	 * Creates a stall strategy.
+	 * 
+	 * @param spins
+	 *            the number of busy spins before yielding
+	 * @param yields
+	 *            the number of yields before parking
+	 * @param maxPark
+	 *            the maximum park time in nanoseconds
+	 * @param maxWait
+	 *            the maximum total wait time in nanoseconds
+	 */
+	public StallStrategy(int spins, int yields, long maxPark, long maxWait) {
+		if (spins < 0 || yields < 0) {
+			throw new IllegalArgumentException("Negative number of spins or yields.");
+		}
+		if (maxPark < MIN_PARK) {
+			throw new IllegalArgumentException(String.format("Maximum park time less than %s ns.", MIN_PARK));
+		}
+		if (maxWait < 0) {
+			throw new IllegalArgumentException("Negative maximum wait time.");
+		}
+		this.spins = spins;
+		this.yields = yields;
+		this.maxPark = maxPark;
+		this.maxWait = maxWait;
+	}
+
+	/**
+	 * Waits until a timestamp strategy returns a timestamp later than the given
+	 * one.
+	 * 
+	 * The strategy is read in a loop, with a {@link #pause(int, long)} between
+	 * reads. The wait is recorded by {@link #end(long, boolean)}.
+	 * 
+	 * @param timestampStrategy
+	 *            the timestamp strategy of the generator
+	 * @param timestamp
+	 *            the exhausted timestamp
+	 * @return the later timestamp, or the exhausted timestamp if the maximum
+	 *         wait time is exceeded
+	 */
+	public long awaitAfter(final TimestampStrategy timestampStrategy, final long timestamp) {
+		final long start = System.nanoTime();
+		long current = timestampStrategy.getTimestamp();
+		for (int attempt = 0; current <= timestamp; attempt++) {
+			if (!this.pause(attempt, start)) {
+				this.end(start, true);
+				return timestamp;
+			}
+			current = timestampStrategy.getTimestamp();
+		}
+		this.end(start, false);
+		return current;
+	}
+
+	/**
+	 * Waits a little before the clock is read again.
+	 * 
+	 * The caller reads the clock in a loop, calling this method with an
+	 * increasing attempt number, until the clock moves or this method returns
+	 * false. Then it calls {@link #end(long, boolean)}. See
+	 * {@link #awaitAfter(TimestampStrategy, long)}.
+	 * 
+	 * @param attempt
+	 *            the number of previous attempts, starting from zero
+	 * @param start
+	 *            the value of {@link System#nanoTime()} when the wait started
+	 * @return false if the maximum wait time is exceeded
+	 */
+	public boolean pause(final int attempt, final long start) {
+
+		if (System.nanoTime() - start >= this.maxWait) {
+			return false;
+		}
+
+		if (attempt < this.spins) {
+			// busy spin: the clock is read again right away
+		} else if (attempt < this.spins + this.yields) {
+			Thread.yield();
+		} else {
+			final int shift = Math.min(attempt - this.spins - this.yields, 20);
+			LockSupport.parkNanos(Math.min(MIN_PARK << shift, this.maxPark));
+		}
+
+		return true;
+	}
+
+	/**
+	 * Records the time spent in a wait.
+	 * 
+	 * @param start
+	 *            the value of {@link System#nanoTime()} when the wait started
+	 * @param timeout
+	 *            true if the wait was given up
+	 */
+	public void end(final long start, final boolean timeout) {
+
+		final long elapsed = System.nanoTime() - start;
+
+		this.stalls.incrementAndGet();
+		this.waitTime.addAndGet(elapsed);
+		if (timeout) {
+			this.timeouts.incrementAndGet();
+		}
+
+		long max = this.maxWaitTime.get();
+		while (elapsed > max && !this.maxWaitTime.compareAndSet(max, elapsed)) {
+			max = this.maxWaitTime.get();
+		}
+	}
+
+	/**
+	 * Returns how many times a generator waited for the next clock tick.
+	 * 
+	 * @return the number of stalls
+	 */
+	public long getStalls() {
+		return this.stalls.get();
+	}
+
+	/**
+	 * Returns how many waits were given up because the clock didn't move
+	 * within the maximum wait time.
+	 * 
+	 * @return the number of timeouts
+	 */
+	public long getTimeouts() {
+		return this.timeouts.get();
+	}
+
+	/**
+	 * Returns the total time spent waiting.
+	 * 
+	 * @return the wait time in nanoseconds
+	 */
+	public long getWaitTime() {
+		return this.waitTime.get();
+	}
+
+	/**
+	 * Returns the longest wait.
+	 * 
+	 * @return the wait time in nanoseconds
+	 */
+	public long getMaxWaitTime() {
+		return this.maxWaitTime.get();
+	}
+
+	/**
+	 * Clears the counters.
+	 */
+	public void resetMetrics() {
+		this.stalls.set(0);
+		this.timeouts.set(0);
+		this.waitTime.set(0);
+		this.maxWaitTime.set(0);
+	}
+}
@@ -45,11 +45,7 @@ public class StoppedDefaultTimestampStrategy extends DefaultTimestampStrategy {
 	protected static final Clock stoppedClock = Clock.fixed(Instant.now(), ZoneId.systemDefault());
 
 	@Override
-	public long getTimestamp() {
-
-		final long timestamp = TimestampUtil.toTimestamp(Instant.now(stoppedClock));
-		final long counter = getNextCounter(timestamp);
-
-		return timestamp + counter;
+	protected long getCurrentTimestamp() {
+		return TimestampUtil.toTimestamp(Instant.now(stoppedClock));
 	}
 }
@@ -24,10 +24,34 @@
 
 package com.github.f4b6a3.uuid.util;
 
+import java.util.Arrays;
+
 /**
  * Class that contains many static methods for byte handling.
  */
 public class ByteUtil {
+
+	/**
+	 * Lower case hexadecimal digits, indexed by their values.
+	 */
+	static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+	/**
+	 * Values of the ASCII hexadecimal digits, indexed by their codes. The
+	 * other ASCII codes have the value -1.
+	 */
+	static final byte[] HEX_VALUES = new byte[128];
+
+	static {
+		Arrays.fill(HEX_VALUES, (byte) -1);
+		for (int i = 0; i < 10; i++) {
+			HEX_VALUES['0' + i] = (byte) i;
+		}
+		for (int i = 0; i < 6; i++) {
+			HEX_VALUES['a' + i] = (byte) (10 + i);
+			HEX_VALUES['A' + i] = (byte) (10 + i);
+		}
+	}
 	
 	private ByteUtil() {
 	}
@@ -101,8 +125,8 @@ public class ByteUtil {
 		final char[] hexadecimal = new char[length * 2];
 		for (int i = 0; i < length; i++) {
 			final int v = bytes[i] & 0xFF;
-			hexadecimal[i * 2] = toHexChar(v >>> 4);
-			hexadecimal[(i * 2) + 1] = toHexChar(v & 0x0F);
+			hexadecimal[i * 2] = HEX_DIGITS[v >>> 4];
+			hexadecimal[(i * 2) + 1] = HEX_DIGITS[v & 0x0F];
 		}
 		return new String(hexadecimal);
 	}
@@ -114,7 +138,11 @@ public class ByteUtil {
 	 * @return a string
 	 */
 	public static String toHexadecimal(final long number) {
-		return toHexadecimal(toBytes(number));
+		final char[] hexadecimal = new char[16];
+		for (int i = 0; i < 16; i++) {
+			hexadecimal[i] = HEX_DIGITS[(int) (number >>> (60 - (i << 2))) & 0x0F];
+		}
+		return new String(hexadecimal);
 	}
 
 	/**
@@ -124,18 +152,9 @@ public class ByteUtil {
 	 * @return an integer
 	 */
 	public static int fromHexChar(final char chr) {
-
-		if (chr >= 0x61 && chr <= 0x66) {
-			// ASCII codes from 'a' to 'f'
-			return (int) chr - 0x57;
-		} else if (chr >= 0x41 && chr <= 0x46) {
-			// ASCII codes from 'A' to 'F'
-			return (int) chr - 0x37;
-		} else if (chr >= 0x30 && chr <= 0x39) {
-			// ASCII codes from 0 to 9
-			return (int) chr - 0x30;
+		if (chr < HEX_VALUES.length && HEX_VALUES[chr] >= 0) {
+			return HEX_VALUES[chr];
 		}
-
 		return 0;
 	}
 
@@ -146,12 +165,8 @@ public class ByteUtil {
 	 * @return a char
 	 */
 	public static char toHexChar(final int number) {
-		if (number >= 0x0a && number <= 0x0f) {
-			// ASCII codes from 'a' to 'f'
-			return (char) (0x57 + number);
-		} else if (number >= 0x00 && number <= 0x09) {
-			// ASCII codes from 0 to 9
-			return (char) (0x30 + number);
+		if (number >= 0x00 && number <= 0x0f) {
+			return HEX_DIGITS[number];
 		}
 		return 0;
 	}
@@ -27,7 +27,11 @@ package com.github.f4b6a3.uuid.util;
 import java.security.SecureRandom;
 import java.util.Random;
 
+import com.github.f4b6a3.uuid.random.BufferedSecureRandom;
+
 public class RandomUtil {
+
+	private static final int BLOCK_SIZE = 256;
 	
 	private RandomUtil() {
 	}
@@ -37,9 +41,7 @@ public class RandomUtil {
 	}
 	
 	public static long nextLong() {
-		byte[] bytes = new byte[8];
-		SecureRandomLazyHolder.INSTANCE.nextBytes(bytes);
-		return ByteUtil.toNumber(bytes);
+		return SecureRandomLazyHolder.INSTANCE.nextLong();
 	}
 	
 	public static int nextInt(int max) {
@@ -50,11 +52,45 @@ public class RandomUtil {
 		return SecureRandomLazyHolder.INSTANCE.nextInt();
 	}
 	
+	/**
+	 * Returns a non-zero seed for pseudo-random generators.
+	 * 
+	 * The seed comes from {@link SecureRandom}, so that generators created at
+	 * the same time, for example one per thread, don't share the same
+	 * sequence. Zero is never returned because it is a fixed point of the
+	 * Xorshift family.
+	 * 
+	 * @return a non-zero random long
+	 */
+	public static long nextSeed() {
+		long seed = 0;
+		while (seed == 0) {
+			seed = SecureRandomLazyHolder.INSTANCE.nextLong();
+		}
+		return seed;
+	}
+	
 	public static String nextLongHexadecimal() {
 		return ByteUtil.toHexadecimal(SecureRandomLazyHolder.INSTANCE.nextLong());
 	}
 	
+	/**
+	 * Returns a shared {@link BufferedSecureRandom} with the default block size.
+	 * 
+	 * It's the default random generator of the creators that take many random
+	 * values per UUID.
+	 * 
+	 * @return a buffered secure random
+	 */
+	public static Random getBufferedSecureRandom() {
+		return BufferedSecureRandomLazyHolder.INSTANCE;
+	}
+	
 	private static class SecureRandomLazyHolder {
-		static final Random INSTANCE = new SecureRandom();
+		static final Random INSTANCE = new BufferedSecureRandom(new SecureRandom(), BLOCK_SIZE, false);
+	}
+	
+	private static class BufferedSecureRandomLazyHolder {
+		static final Random INSTANCE = new BufferedSecureRandom();
 	}
 }
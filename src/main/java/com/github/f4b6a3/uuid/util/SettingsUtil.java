@@ -30,6 +30,7 @@ public class SettingsUtil {
 	public static final String PROPERTY_NODEID = "nodeid";
 	public static final String PROPERTY_STATE_DIRECTORY = "state.directory";
 	public static final String PROPERTY_STATE_ENABLED = "state.enabled";
+	public static final String PROPERTY_STATE_LEASE = "state.lease";
 	
 	private static final String[] trueValues = { "true", "t", "yes", "y", "on", "1" };
 
@@ -75,6 +76,28 @@ public class SettingsUtil {
 		setProperty(PROPERTY_STATE_ENABLED, String.valueOf(enabled));
 	}
 	
+	/**
+	 * Returns the lease interval of the state in milliseconds, or zero if the
+	 * lease is disabled.
+	 * 
+	 * @return the lease interval
+	 */
+	public static long getStateLease() {
+		String value = getProperty(PROPERTY_STATE_LEASE);
+		if (value == null) {
+			return 0;
+		}
+		try {
+			return Math.max(0, Long.parseLong(value.trim()));
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+
+	public static void setStateLease(long milliseconds) {
+		setProperty(PROPERTY_STATE_LEASE, String.valueOf(milliseconds));
+	}
+
 	private static String getProperty(String name) {
 		
 		String fullName = getPropertyName(name);
@@ -24,6 +24,9 @@
 
 package com.github.f4b6a3.uuid.util;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.time.Instant;
 import java.util.UUID;
 
@@ -33,6 +36,17 @@ import com.github.f4b6a3.uuid.enums.UuidVersion;
 public class UuidUtil {
 
 	private static final String NOT_DCE_SECURITY = "Not a DCE Security UUID: %s.";
+	private static final String INVALID_UUID_STRING = "Invalid UUID string: \"%s\".";
+
+	/**
+	 * Length of the canonical string: 32 hexadecimal digits and 4 hyphens.
+	 */
+	public static final int UUID_STRING_LENGTH = 36;
+
+	/**
+	 * Length of the binary form: 128 bits.
+	 */
+	public static final int UUID_BYTES_LENGTH = 16;
 
 	private UuidUtil() {
 	}
@@ -108,6 +122,19 @@ public class UuidUtil {
 		return (version == UuidVersion.SEQUENTIAL.getValue());
 	}
 
+	/**
+	 * Checks whether the UUID version 7.
+	 * 
+	 * @param uuid
+	 *            a UUID
+	 * @return boolean true if it is a time-ordered UUID with Unix epoch
+	 *         milliseconds
+	 */
+	public static boolean isTimeOrderedEpochVersion(UUID uuid) {
+		int version = uuid.version();
+		return (version == UuidVersion.TIME_ORDERED_EPOCH.getValue());
+	}
+
 	/**
 	 * Checks whether the UUID version 2.
 	 * 
@@ -336,11 +363,136 @@ public class UuidUtil {
 	 * @return an array of bytes
 	 */
 	public static byte[] fromUuidToBytes(UUID uuid) {
-		long msb = uuid.getMostSignificantBits();
-		long lsb = uuid.getLeastSignificantBits();
-		byte[] msbBytes = ByteUtil.toBytes(msb);
-		byte[] lsbBytes = ByteUtil.toBytes(lsb);
-		return ByteUtil.concat(msbBytes, lsbBytes);
+		final byte[] bytes = new byte[UUID_BYTES_LENGTH];
+		fromUuidToBytes(uuid, bytes, 0);
+		return bytes;
+	}
+
+	/**
+	 * Writes the 16 bytes of a UUID into an array, in network byte order,
+	 * starting at an offset.
+	 * 
+	 * @param uuid
+	 *            a UUID
+	 * @param bytes
+	 *            the destination array
+	 * @param offset
+	 *            the position of the first byte
+	 * @throws IllegalArgumentException
+	 *             if the array has less than 16 bytes after the offset
+	 */
+	public static void fromUuidToBytes(UUID uuid, byte[] bytes, int offset) {
+		checkSpace(bytes.length, offset, UUID_BYTES_LENGTH);
+		writeLong(uuid.getMostSignificantBits(), bytes, offset);
+		writeLong(uuid.getLeastSignificantBits(), bytes, offset + 8);
+	}
+
+	/**
+	 * Writes the bytes of many UUIDs into an array, in network byte order,
+	 * starting at an offset.
+	 * 
+	 * @param uuids
+	 *            an array of UUIDs
+	 * @param bytes
+	 *            the destination array
+	 * @param offset
+	 *            the position of the first byte
+	 * @throws IllegalArgumentException
+	 *             if the array has not enough bytes after the offset
+	 */
+	public static void fromUuidsToBytes(UUID[] uuids, byte[] bytes, int offset) {
+		checkSpace(bytes.length, offset, (long) uuids.length * UUID_BYTES_LENGTH);
+		for (int i = 0; i < uuids.length; i++) {
+			final int index = offset + (i << 4);
+			writeLong(uuids[i].getMostSignificantBits(), bytes, index);
+			writeLong(uuids[i].getLeastSignificantBits(), bytes, index + 8);
+		}
+	}
+
+	/**
+	 * Writes the 16 bytes of a UUID into a buffer, in network byte order,
+	 * starting at an absolute index.
+	 * 
+	 * The position and the byte order of the buffer are not changed. The bytes
+	 * are written in network byte order even if the buffer is little endian.
+	 * 
+	 * @param uuid
+	 *            a UUID
+	 * @param buffer
+	 *            a heap or direct byte buffer
+	 * @param index
+	 *            the index of the first byte
+	 * @throws IllegalArgumentException
+	 *             if the buffer has less than 16 bytes after the index
+	 */
+	public static void fromUuidToBytes(UUID uuid, ByteBuffer buffer, int index) {
+		checkSpace(buffer.limit(), index, UUID_BYTES_LENGTH);
+		putLong(buffer, index, uuid.getMostSignificantBits());
+		putLong(buffer, index + 8, uuid.getLeastSignificantBits());
+	}
+
+	/**
+	 * Writes the bytes of many UUIDs into a buffer, in network byte order,
+	 * starting at an absolute index.
+	 * 
+	 * The position and the byte order of the buffer are not changed.
+	 * 
+	 * @param uuids
+	 *            an array of UUIDs
+	 * @param buffer
+	 *            a heap or direct byte buffer
+	 * @param index
+	 *            the index of the first byte
+	 * @throws IllegalArgumentException
+	 *             if the buffer has not enough bytes after the index
+	 */
+	public static void fromUuidsToBytes(UUID[] uuids, ByteBuffer buffer, int index) {
+		checkSpace(buffer.limit(), index, (long) uuids.length * UUID_BYTES_LENGTH);
+		for (int i = 0; i < uuids.length; i++) {
+			final int position = index + (i << 4);
+			putLong(buffer, position, uuids[i].getMostSignificantBits());
+			putLong(buffer, position + 8, uuids[i].getLeastSignificantBits());
+		}
+	}
+
+	/**
+	 * Writes the MSB and the LSB of a UUID into an array of longs, starting at
+	 * an index.
+	 * 
+	 * @param uuid
+	 *            a UUID
+	 * @param longs
+	 *            the destination array
+	 * @param index
+	 *            the index of the MSB
+	 * @throws IllegalArgumentException
+	 *             if the array has less than 2 longs after the index
+	 */
+	public static void fromUuidToLongs(UUID uuid, long[] longs, int index) {
+		checkSpace(longs.length, index, 2);
+		longs[index] = uuid.getMostSignificantBits();
+		longs[index + 1] = uuid.getLeastSignificantBits();
+	}
+
+	/**
+	 * Writes the MSB and LSB pairs of many UUIDs into an array of longs,
+	 * starting at an index.
+	 * 
+	 * @param uuids
+	 *            an array of UUIDs
+	 * @param longs
+	 *            the destination array
+	 * @param index
+	 *            the index of the first MSB
+	 * @throws IllegalArgumentException
+	 *             if the array has not enough longs after the index
+	 */
+	public static void fromUuidsToLongs(UUID[] uuids, long[] longs, int index) {
+		checkSpace(longs.length, index, (long) uuids.length * 2);
+		for (int i = 0; i < uuids.length; i++) {
+			longs[index + (i << 1)] = uuids[i].getMostSignificantBits();
+			longs[index + (i << 1) + 1] = uuids[i].getLeastSignificantBits();
+		}
 	}
 
 	/**
@@ -351,10 +503,342 @@ public class UuidUtil {
 	 * @return a UUID
 	 */
 	public static UUID fromBytesToUuid(byte[] bytes) {
-		byte[] msbBytes = ByteUtil.copy(bytes, 0, 8);
-		byte[] lsbBytes = ByteUtil.copy(bytes, 8, 16);
-		long msb = ByteUtil.toNumber(msbBytes);
-		long lsb = ByteUtil.toNumber(lsbBytes);
+		return fromBytesToUuid(bytes, 0);
+	}
+
+	/**
+	 * Get a UUID from 16 bytes of an array, in network byte order, starting at
+	 * an offset.
+	 * 
+	 * @param bytes
+	 *            an array of bytes
+	 * @param offset
+	 *            the position of the first byte
+	 * @return a UUID
+	 * @throws IllegalArgumentException
+	 *             if the array has less than 16 bytes after the offset
+	 */
+	public static UUID fromBytesToUuid(byte[] bytes, int offset) {
+		checkSpace(bytes.length, offset, UUID_BYTES_LENGTH);
+		return new UUID(readLong(bytes, offset), readLong(bytes, offset + 8));
+	}
+
+	/**
+	 * Reads many UUIDs from an array of bytes, in network byte order, starting
+	 * at an offset.
+	 * 
+	 * @param bytes
+	 *            an array of bytes
+	 * @param offset
+	 *            the position of the first byte
+	 * @param uuids
+	 *            the destination array of UUIDs
+	 * @throws IllegalArgumentException
+	 *             if the array has not enough bytes after the offset
+	 */
+	public static void fromBytesToUuids(byte[] bytes, int offset, UUID[] uuids) {
+		checkSpace(bytes.length, offset, (long) uuids.length * UUID_BYTES_LENGTH);
+		for (int i = 0; i < uuids.length; i++) {
+			final int index = offset + (i << 4);
+			uuids[i] = new UUID(readLong(bytes, index), readLong(bytes, index + 8));
+		}
+	}
+
+	/**
+	 * Get a UUID from 16 bytes of a buffer, in network byte order, starting at
+	 * an absolute index.
+	 * 
+	 * The position and the byte order of the buffer are not changed.
+	 * 
+	 * @param buffer
+	 *            a heap or direct byte buffer
+	 * @param index
+	 *            the index of the first byte
+	 * @return a UUID
+	 * @throws IllegalArgumentException
+	 *             if the buffer has less than 16 bytes after the index
+	 */
+	public static UUID fromBytesToUuid(ByteBuffer buffer, int index) {
+		checkSpace(buffer.limit(), index, UUID_BYTES_LENGTH);
+		return new UUID(getLong(buffer, index), getLong(buffer, index + 8));
+	}
+
+	/**
+	 * Reads many UUIDs from a buffer, in network byte order, starting at an
+	 * absolute index.
+	 * 
+	 * The position and the byte order of the buffer are not changed.
+	 * 
+	 * @param buffer
+	 *            a heap or direct byte buffer
+	 * @param index
+	 *            the index of the first byte
+	 * @param uuids
+	 *            the destination array of UUIDs
+	 * @throws IllegalArgumentException
+	 *             if the buffer has not enough bytes after the index
+	 */
+	public static void fromBytesToUuids(ByteBuffer buffer, int index, UUID[] uuids) {
+		checkSpace(buffer.limit(), index, (long) uuids.length * UUID_BYTES_LENGTH);
+		for (int i = 0; i < uuids.length; i++) {
+			final int position = index + (i << 4);
+			uuids[i] = new UUID(getLong(buffer, position), getLong(buffer, position + 8));
+		}
+	}
+
+	/**
+	 * Get a UUID from a MSB and LSB pair of an array of longs.
+	 * 
+	 * @param longs
+	 *            an array of longs
+	 * @param index
+	 *            the index of the MSB
+	 * @return a UUID
+	 * @throws IllegalArgumentException
+	 *             if the array has less than 2 longs after the index
+	 */
+	public static UUID fromLongsToUuid(long[] longs, int index) {
+		checkSpace(longs.length, index, 2);
+		return new UUID(longs[index], longs[index + 1]);
+	}
+
+	/**
+	 * Reads many UUIDs from MSB and LSB pairs of an array of longs.
+	 * 
+	 * @param longs
+	 *            an array of longs
+	 * @param index
+	 *            the index of the first MSB
+	 * @param uuids
+	 *            the destination array of UUIDs
+	 * @throws IllegalArgumentException
+	 *             if the array has not enough longs after the index
+	 */
+	public static void fromLongsToUuids(long[] longs, int index, UUID[] uuids) {
+		checkSpace(longs.length, index, (long) uuids.length * 2);
+		for (int i = 0; i < uuids.length; i++) {
+			uuids[i] = new UUID(longs[index + (i << 1)], longs[index + (i << 1) + 1]);
+		}
+	}
+
+	private static void checkSpace(final int length, final int offset, final long required) {
+		if (offset < 0 || length - offset < required) {
+			throw new IllegalArgumentException(String.format("Not enough space at offset %s.", offset));
+		}
+	}
+
+	private static void writeLong(final long number, final byte[] bytes, final int offset) {
+		for (int i = 0; i < 8; i++) {
+			bytes[offset + i] = (byte) (number >>> (56 - (i << 3)));
+		}
+	}
+
+	private static long readLong(final byte[] bytes, final int offset) {
+		long result = 0;
+		for (int i = 0; i < 8; i++) {
+			result = (result << 8) | (bytes[offset + i] & 0xff);
+		}
+		return result;
+	}
+
+	private static void putLong(final ByteBuffer buffer, final int index, final long number) {
+		buffer.putLong(index, buffer.order() == ByteOrder.BIG_ENDIAN ? number : Long.reverseBytes(number));
+	}
+
+	private static long getLong(final ByteBuffer buffer, final int index) {
+		final long number = buffer.getLong(index);
+		return buffer.order() == ByteOrder.BIG_ENDIAN ? number : Long.reverseBytes(number);
+	}
+
+	/**
+	 * Get the canonical string of a UUID.
+	 * 
+	 * The result is the same of {@link UUID#toString()}: 32 lower case
+	 * hexadecimal digits and 4 hyphens, in the format 8-4-4-4-12.
+	 * 
+	 * @param uuid
+	 *            a UUID
+	 * @return a string
+	 */
+	public static String fromUuidToString(UUID uuid) {
+		final char[] chars = new char[UUID_STRING_LENGTH];
+		format(uuid, chars, 0);
+		return new String(chars);
+	}
+
+	/**
+	 * Writes the canonical string of a UUID into an array of chars.
+	 * 
+	 * @param uuid
+	 *            a UUID
+	 * @param chars
+	 *            the destination array
+	 * @param offset
+	 *            the position of the first char
+	 * @throws IllegalArgumentException
+	 *             if the array has less than 36 chars after the offset
+	 */
+	public static void format(UUID uuid, char[] chars, int offset) {
+
+		checkSpace(chars.length, offset, UUID_STRING_LENGTH);
+
+		final char[] digits = ByteUtil.HEX_DIGITS;
+		final long msb = uuid.getMostSignificantBits();
+		final long lsb = uuid.getLeastSignificantBits();
+
+		int i = offset;
+		for (int shift = 60; shift >= 0; shift -= 4) {
+			if (shift == 28 || shift == 12) {
+				chars[i++] = '-';
+			}
+			chars[i++] = digits[(int) (msb >>> shift) & 0x0f];
+		}
+		for (int shift = 60; shift >= 0; shift -= 4) {
+			if (shift == 60 || shift == 44) {
+				chars[i++] = '-';
+			}
+			chars[i++] = digits[(int) (lsb >>> shift) & 0x0f];
+		}
+	}
+
+	/**
+	 * Writes the canonical string of a UUID into an array of bytes, encoded in
+	 * ASCII.
+	 * 
+	 * @param uuid
+	 *            a UUID
+	 * @param bytes
+	 *            the destination array
+	 * @param offset
+	 *            the position of the first byte
+	 * @throws IllegalArgumentException
+	 *             if the array has less than 36 bytes after the offset
+	 */
+	public static void format(UUID uuid, byte[] bytes, int offset) {
+
+		checkSpace(bytes.length, offset, UUID_STRING_LENGTH);
+
+		final char[] digits = ByteUtil.HEX_DIGITS;
+		final long msb = uuid.getMostSignificantBits();
+		final long lsb = uuid.getLeastSignificantBits();
+
+		int i = offset;
+		for (int shift = 60; shift >= 0; shift -= 4) {
+			if (shift == 28 || shift == 12) {
+				bytes[i++] = '-';
+			}
+			bytes[i++] = (byte) digits[(int) (msb >>> shift) & 0x0f];
+		}
+		for (int shift = 60; shift >= 0; shift -= 4) {
+			if (shift == 60 || shift == 44) {
+				bytes[i++] = '-';
+			}
+			bytes[i++] = (byte) digits[(int) (lsb >>> shift) & 0x0f];
+		}
+	}
+
+	/**
+	 * Appends the canonical string of a UUID to a {@link StringBuilder}.
+	 * 
+	 * @param uuid
+	 *            a UUID
+	 * @param builder
+	 *            a string builder
+	 * @return the same string builder
+	 */
+	public static StringBuilder appendTo(UUID uuid, StringBuilder builder) {
+		builder.ensureCapacity(builder.length() + UUID_STRING_LENGTH);
+		try {
+			appendTo(uuid, (Appendable) builder);
+		} catch (IOException e) {
+			// StringBuilder doesn't throw IOException
+			throw new IllegalStateException(e);
+		}
+		return builder;
+	}
+
+	/**
+	 * Appends the canonical string of a UUID to an {@link Appendable}, one
+	 * char at a time, without creating intermediate strings or arrays.
+	 * 
+	 * @param uuid
+	 *            a UUID
+	 * @param appendable
+	 *            a destination, for example, a {@link java.io.Writer}
+	 * @throws IOException
+	 *             if the appendable throws it
+	 */
+	public static void appendTo(UUID uuid, Appendable appendable) throws IOException {
+
+		final char[] digits = ByteUtil.HEX_DIGITS;
+		final long msb = uuid.getMostSignificantBits();
+		final long lsb = uuid.getLeastSignificantBits();
+
+		for (int shift = 60; shift >= 0; shift -= 4) {
+			if (shift == 28 || shift == 12) {
+				appendable.append('-');
+			}
+			appendable.append(digits[(int) (msb >>> shift) & 0x0f]);
+		}
+		for (int shift = 60; shift >= 0; shift -= 4) {
+			if (shift == 60 || shift == 44) {
+				appendable.append('-');
+			}
+			appendable.append(digits[(int) (lsb >>> shift) & 0x0f]);
+		}
+	}
+
+	/**
+	 * Get a UUID from its canonical string.
+	 * 
+	 * The validation is strict: the string must have exactly 36 chars, with
+	 * hyphens in the positions 8, 13, 18 and 23 and hexadecimal digits, upper
+	 * or lower case, in the other positions. Unlike
+	 * {@link UUID#fromString(String)}, short groups are not accepted.
+	 * 
+	 * @param string
+	 *            a canonical UUID string
+	 * @return a UUID
+	 * @throws IllegalArgumentException
+	 *             if the string is not a valid UUID string
+	 */
+	public static UUID fromStringToUuid(CharSequence string) {
+
+		if (string == null || string.length() != UUID_STRING_LENGTH || string.charAt(8) != '-'
+				|| string.charAt(13) != '-' || string.charAt(18) != '-' || string.charAt(23) != '-') {
+			throw new IllegalArgumentException(String.format(INVALID_UUID_STRING, string));
+		}
+
+		long msb = 0;
+		long lsb = 0;
+		long invalid = 0;
+
+		final byte[] values = ByteUtil.HEX_VALUES;
+
+		for (int i = 0; i < 18; i++) {
+			if (i == 8 || i == 13) {
+				continue;
+			}
+			final char chr = string.charAt(i);
+			final long value = chr < values.length ? values[chr] : -1;
+			invalid |= value;
+			msb = (msb << 4) | (value & 0x0f);
+		}
+		for (int i = 19; i < UUID_STRING_LENGTH; i++) {
+			if (i == 23) {
+				continue;
+			}
+			final char chr = string.charAt(i);
+			final long value = chr < values.length ? values[chr] : -1;
+			invalid |= value;
+			lsb = (lsb << 4) | (value & 0x0f);
+		}
+
+		// a negative value means that a char is not hexadecimal
+		if (invalid < 0) {
+			throw new IllegalArgumentException(String.format(INVALID_UUID_STRING, string));
+		}
+
 		return new UUID(msb, lsb);
 	}
 
@@ -558,6 +1042,36 @@ public class UuidUtil {
 		return ts2;
 	}
 
+	/**
+	 * Format most significant bits in the binary layout of the MSSQL Server
+	 * 'uniqueidentifier' type.
+	 * 
+	 * SQL Server and .NET store the first three fields of a GUID in
+	 * little-endian order: the 4 bytes of time_low, the 2 bytes of time_mid
+	 * and the 2 bytes of time_hi_and_version are reversed separately. The
+	 * least significant bits are stored as they are.
+	 * 
+	 * For example, the GUID 00112233-4455-6677-8899-aabbccddeeff is stored as
+	 * the bytes 33 22 11 00 55 44 77 66 88 99 aa bb cc dd ee ff.
+	 * 
+	 * The conversion is its own inverse.
+	 * 
+	 * ### References
+	 * 
+	 * * Guid.ToByteArray Method
+	 * 
+	 * https://docs.microsoft.com/en-us/dotnet/api/system.guid.tobytearray
+	 * 
+	 * @param msb
+	 *            the most significant bits of a GUID
+	 * @return the most significant bits in the binary layout
+	 */
+	public static long formatMssqlBinaryMostSignificantBits(final long msb) {
+		return ((Integer.reverseBytes((int) (msb >>> 32)) & 0xffffffffL) << 32)
+			| ((Short.reverseBytes((short) (msb >>> 16)) & 0xffffL) << 16)
+			| (Short.reverseBytes((short) msb) & 0xffffL);
+	}
+
 	/**
 	 * Returns the least significant bits of the UUID.
 	 * 
@@ -4,14 +4,31 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 import com.github.f4b6a3.uuid.clockseq.DefaultClockSequenceStrategyTest;
+import com.github.f4b6a3.uuid.distrib.BitReversalDistributorTest;
 import com.github.f4b6a3.uuid.distrib.CyclicDistributorTest;
 import com.github.f4b6a3.uuid.factory.CombGuidCreatorTest;
+import com.github.f4b6a3.uuid.factory.ConcurrentLexicalOrderGuidCreatorTest;
+import com.github.f4b6a3.uuid.factory.DceSecurityUuidCreatorTest;
+import com.github.f4b6a3.uuid.factory.KeyedLexicalOrderGuidCreatorTest;
 import com.github.f4b6a3.uuid.factory.LexicalOrderGuidCreatorTest;
+import com.github.f4b6a3.uuid.factory.RandomUuidCreatorTest;
+import com.github.f4b6a3.uuid.factory.StripedTimeBasedUuidCreatorTest;
+import com.github.f4b6a3.uuid.factory.TimeOrderedEpochUuidCreatorTest;
+import com.github.f4b6a3.uuid.factory.abst.AbstractNameBasedUuidCreatorTest;
+import com.github.f4b6a3.uuid.factory.abst.AbstractNoArgumentsUuidCreatorTest;
 import com.github.f4b6a3.uuid.factory.abst.AbstractUuidCreatorTest;
+import com.github.f4b6a3.uuid.nodeid.AsyncNodeIdentifierStrategyTest;
+import com.github.f4b6a3.uuid.nodeid.LeasedNodeIdentifierStrategyTest;
+import com.github.f4b6a3.uuid.random.BufferedSecureRandomTest;
 import com.github.f4b6a3.uuid.random.NaiveRandomTest;
 import com.github.f4b6a3.uuid.sequence.AbstractSequenceTest;
+import com.github.f4b6a3.uuid.sequence.TimeBasedSequenceTest;
+import com.github.f4b6a3.uuid.state.MappedFileUuidStateTest;
+import com.github.f4b6a3.uuid.state.SharedFileUuidStateTest;
 import com.github.f4b6a3.uuid.state.UuidStateTest;
+import com.github.f4b6a3.uuid.timestamp.CachedTimestampStrategyTest;
 import com.github.f4b6a3.uuid.timestamp.DefaultTimestampStrategyTest;
+import com.github.f4b6a3.uuid.timestamp.MonotonicTimestampStrategyTest;
 import com.github.f4b6a3.uuid.util.ByteUtilTest;
 import com.github.f4b6a3.uuid.util.SettingsUtilTest;
 import com.github.f4b6a3.uuid.util.TimestampUtilTest;
@@ -21,18 +38,35 @@ import com.github.f4b6a3.uuid.util.UuidUtilTest;
 @Suite.SuiteClasses({
    UuidCreatorTest.class,
    AbstractUuidCreatorTest.class,
+   AbstractNoArgumentsUuidCreatorTest.class,
+   AbstractNameBasedUuidCreatorTest.class,
    AbstractSequenceTest.class,
+   TimeBasedSequenceTest.class,
    DefaultClockSequenceStrategyTest.class,
+   AsyncNodeIdentifierStrategyTest.class,
+   LeasedNodeIdentifierStrategyTest.class,
+   CachedTimestampStrategyTest.class,
    DefaultTimestampStrategyTest.class,
+   MonotonicTimestampStrategyTest.class,
    ByteUtilTest.class,
    TimestampUtilTest.class,
    UuidUtilTest.class,
    SettingsUtilTest.class,
    UuidStateTest.class,
+   MappedFileUuidStateTest.class,
+   SharedFileUuidStateTest.class,
+   BitReversalDistributorTest.class,
    CyclicDistributorTest.class,
    NaiveRandomTest.class,
+   BufferedSecureRandomTest.class,
    CombGuidCreatorTest.class,
-   LexicalOrderGuidCreatorTest.class
+   LexicalOrderGuidCreatorTest.class,
+   ConcurrentLexicalOrderGuidCreatorTest.class,
+   DceSecurityUuidCreatorTest.class,
+   KeyedLexicalOrderGuidCreatorTest.class,
+   RandomUuidCreatorTest.class,
+   StripedTimeBasedUuidCreatorTest.class,
+   TimeOrderedEpochUuidCreatorTest.class
 })
 
 public class TestSuite {   
@@ -82,6 +82,12 @@ public class UuidCreatorTest {
 		testCreateAbstractTimeBasedUuid(UuidCreator.getTimeBasedCreator(), multicast);
 	}
 
+	@Test
+	public void testCreateTimeBasedUuidWithLockFreeGeneration() {
+		boolean multicast = true;
+		testCreateAbstractTimeBasedUuid(UuidCreator.getTimeBasedCreator().withLockFreeGeneration(), multicast);
+	}
+
 	@Test
 	public void testCreateTimeBasedUuidWithMac() {
 		boolean multicast = false;
@@ -600,6 +606,30 @@ public class UuidCreatorTest {
 		assertTrue(DUPLICATE_UUID_MSG, TestThread.hashSet.size() == (DEFAULT_LOOP_MAX * processors));
 	}
 
+	@Test
+	public void testGetTimeBasedLockFreeGeneratorSharedByParallelThreadsShouldCreateUniqueUuids()
+			throws InterruptedException {
+
+		Thread[] threads = new Thread[processors];
+		TestThread.clearHashSet();
+
+		TimeBasedUuidCreator creator = UuidCreator.getTimeBasedCreator().withLockFreeGeneration();
+
+		// Instantiate and start many threads
+		for (int i = 0; i < processors; i++) {
+			threads[i] = new TestThread(creator, DEFAULT_LOOP_MAX);
+			threads[i].start();
+		}
+
+		// Wait all the threads to finish
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		// Check if the quantity of unique UUIDs is correct
+		assertTrue(DUPLICATE_UUID_MSG, TestThread.hashSet.size() == (DEFAULT_LOOP_MAX * processors));
+	}
+
 	@Test
 	public void testGetSequentialParallelGeneratorsShouldCreateUniqueUuids() throws InterruptedException {
 
@@ -55,4 +55,15 @@ public class DefaultClockSequenceStrategyTest {
 
 		assertEquals(first - 1L, last);
 	}
+
+	@Test
+	public void testNextForTheClockSequenceShouldBeIncrementedIfTheNodeIdentifierChanges() {
+
+		long oldTimestamp = 1000;
+		long newTimestamp = 1001;
+		DefaultClockSequenceStrategy clockSequence = new DefaultClockSequenceStrategy(oldTimestamp, 0x111111111111L);
+		long oldSequence = clockSequence.getClockSequence(oldTimestamp + 1, 0x111111111111L);
+		long newSequence = clockSequence.getClockSequence(newTimestamp + 1, 0x222222222222L);
+		assertEquals((oldSequence + 1) % (DefaultClockSequenceStrategy.SEQUENCE_MAX + 1), newSequence);
+	}
 }
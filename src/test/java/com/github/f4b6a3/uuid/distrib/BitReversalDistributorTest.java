@@ -0,0 +1,79 @@
+package com.github.f4b6a3.uuid.distrib;
+
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Test;
+
+public class BitReversalDistributorTest {
+
+	@Test
+	public void testBitReversalDistributorTheValuesHandedOutShouldFollowTheVanDerCorputSequence() {
+
+		int[] list = { 0, 4, 2, 6, 1, 5, 3, 7 };
+
+		int range = 8;
+		Distributor distributor = new BitReversalDistributor(3);
+
+		long first = distributor.handOut();
+		for (int i = 1; i < list.length; i++) {
+			assertEquals((list[i] + first) % range, distributor.handOut());
+		}
+		// the sequence starts over
+		assertEquals(first, distributor.handOut());
+	}
+
+	@Test
+	public void testBitReversalDistributorTheValuesHandedOutShouldNotRepeat() {
+
+		int loopMax = 0x3fff; // 16383
+		HashSet<Long> set = new HashSet<>();
+		Distributor distributor = new BitReversalDistributor(14);
+
+		for (int i = 0; i <= loopMax; i++) {
+			long value = distributor.handOut();
+			assertTrue("Out of range", value >= 0 && value <= loopMax);
+			assertTrue("There are duplicate values", set.add(value));
+		}
+
+		assertEquals(loopMax + 1, set.size());
+	}
+
+	@Test
+	public void testBitReversalDistributorTheValuesHandedOutByManyThreadsShouldNotRepeat() throws InterruptedException {
+
+		final int threadCount = 8;
+		final int perThread = 0x4000 / threadCount;
+		final Distributor distributor = new BitReversalDistributor(14);
+		final Set<Long> set = Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+
+		Thread[] threads = new Thread[threadCount];
+		for (int i = 0; i < threadCount; i++) {
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int j = 0; j < perThread; j++) {
+						set.add(distributor.handOut());
+					}
+				}
+			});
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(0x4000, set.size());
+	}
+
+	@Test
+	public void testBitReversalDistributorWithZeroBitsShouldHandOutZero() {
+		Distributor distributor = new BitReversalDistributor(0);
+		assertEquals(0, distributor.handOut());
+		assertEquals(0, distributor.handOut());
+	}
+}
@@ -1,11 +1,14 @@
 package com.github.f4b6a3.uuid.factory;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.UUID;
 
 import org.junit.Test;
 
 import com.github.f4b6a3.uuid.exception.UuidCreatorException;
 import com.github.f4b6a3.uuid.timestamp.FixedTimestampStretegy;
+import com.github.f4b6a3.uuid.util.UuidUtil;
 
 import static org.junit.Assert.*;
 
@@ -126,4 +129,48 @@ public class CombGuidCreatorTest {
 		creator.create();
 		fail("It should throw an overflow exception.");
 	}
+
+	@Test
+	public void testCreateShouldNotSignExtendANegativeLow() {
+
+		long low = 0x8877665544332211L;
+		long high = 0x99aaL;
+
+		CombGuidCreatorMock creator = new CombGuidCreatorMock(low, high);
+		creator.withTimestampStrategy(new FixedTimestampStretegy(TIMESTAMP));
+
+		UUID uuid = creator.create();
+		assertEquals(0x99aa887766554433L, uuid.getMostSignificantBits());
+		assertEquals((0x2211L << 48) | TIMESTAMP, uuid.getLeastSignificantBits());
+	}
+
+	@Test
+	public void testCreateMssqlBinaryShouldWriteTheUniqueidentifierLayout() {
+
+		long low = 0x1122334455667788L;
+		long high = 0x99aaL;
+
+		CombGuidCreatorMock creator = new CombGuidCreatorMock(low, high);
+		creator.withTimestampStrategy(new FixedTimestampStretegy(TIMESTAMP));
+
+		ByteBuffer buffer = ByteBuffer.allocate(16 * 300).order(ByteOrder.LITTLE_ENDIAN);
+		creator.createMssqlBinary(buffer, 300);
+		assertEquals(buffer.capacity(), buffer.position());
+
+		// 99aa1122-3344-5566-7788-<timestamp>
+		byte[] first = new byte[16];
+		buffer.position(0);
+		buffer.get(first);
+		byte[] expected = { 0x22, 0x11, (byte) 0xaa, (byte) 0x99, 0x44, 0x33, 0x66, 0x55, 0x77, (byte) 0x88, 0, 0, 0, 0,
+				0, 0 };
+		ByteBuffer.wrap(expected, 8, 8).putLong((0x7788L << 48) | TIMESTAMP);
+		assertArrayEquals(expected, first);
+
+		// the other GUIDs are the increments of the first one
+		buffer.position(16 * 299);
+		long msb = UuidUtil.formatMssqlBinaryMostSignificantBits(buffer.order(ByteOrder.BIG_ENDIAN).getLong());
+		long lsb = buffer.getLong();
+		assertEquals((high << 48) | ((low + 299) >>> 16), msb);
+		assertEquals(((low + 299) << 48) | TIMESTAMP, lsb);
+	}
 }
@@ -0,0 +1,144 @@
+package com.github.f4b6a3.uuid.factory;
+
+import static com.github.f4b6a3.uuid.factory.LexicalOrder.compare;
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Test;
+
+import com.github.f4b6a3.uuid.exception.UuidCreatorException;
+import com.github.f4b6a3.uuid.timestamp.FixedTimestampStretegy;
+
+public class ConcurrentLexicalOrderGuidCreatorTest {
+
+	private static final int DEFAULT_LOOP = 1000;
+
+	private static final long TIMESTAMP = System.currentTimeMillis();
+	private static final long MAX_LOW = 0xffffffffffffffffL;
+	private static final long MAX_HIGH = ConcurrentLexicalOrderGuidCreator.MAX_HIGH;
+
+	@Test
+	public void testCreateTheGuidsShouldBeInLexicalOrder() {
+		ConcurrentLexicalOrderGuidCreator creator = new ConcurrentLexicalOrderGuidCreator();
+
+		UUID previous = creator.create();
+		for (int i = 0; i < 100_000; i++) {
+			UUID uuid = creator.create();
+			assertTrue("The GUIDs are not in lexical order", compare(previous, uuid) < 0);
+			previous = uuid;
+		}
+	}
+
+	@Test
+	public void testCreateShouldIncrementTheRandomPartWithCarry() {
+		ConcurrentLexicalOrderGuidCreator creator = new ConcurrentLexicalOrderGuidCreator()
+				.withTimestampStrategy(new FixedTimestampStretegy(TIMESTAMP))
+				.withRandomGenerator(new FixedRandom(MAX_LOW - 1, 0x1234));
+
+		UUID first = creator.create();
+		assertEquals(TIMESTAMP, first.getMostSignificantBits() >>> 16);
+		assertEquals(0x1234, first.getMostSignificantBits() & MAX_HIGH);
+		assertEquals(MAX_LOW - 1, first.getLeastSignificantBits());
+
+		creator.create();
+		UUID third = creator.create();
+		assertEquals(0x1235, third.getMostSignificantBits() & MAX_HIGH);
+		assertEquals(0, third.getLeastSignificantBits());
+	}
+
+	@Test(expected = UuidCreatorException.class)
+	public void testShouldThrowOverflowException() {
+		ConcurrentLexicalOrderGuidCreator creator = new ConcurrentLexicalOrderGuidCreator()
+				.withTimestampStrategy(new FixedTimestampStretegy(TIMESTAMP))
+				.withRandomGenerator(new FixedRandom(MAX_LOW - DEFAULT_LOOP, MAX_HIGH));
+
+		for (int i = 0; i <= DEFAULT_LOOP; i++) {
+			creator.create();
+		}
+		creator.create();
+		fail("It should throw an overflow exception.");
+	}
+
+	@Test
+	public void testCreateBulkTheGuidsShouldBeConsecutive() {
+		ConcurrentLexicalOrderGuidCreator creator = new ConcurrentLexicalOrderGuidCreator()
+				.withTimestampStrategy(new FixedTimestampStretegy(TIMESTAMP))
+				.withRandomGenerator(new FixedRandom(MAX_LOW - 10, 0));
+
+		long[] uuids = new long[DEFAULT_LOOP << 1];
+		creator.create(uuids, DEFAULT_LOOP);
+
+		for (int i = 0; i < DEFAULT_LOOP; i++) {
+			long expected = MAX_LOW - 10 + i;
+			assertEquals(expected, uuids[(i << 1) + 1]);
+			assertEquals((TIMESTAMP << 16) | (i > 10 ? 1 : 0), uuids[i << 1]);
+		}
+		assertEquals(MAX_LOW - 10 + DEFAULT_LOOP, creator.create().getLeastSignificantBits());
+	}
+
+	@Test
+	public void testCreateManyThreadsShouldNotCreateDuplicates() throws InterruptedException {
+		final int threadCount = 8;
+		final ConcurrentLexicalOrderGuidCreator creator = new ConcurrentLexicalOrderGuidCreator();
+		final Set<UUID> set = Collections.newSetFromMap(new ConcurrentHashMap<UUID, Boolean>());
+
+		Thread[] threads = new Thread[threadCount];
+		for (int i = 0; i < threadCount; i++) {
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int j = 0; j < DEFAULT_LOOP * 10; j++) {
+						set.add(creator.create());
+					}
+				}
+			});
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(threadCount * DEFAULT_LOOP * 10, set.size());
+	}
+
+	@Test
+	public void testCreateShouldNotGoBackwardsIfTheClockDoes() {
+		ConcurrentLexicalOrderGuidCreator creator = new ConcurrentLexicalOrderGuidCreator()
+				.withTimestampStrategy(new FixedTimestampStretegy(TIMESTAMP));
+		UUID first = creator.create();
+
+		creator.withTimestampStrategy(new FixedTimestampStretegy(TIMESTAMP - 1000));
+		UUID second = creator.create();
+
+		assertEquals(TIMESTAMP, second.getMostSignificantBits() >>> 16);
+		assertTrue(compare(first, second) < 0);
+	}
+
+	private static class FixedRandom extends Random {
+
+		private static final long serialVersionUID = 1L;
+
+		private final long low;
+		private final int high;
+
+		public FixedRandom(long low, long high) {
+			this.low = low;
+			this.high = (int) high;
+		}
+
+		@Override
+		public long nextLong() {
+			return this.low;
+		}
+
+		@Override
+		public int nextInt() {
+			return this.high;
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package com.github.f4b6a3.uuid.factory;
+
+import static org.junit.Assert.*;
+
+import java.util.UUID;
+
+import org.junit.Test;
+
+import com.github.f4b6a3.uuid.util.UuidUtil;
+
+public class DceSecurityUuidCreatorTest {
+
+	private static final int DEFAULT_LOOP = 100;
+
+	private static final long TIMESTAMP = 0x0123456789abcdefL;
+	private static final long NODE_IDENTIFIER = 0x0000a1b2c3d4e5f6L;
+	private static final int CLOCK_SEQUENCE = 0x2345;
+
+	@Test
+	public void testCreateShouldHaveTheBitsOfTheTimeBasedUuid() {
+
+		DceSecurityUuidCreator creator = new DceSecurityUuidCreator().withTimestamp(TIMESTAMP)
+				.withNodeIdentifier(NODE_IDENTIFIER).withClockSequence(CLOCK_SEQUENCE);
+		TimeBasedUuidCreator timeBased = new TimeBasedUuidCreator().withTimestamp(TIMESTAMP)
+				.withNodeIdentifier(NODE_IDENTIFIER).withClockSequence(CLOCK_SEQUENCE);
+
+		for (int i = 1; i <= DEFAULT_LOOP; i++) {
+			int localIdentifier = -i;
+			byte localDomain = (byte) (i % 3);
+
+			UUID uuid = creator.create(localDomain, localIdentifier);
+			UUID v1 = timeBased.create();
+
+			assertEquals(2, uuid.version());
+			assertEquals(2, uuid.variant());
+			assertEquals(localDomain, UuidUtil.extractDceSecurityLocalDomain(uuid));
+			assertEquals(localIdentifier, UuidUtil.extractDceSecurityLocalIdentifier(uuid));
+
+			// the bits that are not replaced are the ones of version 1
+			assertEquals(v1.getMostSignificantBits() & 0x00000000ffff0fffL,
+					uuid.getMostSignificantBits() & 0x00000000ffff0fffL);
+			assertEquals(v1.getLeastSignificantBits() & 0xc000ffffffffffffL,
+					uuid.getLeastSignificantBits() & 0xc000ffffffffffffL);
+		}
+	}
+
+	@Test
+	public void testCreateShouldHaveOneCounterForEachLocalDomain() {
+
+		DceSecurityUuidCreator creator = new DceSecurityUuidCreator().withTimestamp(TIMESTAMP)
+				.withNodeIdentifier(NODE_IDENTIFIER).withClockSequence(0);
+
+		for (int i = 1; i <= 3; i++) {
+			UUID uuid = creator.create(DceSecurityUuidCreator.LOCAL_DOMAIN_PERSON, 1701);
+			assertEquals(i, counter(uuid));
+		}
+
+		UUID group = creator.create(DceSecurityUuidCreator.LOCAL_DOMAIN_GROUP, 1701);
+		assertEquals(1, counter(group));
+
+		// the counter is 6 bits long
+		for (int i = 4; i <= 64; i++) {
+			creator.create(DceSecurityUuidCreator.LOCAL_DOMAIN_PERSON, 1701);
+		}
+		UUID person = creator.create(DceSecurityUuidCreator.LOCAL_DOMAIN_PERSON, 1701);
+		assertEquals(1, counter(person));
+	}
+
+	private static long counter(UUID uuid) {
+		return (uuid.getLeastSignificantBits() >>> 56) & 0x3f;
+	}
+}
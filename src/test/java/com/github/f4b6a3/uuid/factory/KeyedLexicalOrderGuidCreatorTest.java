@@ -0,0 +1,209 @@
+package com.github.f4b6a3.uuid.factory;
+
+import static com.github.f4b6a3.uuid.factory.LexicalOrder.compare;
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.github.f4b6a3.uuid.exception.UuidCreatorException;
+import com.github.f4b6a3.uuid.timestamp.FixedTimestampStretegy;
+
+public class KeyedLexicalOrderGuidCreatorTest {
+
+	private static final int DEFAULT_LOOP = 1000;
+
+	private static final long TIMESTAMP = System.currentTimeMillis();
+	private static final long MAX_LOW = 0xffffffffffffffffL;
+	private static final long MAX_HIGH = KeyedLexicalOrderGuidCreator.MAX_HIGH;
+
+	@Test
+	public void testCreateTheGuidsShouldBeInLexicalOrderForEachKey() {
+		KeyedLexicalOrderGuidCreator<Integer> creator = new KeyedLexicalOrderGuidCreator<>();
+
+		Map<Integer, UUID> previous = new HashMap<>();
+		Random random = new Random();
+		for (int i = 0; i < 100_000; i++) {
+			Integer key = random.nextInt(10);
+			UUID uuid = creator.create(key);
+			UUID last = previous.put(key, uuid);
+			if (last != null) {
+				assertTrue("The GUIDs are not in lexical order", compare(last, uuid) < 0);
+			}
+		}
+		assertEquals(10, creator.getSize());
+	}
+
+	@Test
+	public void testCreateTheKeysShouldHaveIndependentStates() {
+		KeyedLexicalOrderGuidCreator<String> creator = new KeyedLexicalOrderGuidCreator<String>()
+				.withTimestampStrategy(new FixedTimestampStretegy(TIMESTAMP))
+				.withRandomGenerator(new FixedRandom(MAX_LOW - DEFAULT_LOOP, MAX_HIGH));
+
+		for (int i = 0; i < DEFAULT_LOOP; i++) {
+			creator.create("a");
+		}
+
+		// the key "b" starts with its own random part
+		UUID uuid = creator.create("b");
+		assertEquals(TIMESTAMP, uuid.getMostSignificantBits() >>> 16);
+		assertEquals(MAX_LOW - DEFAULT_LOOP, uuid.getLeastSignificantBits());
+	}
+
+	@Test(expected = UuidCreatorException.class)
+	public void testShouldThrowOverflowException() {
+		KeyedLexicalOrderGuidCreator<String> creator = new KeyedLexicalOrderGuidCreator<String>()
+				.withTimestampStrategy(new FixedTimestampStretegy(TIMESTAMP))
+				.withRandomGenerator(new FixedRandom(MAX_LOW - DEFAULT_LOOP, MAX_HIGH));
+
+		for (int i = 0; i <= DEFAULT_LOOP; i++) {
+			creator.create("a");
+		}
+		creator.create("a");
+		fail("It should throw an overflow exception.");
+	}
+
+	@Test
+	public void testCreateShouldEvictTheLeastRecentlyUsedKey() {
+		KeyedLexicalOrderGuidCreator<Integer> creator = new KeyedLexicalOrderGuidCreator<Integer>(10, 60_000)
+				.withTimestampStrategy(new FixedTimestampStretegy(TIMESTAMP));
+
+		UUID first = creator.create(0);
+		for (int i = 1; i <= 10; i++) {
+			creator.create(i);
+		}
+		assertEquals(10, creator.getSize());
+		assertEquals(1, creator.getEvictions());
+
+		// the evicted key borrows the next millisecond to stay monotonic
+		UUID second = creator.create(0);
+		assertEquals(TIMESTAMP + 1, second.getMostSignificantBits() >>> 16);
+		assertTrue(compare(first, second) < 0);
+	}
+
+	@Test
+	public void testCreateShouldEvictTheLeastRecentlyUsedKeysInBatches() {
+		KeyedLexicalOrderGuidCreator<Integer> creator = new KeyedLexicalOrderGuidCreator<Integer>(160, 60_000)
+				.withTimestampStrategy(new FixedTimestampStretegy(TIMESTAMP));
+
+		for (int i = 0; i <= 160; i++) {
+			creator.create(i);
+		}
+		// a sixteenth of the maximum is evicted at once
+		assertEquals(151, creator.getSize());
+		assertEquals(10, creator.getEvictions());
+
+		// the next keys fit in without evictions
+		for (int i = 161; i < 170; i++) {
+			creator.create(i);
+		}
+		assertEquals(160, creator.getSize());
+		assertEquals(10, creator.getEvictions());
+
+		creator.create(170);
+		assertEquals(151, creator.getSize());
+		assertEquals(20, creator.getEvictions());
+	}
+
+	@Test
+	public void testCreateShouldEvictIdleKeys() throws InterruptedException {
+		KeyedLexicalOrderGuidCreator<Integer> creator = new KeyedLexicalOrderGuidCreator<>(100, 10);
+
+		for (int i = 0; i < 10; i++) {
+			creator.create(i);
+		}
+		Thread.sleep(50);
+		creator.create(10);
+
+		assertEquals(1, creator.getSize());
+		assertEquals(10, creator.getEvictions());
+	}
+
+	@Test
+	public void testCreateManyThreadsShouldNotCreateDuplicates() throws InterruptedException {
+		final int threadCount = 8;
+		final KeyedLexicalOrderGuidCreator<Integer> creator = new KeyedLexicalOrderGuidCreator<>(4, 60_000);
+		final Set<UUID> set = Collections.newSetFromMap(new ConcurrentHashMap<UUID, Boolean>());
+		final AtomicInteger unordered = new AtomicInteger();
+
+		Thread[] threads = new Thread[threadCount];
+		for (int i = 0; i < threadCount; i++) {
+			final int key = i;
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					UUID previous = null;
+					for (int j = 0; j < DEFAULT_LOOP * 10; j++) {
+						UUID uuid = creator.create(key);
+						if (previous != null && compare(previous, uuid) >= 0) {
+							unordered.incrementAndGet();
+						}
+						set.add(uuid);
+						previous = uuid;
+					}
+				}
+			});
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(threadCount * DEFAULT_LOOP * 10, set.size());
+		assertEquals(0, unordered.get());
+		assertTrue(creator.getSize() <= 4 + threadCount);
+	}
+
+	@Test
+	public void testCreateCombGuidShouldHaveTheTimestampAtTheEnd() {
+		KeyedCombGuidCreator<String> creator = new KeyedCombGuidCreator<String>()
+				.withTimestampStrategy(new FixedTimestampStretegy(TIMESTAMP))
+				.withRandomGenerator(new FixedRandom(0x1122334455667788L, 0x99aa));
+
+		UUID uuid = creator.create("a");
+		assertEquals(0x99aa112233445566L, uuid.getMostSignificantBits());
+		assertEquals((0x7788L << 48) | TIMESTAMP, uuid.getLeastSignificantBits());
+	}
+
+	@Test
+	public void testCreateCombGuidShouldNotSignExtendANegativeLow() {
+		KeyedCombGuidCreator<String> creator = new KeyedCombGuidCreator<String>()
+				.withTimestampStrategy(new FixedTimestampStretegy(TIMESTAMP))
+				.withRandomGenerator(new FixedRandom(0x8877665544332211L, 0x99aa));
+
+		UUID uuid = creator.create("a");
+		assertEquals(0x99aa887766554433L, uuid.getMostSignificantBits());
+		assertEquals((0x2211L << 48) | TIMESTAMP, uuid.getLeastSignificantBits());
+	}
+
+	private static class FixedRandom extends Random {
+
+		private static final long serialVersionUID = 1L;
+
+		private final long low;
+		private final int high;
+
+		public FixedRandom(long low, long high) {
+			this.low = low;
+			this.high = (int) high;
+		}
+
+		@Override
+		public long nextLong() {
+			return this.low;
+		}
+
+		@Override
+		public int nextInt() {
+			return this.high;
+		}
+	}
+}
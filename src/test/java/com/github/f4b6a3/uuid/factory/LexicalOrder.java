@@ -0,0 +1,18 @@
+package com.github.f4b6a3.uuid.factory;
+
+import java.util.UUID;
+
+class LexicalOrder {
+
+	private LexicalOrder() {
+	}
+
+	/**
+	 * Compares two UUIDs as unsigned 128-bit numbers, the same order of their
+	 * canonical strings.
+	 */
+	static int compare(UUID a, UUID b) {
+		int msb = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+		return msb != 0 ? msb : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+	}
+}
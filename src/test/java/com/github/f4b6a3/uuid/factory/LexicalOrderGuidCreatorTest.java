@@ -6,6 +6,8 @@ import org.junit.Test;
 
 import com.github.f4b6a3.uuid.exception.UuidCreatorException;
 import com.github.f4b6a3.uuid.timestamp.FixedTimestampStretegy;
+import com.github.f4b6a3.uuid.timestamp.StallStrategy;
+import com.github.f4b6a3.uuid.timestamp.TimestampStrategy;
 
 import static org.junit.Assert.*;
 
@@ -126,4 +128,36 @@ public class LexicalOrderGuidCreatorTest {
 		creator.create();
 		fail("It should throw an overflow exception.");
 	}
+
+	@Test
+	public void testShouldWaitForTheNextMillisecondInsteadOfOverflow() {
+
+		long low = MAX_LOW - DEFAULT_LOOP;
+		long high = MAX_HIGH;
+
+		StallStrategy stall = new StallStrategy();
+		LexicalOrderGuidCreatorMock creator = new LexicalOrderGuidCreatorMock(low, high);
+		creator.withTimestampStrategy(new TimestampStrategy() {
+			private int calls = 0;
+
+			@Override
+			public long getTimestamp() {
+				// the clock moves a while after the random part is exhausted
+				return ++calls <= DEFAULT_LOOP + 100 ? TIMESTAMP : TIMESTAMP + 1;
+			}
+		}).withStallStrategy(stall);
+
+		UUID uuid = new UUID(0, 0);
+		for (int i = 0; i <= DEFAULT_LOOP; i++) {
+			uuid = creator.create();
+		}
+		assertEquals(MAX_LOW, uuid.getLeastSignificantBits());
+		assertEquals(TIMESTAMP, uuid.getMostSignificantBits() >>> 16);
+
+		uuid = creator.create();
+		assertEquals(low, uuid.getLeastSignificantBits());
+		assertEquals(TIMESTAMP + 1, uuid.getMostSignificantBits() >>> 16);
+		assertEquals(1, stall.getStalls());
+		assertEquals(0, stall.getTimeouts());
+	}
 }
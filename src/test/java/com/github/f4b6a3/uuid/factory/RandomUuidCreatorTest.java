@@ -0,0 +1,101 @@
+package com.github.f4b6a3.uuid.factory;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import com.github.f4b6a3.uuid.UuidCreator;
+import com.github.f4b6a3.uuid.random.Xoroshiro128PlusRandom;
+import com.github.f4b6a3.uuid.random.Xorshift128PlusRandom;
+import com.github.f4b6a3.uuid.random.XorshiftRandom;
+import com.github.f4b6a3.uuid.random.XorshiftStarRandom;
+
+import static org.junit.Assert.*;
+
+public class RandomUuidCreatorTest {
+
+	private static final int DEFAULT_LOOP = 10_000;
+	private static final int THREAD_COUNT = 8;
+
+	@Test
+	public void testThreadLocalRandomGeneratorShouldUseOneGeneratorPerThread() throws InterruptedException {
+
+		final Set<Random> generators = new HashSet<>();
+		final RandomUuidCreator creator = UuidCreator.getRandomCreator()
+				.withThreadLocalRandomGenerator(new ThreadLocal<Random>() {
+					@Override
+					protected Random initialValue() {
+						Random random = new XorshiftStarRandom();
+						synchronized (generators) {
+							generators.add(random);
+						}
+						return random;
+					}
+				});
+
+		Thread[] threads = new Thread[THREAD_COUNT];
+		for (int i = 0; i < THREAD_COUNT; i++) {
+			threads[i] = new Thread() {
+				@Override
+				public void run() {
+					creator.create();
+				}
+			};
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(THREAD_COUNT, generators.size());
+	}
+
+	@Test
+	public void testFastRandomGeneratorInParallelShouldBeUnique() throws InterruptedException {
+
+		final RandomUuidCreator creator = UuidCreator.getFastRandomCreator();
+		final Set<UUID> set = new HashSet<>();
+
+		Thread[] threads = new Thread[THREAD_COUNT];
+		for (int i = 0; i < THREAD_COUNT; i++) {
+			threads[i] = new Thread() {
+				@Override
+				public void run() {
+					UUID[] uuids = new UUID[DEFAULT_LOOP];
+					for (int j = 0; j < DEFAULT_LOOP; j++) {
+						uuids[j] = creator.create();
+					}
+					synchronized (set) {
+						for (UUID uuid : uuids) {
+							set.add(uuid);
+						}
+					}
+				}
+			};
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(THREAD_COUNT * DEFAULT_LOOP, set.size());
+	}
+
+	@Test
+	public void testFastRandomGeneratorsShouldHaveDifferentSeeds() {
+		Random[][] pairs = { { new XorshiftRandom(), new XorshiftRandom() },
+				{ new XorshiftStarRandom(), new XorshiftStarRandom() },
+				{ new Xorshift128PlusRandom(), new Xorshift128PlusRandom() },
+				{ new Xoroshiro128PlusRandom(), new Xoroshiro128PlusRandom() } };
+
+		for (Random[] pair : pairs) {
+			long a = pair[0].nextLong();
+			long b = pair[1].nextLong();
+			assertNotEquals(a, b);
+			assertNotEquals(0, a);
+		}
+	}
+}
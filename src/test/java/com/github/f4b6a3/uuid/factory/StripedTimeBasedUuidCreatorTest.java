@@ -0,0 +1,88 @@
+package com.github.f4b6a3.uuid.factory;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import com.github.f4b6a3.uuid.clockseq.PartitionedClockSequenceStrategy;
+import com.github.f4b6a3.uuid.exception.UuidCreatorException;
+import com.github.f4b6a3.uuid.util.UuidUtil;
+
+import static org.junit.Assert.*;
+
+public class StripedTimeBasedUuidCreatorTest {
+
+	private static final int DEFAULT_LOOP = 1000;
+
+	@Test
+	public void testTheStripesShouldUseDisjointClockSequencePartitions() {
+
+		int stripes = 16;
+		StripedTimeBasedUuidCreator creator = new StripedTimeBasedUuidCreator(stripes);
+
+		Set<Long> partitions = new HashSet<>();
+		for (int i = 0; i < stripes; i++) {
+			long clockSequence = creator.stripes[i].clockSequenceStrategy.getClockSequence(0, 0);
+			partitions.add(clockSequence >>> 10);
+		}
+
+		assertEquals("The clock sequence partitions should be different.", stripes, partitions.size());
+	}
+
+	@Test
+	public void testThePartitionedClockSequenceShouldRollOverInsideThePartition() {
+
+		int partition = 5;
+		int partitions = 8;
+		PartitionedClockSequenceStrategy strategy = new PartitionedClockSequenceStrategy(partition, partitions);
+
+		for (int i = 0; i < 0x4000; i++) {
+			long clockSequence = strategy.getClockSequence(0, 0);
+			assertEquals(partition, clockSequence >>> 11);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testTheNumberOfStripesShouldBeAPowerOfTwo() {
+		new StripedTimeBasedUuidCreator(3);
+	}
+
+	@Test
+	public void testParallelThreadsShouldCreateUniqueUuids() throws InterruptedException {
+
+		final StripedTimeBasedUuidCreator creator = new StripedTimeBasedUuidCreator(4);
+		final Set<UUID> set = new HashSet<>();
+
+		Thread[] threads = new Thread[8];
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread() {
+				@Override
+				public void run() {
+					for (int j = 0; j < DEFAULT_LOOP; j++) {
+						UUID uuid;
+						try {
+							uuid = creator.create();
+						} catch (UuidCreatorException e) {
+							uuid = creator.create();
+						}
+						synchronized (set) {
+							set.add(uuid);
+						}
+					}
+				}
+			};
+			threads[i].start();
+		}
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals("There are duplicated UUIDs.", DEFAULT_LOOP * threads.length, set.size());
+		for (UUID uuid : set) {
+			assertTrue(UuidUtil.isTimeBasedVersion(uuid));
+		}
+	}
+}
@@ -0,0 +1,210 @@
+package com.github.f4b6a3.uuid.factory;
+
+import static com.github.f4b6a3.uuid.factory.LexicalOrder.compare;
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Test;
+
+import com.github.f4b6a3.uuid.UuidCreator;
+import com.github.f4b6a3.uuid.exception.UuidCreatorException;
+import com.github.f4b6a3.uuid.factory.TimeOrderedEpochUuidCreator.Method;
+import com.github.f4b6a3.uuid.timestamp.FixedTimestampStretegy;
+import com.github.f4b6a3.uuid.timestamp.StallStrategy;
+import com.github.f4b6a3.uuid.util.UuidUtil;
+
+public class TimeOrderedEpochUuidCreatorTest {
+
+	private static final int DEFAULT_LOOP = 1000;
+
+	private static final long TIMESTAMP = System.currentTimeMillis();
+
+	@Test
+	public void testCreateShouldHaveVersionVariantAndTimestamp() {
+		for (Method method : Method.values()) {
+			TimeOrderedEpochUuidCreator creator = new TimeOrderedEpochUuidCreator(method)
+					.withStallStrategy(new StallStrategy());
+			for (int i = 0; i < DEFAULT_LOOP; i++) {
+				long before = System.currentTimeMillis();
+				UUID uuid = creator.create();
+				long after = System.currentTimeMillis();
+				assertEquals(7, uuid.version());
+				assertEquals(2, uuid.variant());
+				assertTrue(UuidUtil.isTimeOrderedEpochVersion(uuid));
+				assertTrue(creator.valid(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()));
+				long timestamp = uuid.getMostSignificantBits() >>> 16;
+				assertTrue(timestamp >= before && timestamp <= after);
+			}
+		}
+	}
+
+	@Test
+	public void testCreateTheUuidsShouldBeInOrder() {
+		for (Method method : Method.values()) {
+			TimeOrderedEpochUuidCreator creator = new TimeOrderedEpochUuidCreator(method)
+					.withStallStrategy(new StallStrategy());
+
+			UUID previous = creator.create();
+			for (int i = 0; i < 100_000; i++) {
+				UUID uuid = creator.create();
+				assertTrue("The UUIDs are not in order: " + method, compare(previous, uuid) < 0);
+				previous = uuid;
+			}
+		}
+	}
+
+	@Test
+	public void testFixedLengthCounterShouldIncrementRandA() {
+		TimeOrderedEpochUuidCreator creator = new TimeOrderedEpochUuidCreator(Method.FIXED_LENGTH_COUNTER)
+				.withTimestampStrategy(new FixedTimestampStretegy(TIMESTAMP))
+				.withRandomGenerator(new FixedRandom(0xffff, 0x1234));
+
+		UUID first = creator.create();
+		assertEquals(0x7ff, first.getMostSignificantBits() & 0xfff); // guard bit is clear
+		assertEquals(0x1234, first.getLeastSignificantBits() & 0x3fffffffffffffffL);
+
+		UUID second = creator.create();
+		assertEquals(0x800, second.getMostSignificantBits() & 0xfff);
+	}
+
+	@Test(expected = UuidCreatorException.class)
+	public void testFixedLengthCounterShouldThrowOverflowException() {
+		TimeOrderedEpochUuidCreator creator = new TimeOrderedEpochUuidCreator(Method.FIXED_LENGTH_COUNTER)
+				.withTimestampStrategy(new FixedTimestampStretegy(TIMESTAMP))
+				.withRandomGenerator(new FixedRandom(0, 0));
+
+		for (int i = 0; i < 4096; i++) {
+			creator.create();
+		}
+		creator.create();
+		fail("It should throw an overflow exception.");
+	}
+
+	@Test
+	public void testMonotonicRandomShouldIncrementWithCarry() {
+		TimeOrderedEpochUuidCreator creator = new TimeOrderedEpochUuidCreator(Method.MONOTONIC_RANDOM)
+				.withTimestampStrategy(new FixedTimestampStretegy(TIMESTAMP))
+				.withRandomGenerator(new FixedRandom(0x00000123, 0x3ffffffffffffffeL));
+
+		UUID first = creator.create();
+		assertEquals(0x123, first.getMostSignificantBits() & 0xfff);
+		assertEquals(0xbffffffffffffffeL, first.getLeastSignificantBits());
+
+		// incremented by 0x123 + 1
+		UUID second = creator.create();
+		assertEquals(0x124, second.getMostSignificantBits() & 0xfff);
+		assertEquals(0x8000000000000122L, second.getLeastSignificantBits());
+	}
+
+	@Test
+	public void testNanoFractionShouldHaveTheElapsedFraction() {
+		final long[] nanos = { 0 };
+		TimeOrderedEpochUuidCreator creator = new TimeOrderedEpochUuidCreator(Method.NANO_FRACTION) {
+			@Override
+			protected long getNanoTime() {
+				return nanos[0];
+			}
+		}.withTimestampStrategy(new FixedTimestampStretegy(TIMESTAMP));
+
+		nanos[0] = 5_000_000;
+		assertEquals(0, creator.create().getMostSignificantBits() & 0xfff);
+
+		nanos[0] += 500_000; // half a millisecond
+		assertEquals(2048, creator.create().getMostSignificantBits() & 0xfff);
+		assertEquals(2049, creator.create().getMostSignificantBits() & 0xfff);
+
+		nanos[0] += 10_000_000; // the clock of the timestamp strategy is late
+		assertEquals(4095, creator.create().getMostSignificantBits() & 0xfff);
+	}
+
+	@Test
+	public void testCreateBulkShouldBeEqualToTheSingleCreate() {
+		for (Method method : new Method[] { Method.FIXED_LENGTH_COUNTER, Method.MONOTONIC_RANDOM }) {
+			TimeOrderedEpochUuidCreator bulk = new TimeOrderedEpochUuidCreator(method)
+					.withTimestampStrategy(new FixedTimestampStretegy(TIMESTAMP))
+					.withRandomGenerator(new FixedRandom(1, 2));
+			TimeOrderedEpochUuidCreator single = new TimeOrderedEpochUuidCreator(method)
+					.withTimestampStrategy(new FixedTimestampStretegy(TIMESTAMP))
+					.withRandomGenerator(new FixedRandom(1, 2));
+
+			long[] uuids = new long[DEFAULT_LOOP << 1];
+			bulk.create(uuids, DEFAULT_LOOP);
+
+			for (int i = 0; i < DEFAULT_LOOP; i++) {
+				UUID uuid = single.create();
+				assertEquals(uuid.getMostSignificantBits(), uuids[i << 1]);
+				assertEquals(uuid.getLeastSignificantBits(), uuids[(i << 1) + 1]);
+			}
+		}
+	}
+
+	@Test
+	public void testCreateShouldNotGoBackwardsIfTheClockDoes() {
+		TimeOrderedEpochUuidCreator creator = new TimeOrderedEpochUuidCreator()
+				.withTimestampStrategy(new FixedTimestampStretegy(TIMESTAMP));
+		UUID first = creator.create();
+
+		creator.withTimestampStrategy(new FixedTimestampStretegy(TIMESTAMP - 1000));
+		UUID second = creator.create();
+
+		assertEquals(TIMESTAMP, second.getMostSignificantBits() >>> 16);
+		assertTrue(compare(first, second) < 0);
+	}
+
+	@Test
+	public void testCreateManyThreadsShouldNotCreateDuplicates() throws InterruptedException {
+		final int threadCount = 8;
+		final TimeOrderedEpochUuidCreator creator = UuidCreator.getTimeOrderedEpochCreator(Method.MONOTONIC_RANDOM);
+		final Set<UUID> set = Collections.newSetFromMap(new ConcurrentHashMap<UUID, Boolean>());
+
+		Thread[] threads = new Thread[threadCount];
+		for (int i = 0; i < threadCount; i++) {
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					long[] uuids = new long[DEFAULT_LOOP << 1];
+					for (int j = 0; j < 10; j++) {
+						creator.create(uuids, DEFAULT_LOOP);
+						for (int k = 0; k < DEFAULT_LOOP; k++) {
+							set.add(new UUID(uuids[k << 1], uuids[(k << 1) + 1]));
+						}
+					}
+				}
+			});
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(threadCount * DEFAULT_LOOP * 10, set.size());
+	}
+
+	private static class FixedRandom extends Random {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int nextInt;
+		private final long nextLong;
+
+		public FixedRandom(int nextInt, long nextLong) {
+			this.nextInt = nextInt;
+			this.nextLong = nextLong;
+		}
+
+		@Override
+		public int nextInt() {
+			return this.nextInt;
+		}
+
+		@Override
+		public long nextLong() {
+			return this.nextLong;
+		}
+	}
+}
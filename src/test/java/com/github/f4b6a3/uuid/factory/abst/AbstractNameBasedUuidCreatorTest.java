@@ -0,0 +1,154 @@
+package com.github.f4b6a3.uuid.factory.abst;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import com.github.f4b6a3.uuid.UuidCreator;
+import com.github.f4b6a3.uuid.enums.UuidNamespace;
+
+import static org.junit.Assert.*;
+
+public class AbstractNameBasedUuidCreatorTest {
+
+	private static final int DEFAULT_LOOP = 1000;
+
+	@Test
+	public void testCreateWithCharSequenceShouldBeEqualToBytes() {
+		AbstractNameBasedUuidCreator[] creators = { UuidCreator.getNameBasedMd5Creator(),
+				UuidCreator.getNameBasedSha1Creator(), UuidCreator.getNameBasedSha256Creator() };
+
+		Random random = new Random();
+		for (AbstractNameBasedUuidCreator creator : creators) {
+			for (int i = 0; i < DEFAULT_LOOP; i++) {
+				String name = randomString(random, random.nextInt(600));
+				byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+				UUID namespace = UuidNamespace.NAMESPACE_URL.getValue();
+
+				UUID expected = creator.create(namespace, bytes);
+				assertEquals(expected, creator.create(namespace, name));
+				assertEquals(expected, creator.create(namespace, new StringBuilder(name)));
+
+				expected = creator.create(bytes);
+				assertEquals(expected, creator.create(name));
+				assertEquals(expected, creator.create(new StringBuilder(name)));
+			}
+		}
+	}
+
+	@Test
+	public void testCreateWithFixedNamespaceShouldBeEqualToNamespaceArgument() {
+		AbstractNameBasedUuidCreator[] creators = { UuidCreator.getNameBasedMd5Creator(),
+				UuidCreator.getNameBasedSha1Creator(), UuidCreator.getNameBasedSha256Creator() };
+
+		for (AbstractNameBasedUuidCreator creator : creators) {
+			for (UuidNamespace namespace : UuidNamespace.values()) {
+				creator.withNamespace(namespace);
+				for (int i = 0; i < DEFAULT_LOOP; i++) {
+					String name = "name-" + i;
+					UUID expected = creator.create(namespace.getValue(), name.getBytes(StandardCharsets.UTF_8));
+					assertEquals(expected, creator.create(name));
+					assertEquals(expected, creator.create(name.getBytes(StandardCharsets.UTF_8)));
+					assertEquals(expected, creator.create(ByteBuffer.wrap(name.getBytes(StandardCharsets.UTF_8))));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testCreateWithUnpairedSurrogatesShouldBeEqualToStringGetBytes() {
+		AbstractNameBasedUuidCreator creator = UuidCreator.getNameBasedSha1Creator();
+		String[] names = { "\ud800", "a\udc00b", "\ud800𐀀", "x\ud83d", "\udc00\ud800" };
+		for (String name : names) {
+			assertEquals(creator.create(name.getBytes(StandardCharsets.UTF_8)), creator.create((CharSequence) name));
+		}
+	}
+
+	@Test
+	public void testCreateWithByteBufferShouldKeepThePosition() {
+		AbstractNameBasedUuidCreator creator = UuidCreator.getNameBasedMd5Creator();
+		UUID namespace = UuidNamespace.NAMESPACE_DNS.getValue();
+		byte[] bytes = "www.github.com".getBytes(StandardCharsets.UTF_8);
+
+		ByteBuffer buffer = ByteBuffer.allocate(bytes.length + 4);
+		buffer.position(2);
+		buffer.put(bytes);
+		buffer.position(2);
+		buffer.limit(2 + bytes.length);
+
+		assertEquals(creator.create(namespace, bytes), creator.create(namespace, buffer));
+		assertEquals(2, buffer.position());
+
+		ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+		direct.put(bytes);
+		direct.flip();
+		assertEquals(creator.create(bytes), creator.create(direct));
+		assertEquals(0, direct.position());
+	}
+
+	@Test
+	public void testCreateWithNameBasedMd5ShouldBeEqualToJavaUtilUuid() {
+		AbstractNameBasedUuidCreator creator = UuidCreator.getNameBasedMd5Creator();
+		Random random = new Random();
+		for (int i = 0; i < DEFAULT_LOOP; i++) {
+			byte[] bytes = new byte[random.nextInt(100)];
+			random.nextBytes(bytes);
+			assertEquals(UUID.nameUUIDFromBytes(bytes), creator.create(bytes));
+			assertEquals(UUID.nameUUIDFromBytes(bytes), creator.create(ByteBuffer.wrap(bytes)));
+		}
+	}
+
+	@Test
+	public void testCreateNameBasedInParallelShouldBeEqualToSequential() throws InterruptedException {
+		final AbstractNameBasedUuidCreator creator = UuidCreator.getNameBasedSha256Creator();
+		final UUID[] expected = new UUID[DEFAULT_LOOP];
+		for (int i = 0; i < DEFAULT_LOOP; i++) {
+			expected[i] = creator.create(UuidNamespace.NAMESPACE_OID.getValue(), "name-" + i);
+		}
+
+		final boolean[] failed = new boolean[1];
+		Thread[] threads = new Thread[8];
+		for (int t = 0; t < threads.length; t++) {
+			threads[t] = new Thread() {
+				@Override
+				public void run() {
+					for (int i = 0; i < DEFAULT_LOOP; i++) {
+						UUID uuid = creator.create(UuidNamespace.NAMESPACE_OID.getValue(), "name-" + i);
+						if (!expected[i].equals(uuid)) {
+							failed[0] = true;
+						}
+					}
+				}
+			};
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertFalse("Name-based UUIDs differ between threads", failed[0]);
+	}
+
+	private static String randomString(Random random, int length) {
+		StringBuilder builder = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			switch (random.nextInt(4)) {
+			case 0:
+				builder.append((char) random.nextInt(0x80));
+				break;
+			case 1:
+				builder.append((char) (0x80 + random.nextInt(0x780)));
+				break;
+			case 2:
+				builder.append((char) (0x800 + random.nextInt(0xd000)));
+				break;
+			default:
+				builder.appendCodePoint(0x10000 + random.nextInt(0xfffff));
+			}
+		}
+		return builder.toString();
+	}
+}
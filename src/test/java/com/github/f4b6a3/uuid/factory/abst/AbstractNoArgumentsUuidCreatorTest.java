@@ -0,0 +1,207 @@
+package com.github.f4b6a3.uuid.factory.abst;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import com.github.f4b6a3.uuid.UuidCreator;
+import com.github.f4b6a3.uuid.enums.UuidVersion;
+import com.github.f4b6a3.uuid.factory.LexicalOrderGuidCreator;
+import com.github.f4b6a3.uuid.nodeid.NodeIdentifierStrategy;
+import com.github.f4b6a3.uuid.nodeid.RandomNodeIdentifierStrategy;
+import com.github.f4b6a3.uuid.timestamp.FixedTimestampStretegy;
+import com.github.f4b6a3.uuid.util.UuidUtil;
+
+import static org.junit.Assert.*;
+
+public class AbstractNoArgumentsUuidCreatorTest {
+
+	private static final int DEFAULT_LOOP = 1000;
+
+	@Test
+	public void testCreateBulkTimeBasedShouldBeUniqueAndOrdered() {
+		checkTimeBased(UuidCreator.getTimeBasedCreator());
+		checkTimeBased(UuidCreator.getTimeBasedCreator().withLockFreeGeneration());
+		checkTimeBased(UuidCreator.getSequentialCreator());
+	}
+
+	@Test
+	public void testCreateLockFreeShouldIncrementTheClockSequenceIfTheNodeIdentifierChanges() {
+
+		final AtomicLong node = new AtomicLong(0x111111111111L);
+		AbstractTimeBasedUuidCreator creator = UuidCreator.getTimeBasedCreator()
+				.withNodeIdentifierStrategy(new NodeIdentifierStrategy() {
+					@Override
+					public long getNodeIdentifier() {
+						return node.get();
+					}
+				}).withLockFreeGeneration();
+
+		UUID first = creator.create();
+		assertEquals(0x111111111111L, UuidUtil.extractNodeIdentifier(first));
+
+		// the node identifier changes, as an asynchronous discovery would do
+		node.set(0x222222222222L);
+		UUID second = creator.create();
+		assertEquals(0x222222222222L, UuidUtil.extractNodeIdentifier(second));
+		assertEquals((UuidUtil.extractClockSequence(first) + 1) & 0x3fff, UuidUtil.extractClockSequence(second));
+
+		// the bulk generation reads the same node identifier
+		node.set(0x333333333333L);
+		long[] uuids = new long[DEFAULT_LOOP << 1];
+		creator.create(uuids, DEFAULT_LOOP);
+		UUID third = new UUID(uuids[0], uuids[1]);
+		assertEquals(0x333333333333L, UuidUtil.extractNodeIdentifier(third));
+		assertEquals((UuidUtil.extractClockSequence(second) + 1) & 0x3fff, UuidUtil.extractClockSequence(third));
+	}
+
+	@Test
+	public void testCreateShouldNotIncrementTheClockSequenceForRandomNodeIdentifiers() {
+		checkRandomNode(UuidCreator.getTimeBasedCreator().withRandomNodeIdentifier());
+		checkRandomNode(UuidCreator.getTimeBasedCreator().withRandomNodeIdentifier().withLockFreeGeneration());
+		checkRandomNode(UuidCreator.getStripedTimeBasedCreator()
+				.withNodeIdentifierStrategy(new RandomNodeIdentifierStrategy()));
+	}
+
+	@Test
+	public void testCreateBulkRandomShouldHaveVersionAndVariant() {
+		checkRandom(UuidCreator.getRandomCreator());
+		checkRandom(UuidCreator.getFastRandomCreator());
+	}
+
+	@Test
+	public void testCreateBulkLexicalOrderShouldIncrementTheRandomPart() {
+
+		long timestamp = System.currentTimeMillis();
+		LexicalOrderGuidCreator creator = UuidCreator.getLexicalOrderCreator()
+				.withTimestampStrategy(new FixedTimestampStretegy(timestamp));
+
+		long[] uuids = new long[DEFAULT_LOOP << 1];
+		creator.create(uuids, DEFAULT_LOOP);
+
+		for (int i = 1; i < DEFAULT_LOOP; i++) {
+			assertEquals(timestamp, uuids[i << 1] >>> 16);
+			assertEquals(uuids[(i - 1) << 1], uuids[i << 1]);
+			assertEquals(uuids[((i - 1) << 1) + 1] + 1, uuids[(i << 1) + 1]);
+		}
+	}
+
+	@Test
+	public void testCreateBulkByteBufferShouldBeBigEndian() {
+
+		int count = 300;
+		ByteBuffer buffer = ByteBuffer.allocate(count << 4).order(ByteOrder.LITTLE_ENDIAN);
+		UuidCreator.getTimeBasedCreator().create(buffer, count);
+		assertEquals(0, buffer.remaining());
+
+		buffer.flip();
+		buffer.order(ByteOrder.BIG_ENDIAN);
+		Set<UUID> set = new HashSet<>();
+		for (int i = 0; i < count; i++) {
+			UUID uuid = new UUID(buffer.getLong(), buffer.getLong());
+			assertTrue(UuidUtil.isTimeBasedVersion(uuid));
+			set.add(uuid);
+		}
+		assertEquals(count, set.size());
+	}
+
+	@Test
+	public void testCreateListShouldReturnTheRequestedNumberOfUuids() {
+		List<UUID> list = UuidCreator.getRandomCreator().createList(DEFAULT_LOOP);
+		assertEquals(DEFAULT_LOOP, list.size());
+		assertEquals(DEFAULT_LOOP, new HashSet<>(list).size());
+	}
+
+	@Test
+	public void testCreateListShouldKeepTheOrderAcrossChunks() {
+		List<UUID> list = UuidCreator.getSequentialCreator().createList(DEFAULT_LOOP);
+		for (int i = 1; i < DEFAULT_LOOP; i++) {
+			assertTrue(UuidUtil.extractTimestamp(list.get(i - 1)) < UuidUtil.extractTimestamp(list.get(i)));
+		}
+	}
+
+	@Test
+	public void testCreateBulkTimeBasedShouldWaitForTheNextMillisecondInsteadOfOverrun() {
+		checkManyTimeBased(UuidCreator.getTimeBasedCreator());
+		checkManyTimeBased(UuidCreator.getTimeBasedCreator().withLockFreeGeneration());
+		checkManyTimeBased(UuidCreator.getStripedTimeBasedCreator());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCreateBulkShouldRejectAShortArray() {
+		UuidCreator.getTimeBasedCreator().create(new long[3], 2);
+	}
+
+	private void checkRandomNode(AbstractNoArgumentsUuidCreator creator) {
+
+		// the first UUID may take a new clock sequence for the switch
+		long clockSequence = UuidUtil.extractClockSequence(creator.create());
+
+		Set<Long> nodes = new HashSet<>();
+		for (int i = 0; i < DEFAULT_LOOP; i++) {
+			UUID uuid = creator.create();
+			nodes.add(UuidUtil.extractNodeIdentifier(uuid));
+			assertEquals(clockSequence, UuidUtil.extractClockSequence(uuid));
+		}
+		assertEquals(DEFAULT_LOOP, nodes.size());
+
+		long[] uuids = new long[DEFAULT_LOOP << 1];
+		creator.create(uuids, DEFAULT_LOOP);
+		for (int i = 0; i < DEFAULT_LOOP; i++) {
+			assertEquals(clockSequence, UuidUtil.extractClockSequence(new UUID(uuids[i << 1], uuids[(i << 1) + 1])));
+		}
+	}
+
+	private void checkTimeBased(AbstractTimeBasedUuidCreator creator) {
+
+		long[] uuids = new long[DEFAULT_LOOP << 1];
+		creator.create(uuids, DEFAULT_LOOP);
+
+		Set<UUID> set = new HashSet<>();
+		UUID previous = null;
+		for (int i = 0; i < DEFAULT_LOOP; i++) {
+			UUID uuid = new UUID(uuids[i << 1], uuids[(i << 1) + 1]);
+			assertEquals(creator.getVersion().getValue(), uuid.version());
+			if (previous != null && creator.getVersion() == UuidVersion.SEQUENTIAL) {
+				assertTrue(previous.compareTo(uuid) < 0);
+			}
+			set.add(uuid);
+			previous = uuid;
+		}
+		assertEquals(DEFAULT_LOOP, set.size());
+	}
+
+	private void checkManyTimeBased(AbstractNoArgumentsUuidCreator creator) {
+
+		// more than the 10 thousand timestamps of a few milliseconds
+		final int count = 50_000;
+		long[] uuids = new long[count << 1];
+		creator.create(uuids, count);
+
+		Set<UUID> set = new HashSet<>();
+		for (int i = 0; i < count; i++) {
+			UUID uuid = new UUID(uuids[i << 1], uuids[(i << 1) + 1]);
+			assertTrue(UuidUtil.isTimeBasedVersion(uuid));
+			set.add(uuid);
+		}
+		assertEquals(count, set.size());
+
+		assertEquals(count, creator.createList(count).size());
+	}
+
+	private void checkRandom(AbstractNoArgumentsUuidCreator creator) {
+		long[] uuids = new long[DEFAULT_LOOP << 1];
+		creator.create(uuids, DEFAULT_LOOP);
+		for (int i = 0; i < DEFAULT_LOOP; i++) {
+			UUID uuid = new UUID(uuids[i << 1], uuids[(i << 1) + 1]);
+			assertTrue(UuidUtil.isRandomBasedVersion(uuid));
+			assertTrue(UuidUtil.isRfc4122Variant(uuid));
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package com.github.f4b6a3.uuid.nodeid;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.f4b6a3.uuid.util.NodeIdentifierUtil;
+
+public class AsyncNodeIdentifierStrategyTest {
+
+	private static final long DISCOVERED = 0x0a1b2c3d4e5fL;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testGetNodeIdentifierShouldSwitchToTheDiscoveredNodeIdentifier() throws Exception {
+		String directory = folder.newFolder().getAbsolutePath();
+		CountDownLatch latch = new CountDownLatch(1);
+
+		AsyncNodeIdentifierStrategy strategy = new AsyncNodeIdentifierStrategy("test", new SlowDiscovery(latch),
+				directory);
+
+		long initial = strategy.getNodeIdentifier();
+		assertTrue(NodeIdentifierUtil.isMulticastNodeIdentifier(initial));
+		assertFalse(strategy.isDiscovered());
+
+		latch.countDown();
+		assertTrue(strategy.await(10_000));
+		assertEquals(DISCOVERED, strategy.getNodeIdentifier());
+	}
+
+	@Test
+	public void testGetNodeIdentifierShouldStartWithTheCachedNodeIdentifier() throws Exception {
+		String directory = folder.newFolder().getAbsolutePath();
+
+		AsyncNodeIdentifierStrategy first = new AsyncNodeIdentifierStrategy("test",
+				new SlowDiscovery(new CountDownLatch(0)), directory);
+		assertTrue(first.await(10_000));
+
+		CountDownLatch latch = new CountDownLatch(1);
+		AsyncNodeIdentifierStrategy second = new AsyncNodeIdentifierStrategy("test", new SlowDiscovery(latch),
+				directory);
+		try {
+			assertFalse(second.isDiscovered());
+			assertEquals(DISCOVERED, second.getNodeIdentifier());
+		} finally {
+			latch.countDown();
+		}
+		assertTrue(second.await(10_000));
+	}
+
+	@Test
+	public void testGetNodeIdentifierShouldKeepTheInitialNodeIdentifierIfTheDiscoveryFails() throws Exception {
+		AsyncNodeIdentifierStrategy strategy = new AsyncNodeIdentifierStrategy("test", new Callable<Long>() {
+			@Override
+			public Long call() throws IOException {
+				throw new IOException("No network.");
+			}
+		}, null);
+
+		long initial = strategy.getNodeIdentifier();
+		assertFalse(strategy.await(10_000));
+		assertEquals(initial, strategy.getNodeIdentifier());
+	}
+
+	@Test
+	public void testHardwareAddressDiscoveryShouldIgnoreACachedRandomNodeIdentifier() throws Exception {
+		File directory = folder.newFolder();
+		long random = NodeIdentifierUtil.setMulticastNodeIdentifier(DISCOVERED);
+		try (FileWriter file = new FileWriter(new File(directory, AsyncNodeIdentifierStrategy.FILE_NAME))) {
+			file.write("hardware_address=" + String.format("%012x", random) + "\n");
+		}
+
+		AsyncNodeIdentifierStrategy strategy = new AsyncNodeIdentifierStrategy(
+				AsyncNodeIdentifierStrategy.Discovery.HARDWARE_ADDRESS, directory.getAbsolutePath());
+		assertNotEquals(random, strategy.getNodeIdentifier());
+
+		if (strategy.await(10_000)) {
+			assertFalse(NodeIdentifierUtil.isMulticastNodeIdentifier(strategy.getNodeIdentifier()));
+		}
+	}
+
+	private static class SlowDiscovery implements Callable<Long> {
+
+		private final CountDownLatch latch;
+
+		private SlowDiscovery(CountDownLatch latch) {
+			this.latch = latch;
+		}
+
+		@Override
+		public Long call() throws InterruptedException {
+			this.latch.await();
+			return DISCOVERED;
+		}
+	}
+}
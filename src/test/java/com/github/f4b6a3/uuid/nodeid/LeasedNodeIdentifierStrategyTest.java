@@ -0,0 +1,146 @@
+package com.github.f4b6a3.uuid.nodeid;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.HashSet;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.f4b6a3.uuid.exception.UuidCreatorException;
+import com.github.f4b6a3.uuid.util.NodeIdentifierUtil;
+
+public class LeasedNodeIdentifierStrategyTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testGetNodeIdentifierShouldBeUniqueForEachStrategy() {
+		NodeIdentifierRegistry registry = new InMemoryNodeIdentifierRegistry(16);
+
+		HashSet<Long> set = new HashSet<>();
+		for (int i = 0; i < 16; i++) {
+			LeasedNodeIdentifierStrategy strategy = new LeasedNodeIdentifierStrategy(registry, "owner", 60_000);
+			assertFalse(strategy.isFallback());
+			long nodeIdentifier = strategy.getNodeIdentifier();
+			assertTrue(NodeIdentifierUtil.isMulticastNodeIdentifier(nodeIdentifier));
+			assertTrue("There are duplicate node identifiers", set.add(nodeIdentifier));
+		}
+	}
+
+	@Test
+	public void testGetNodeIdentifierShouldFallBackIfTheRegistryIsFull() {
+		NodeIdentifierRegistry registry = new InMemoryNodeIdentifierRegistry(1);
+
+		LeasedNodeIdentifierStrategy first = new LeasedNodeIdentifierStrategy(registry, "first", 60_000);
+		LeasedNodeIdentifierStrategy second = new LeasedNodeIdentifierStrategy(registry, "second", 60_000);
+
+		assertEquals(0, first.getSlot());
+		assertTrue(second.isFallback());
+		assertEquals(-1, second.getSlot());
+		assertTrue(NodeIdentifierUtil.isMulticastNodeIdentifier(second.getNodeIdentifier()));
+
+		// the slot is free after it is released
+		first.close();
+		assertTrue(first.isFallback());
+		LeasedNodeIdentifierStrategy third = new LeasedNodeIdentifierStrategy(registry, "third", 60_000);
+		assertEquals(0, third.getSlot());
+	}
+
+	@Test
+	public void testGetNodeIdentifierShouldRenewTheLease() throws InterruptedException {
+		NodeIdentifierRegistry registry = new InMemoryNodeIdentifierRegistry(1);
+
+		LeasedNodeIdentifierStrategy strategy = new LeasedNodeIdentifierStrategy(registry, "owner", 100);
+		long nodeIdentifier = strategy.getNodeIdentifier();
+		long expiration = strategy.getLease().getExpiration();
+
+		Thread.sleep(60);
+		assertEquals(nodeIdentifier, strategy.getNodeIdentifier());
+		assertTrue(strategy.getLease().getExpiration() > expiration);
+
+		// the renewed lease keeps the slot held
+		assertNull(registry.acquire("other", 100));
+	}
+
+	@Test
+	public void testGetNodeIdentifierShouldNotUseALostLease() throws InterruptedException {
+		NodeIdentifierRegistry registry = new InMemoryNodeIdentifierRegistry(1);
+
+		LeasedNodeIdentifierStrategy strategy = new LeasedNodeIdentifierStrategy(registry, "owner", 50);
+		long nodeIdentifier = strategy.getNodeIdentifier();
+
+		// the lease expires and the slot is taken by another owner
+		Thread.sleep(100);
+		assertNotNull(registry.acquire("other", 60_000));
+
+		assertNotEquals(nodeIdentifier, strategy.getNodeIdentifier());
+		assertTrue(strategy.isFallback());
+	}
+
+	@Test
+	public void testGetNodeIdentifierShouldFallBackIfTheRegistryFails() {
+		LeasedNodeIdentifierStrategy strategy = new LeasedNodeIdentifierStrategy(new BrokenRegistry(), "owner",
+				60_000);
+		assertTrue(strategy.isFallback());
+		assertTrue(NodeIdentifierUtil.isMulticastNodeIdentifier(strategy.getNodeIdentifier()));
+	}
+
+	@Test
+	public void testDirectoryRegistryShouldLeaseDistinctSlotsToManyRegistries() throws IOException {
+		String directory = folder.newFolder().getAbsolutePath();
+		NodeIdentifierRegistry first = new DirectoryNodeIdentifierRegistry(directory, 2);
+		NodeIdentifierRegistry second = new DirectoryNodeIdentifierRegistry(directory, 2);
+
+		NodeIdentifierLease lease1 = first.acquire("first", 60_000);
+		NodeIdentifierLease lease2 = second.acquire("second", 60_000);
+		assertNotEquals(lease1.getSlot(), lease2.getSlot());
+		assertNull(second.acquire("third", 60_000));
+
+		NodeIdentifierLease renewed = second.renew(lease1, 60_000);
+		assertTrue(lease1.isSameLease(renewed));
+
+		first.release(lease1);
+		assertNull(first.renew(lease1, 60_000));
+		assertEquals(lease1.getSlot(), second.acquire("third", 60_000).getSlot());
+	}
+
+	@Test
+	public void testDirectoryRegistryShouldLeaseAnExpiredSlot() throws IOException, InterruptedException {
+		String directory = folder.newFolder().getAbsolutePath();
+		NodeIdentifierRegistry registry = new DirectoryNodeIdentifierRegistry(directory, 1);
+
+		NodeIdentifierLease lease = registry.acquire("first", 10);
+		Thread.sleep(20);
+		NodeIdentifierLease other = registry.acquire("second", 60_000);
+
+		assertEquals(lease.getSlot(), other.getSlot());
+		assertNull(registry.renew(lease, 60_000));
+	}
+
+	private static class BrokenRegistry implements NodeIdentifierRegistry {
+
+		@Override
+		public int getCapacity() {
+			return 1;
+		}
+
+		@Override
+		public NodeIdentifierLease acquire(String owner, long duration) {
+			throw new UuidCreatorException("Unreachable registry.");
+		}
+
+		@Override
+		public NodeIdentifierLease renew(NodeIdentifierLease lease, long duration) {
+			throw new UuidCreatorException("Unreachable registry.");
+		}
+
+		@Override
+		public void release(NodeIdentifierLease lease) {
+			throw new UuidCreatorException("Unreachable registry.");
+		}
+	}
+}
@@ -0,0 +1,125 @@
+package com.github.f4b6a3.uuid.random;
+
+import java.security.SecureRandom;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.Test;
+
+import com.github.f4b6a3.uuid.UuidCreator;
+import com.github.f4b6a3.uuid.factory.RandomUuidCreator;
+
+import static org.junit.Assert.*;
+
+public class BufferedSecureRandomTest {
+
+	private static final int DEFAULT_LOOP = 10_000;
+
+	@Test
+	public void testNextLongShouldReadTheBlockInOrder() {
+		// the same seed makes SHA1PRNG deterministic
+		SecureRandom expected = newSeededSecureRandom();
+		BufferedSecureRandom random = new BufferedSecureRandom(newSeededSecureRandom(), 64, false);
+
+		byte[] block = new byte[64];
+		for (int i = 0; i < 10; i++) {
+			expected.nextBytes(block);
+			for (int j = 0; j < 64; j += 8) {
+				long value = 0;
+				for (int k = 0; k < 8; k++) {
+					value = (value << 8) | (block[j + k] & 0xff);
+				}
+				assertEquals(value, random.nextLong());
+			}
+		}
+	}
+
+	@Test
+	public void testNextBytesShouldSpanBlocks() {
+		BufferedSecureRandom random = new BufferedSecureRandom(newSeededSecureRandom(), 16, false);
+
+		// 10 + 10 + 12 bytes cross the first block boundary
+		byte[] a = new byte[10];
+		byte[] b = new byte[10];
+		byte[] c = new byte[12];
+		random.nextBytes(a);
+		random.nextBytes(b);
+		random.nextBytes(c);
+
+		SecureRandom expected = newSeededSecureRandom();
+		byte[] block = new byte[32];
+		byte[] first = new byte[16];
+		byte[] second = new byte[16];
+		expected.nextBytes(first);
+		expected.nextBytes(second);
+		System.arraycopy(first, 0, block, 0, 16);
+		System.arraycopy(second, 0, block, 16, 16);
+
+		for (int i = 0; i < 10; i++) {
+			assertEquals(block[i], a[i]);
+			assertEquals(block[i + 10], b[i]);
+		}
+		for (int i = 0; i < 12; i++) {
+			assertEquals(block[i + 20], c[i]);
+		}
+	}
+
+	@Test
+	public void testBackgroundRefillShouldProduceUniqueValues() {
+		BufferedSecureRandom random = new BufferedSecureRandom(new SecureRandom(), 64, true);
+		Set<Long> set = new HashSet<>();
+		for (int i = 0; i < DEFAULT_LOOP; i++) {
+			assertTrue("Duplicated value", set.add(random.nextLong()));
+		}
+	}
+
+	@Test
+	public void testRandomCreatorWithBufferedSecureRandomInParallelShouldBeUnique() throws InterruptedException {
+
+		final RandomUuidCreator creator = UuidCreator.getRandomCreator().withBufferedSecureRandomGenerator(1024,
+				true);
+		final Set<UUID> set = new HashSet<>();
+
+		Thread[] threads = new Thread[8];
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread() {
+				@Override
+				public void run() {
+					UUID[] uuids = new UUID[DEFAULT_LOOP];
+					for (int j = 0; j < DEFAULT_LOOP; j++) {
+						uuids[j] = creator.create();
+					}
+					synchronized (set) {
+						for (UUID uuid : uuids) {
+							assertEquals(4, uuid.version());
+							assertEquals(2, uuid.variant());
+							set.add(uuid);
+						}
+					}
+				}
+			};
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(threads.length * DEFAULT_LOOP, set.size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidBlockSizeShouldThrowException() {
+		new BufferedSecureRandom(new SecureRandom(), 100, false);
+	}
+
+	private static SecureRandom newSeededSecureRandom() {
+		try {
+			SecureRandom random = SecureRandom.getInstance("SHA1PRNG");
+			random.setSeed(new byte[] { 1, 2, 3, 4 });
+			return random;
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
@@ -0,0 +1,257 @@
+package com.github.f4b6a3.uuid.sequence;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import com.github.f4b6a3.uuid.clockseq.DefaultClockSequenceStrategy;
+import com.github.f4b6a3.uuid.exception.UuidCreatorException;
+import com.github.f4b6a3.uuid.state.AbstractUuidState;
+import com.github.f4b6a3.uuid.timestamp.StallStrategy;
+import com.github.f4b6a3.uuid.util.TimestampUtil;
+
+import static org.junit.Assert.*;
+
+public class TimeBasedSequenceTest {
+
+	@Test
+	public void testNextTheTimestampShouldBeIncrementedIfTheTimeIsLowerThanOrEqualToTheOldTime() {
+
+		// It should increment if the new time is EQUAL TO the old time
+		TimeBasedSequence sequence = new TimeBasedSequence(0);
+		long oldTimestamp = sequence.next(1000).getTimestamp();
+		long newTimestamp = sequence.next(1000).getTimestamp();
+		assertEquals(oldTimestamp + 1, newTimestamp);
+
+		// It should increment if the new time is LOWER THAN the old time
+		sequence = new TimeBasedSequence(0);
+		oldTimestamp = sequence.next(1000).getTimestamp();
+		newTimestamp = sequence.next(999).getTimestamp();
+		assertEquals(oldTimestamp, newTimestamp);
+	}
+
+	@Test
+	public void testNextTheClockSequenceShouldBeIncrementedIfTheTimestampDoesNotAdvance() {
+
+		long clockSequence = 0x3fff;
+		TimeBasedSequence sequence = new TimeBasedSequence(0, clockSequence);
+
+		// The clock sequence should not change
+		TimeBasedSequence.State state = sequence.next(1000);
+		assertEquals(clockSequence, state.getClockSequence());
+		state = sequence.next(1000);
+		assertEquals(clockSequence, state.getClockSequence());
+
+		// The clock sequence should change and roll over
+		state = sequence.next(500);
+		assertEquals(0, state.getClockSequence());
+		state = sequence.next(500);
+		assertEquals(0, state.getClockSequence());
+	}
+
+	@Test
+	public void testNextTheCounterShouldBeResetToItsLowBitsWhenTheTimeAdvances() {
+		long counter = 300;
+		TimeBasedSequence sequence = new TimeBasedSequence(counter, 0);
+		assertEquals(1000 + (counter & TimeBasedSequence.COUNTER_OFFSET_MAX), sequence.next(1000).getTimestamp());
+		assertEquals(1000 + (counter & TimeBasedSequence.COUNTER_OFFSET_MAX) + 1, sequence.next(1000).getTimestamp());
+		counter = (counter & TimeBasedSequence.COUNTER_OFFSET_MAX) + 2;
+		assertEquals(2000 + (counter & TimeBasedSequence.COUNTER_OFFSET_MAX), sequence.next(2000).getTimestamp());
+	}
+
+	@Test(expected = UuidCreatorException.class)
+	public void testNextAnOverrunExceptionShouldBeThrown() {
+
+		long time = TimestampUtil.getCurrentTimestamp();
+		TimeBasedSequence sequence = new TimeBasedSequence(0);
+
+		long offset = sequence.next(time).getTimestamp() - time;
+		long max = TimeBasedSequence.COUNTER_MAX - offset;
+
+		try {
+			// Generate MAX values
+			for (int i = 0; i < max; i++) {
+				sequence.next(time);
+			}
+		} catch (UuidCreatorException e) {
+			// fail if the exception is thrown before the maximum value
+			fail("Overrun exception thrown before the maximum value is reached.");
+		}
+
+		// It should throw an exception now
+		sequence.next(time);
+	}
+
+	@Test
+	public void testNextARunOfTimestampsShouldStopAtTheCounterLimit() {
+
+		long time = 1000_0000;
+		TimeBasedSequence sequence = new TimeBasedSequence(0, 0);
+
+		TimeBasedSequence.State state = sequence.next(time, 100);
+		assertEquals(100, state.getCount());
+		assertEquals(time, state.getFirstTimestamp());
+		assertEquals(time + 99, state.getTimestamp());
+
+		state = sequence.next(time, 20_000);
+		assertEquals(TimeBasedSequence.COUNTER_MAX + 1 - 100, state.getCount());
+		assertEquals(time + 100, state.getFirstTimestamp());
+		assertEquals(time + TimeBasedSequence.COUNTER_MAX, state.getTimestamp());
+	}
+
+	@Test
+	public void testNextTheClockSequenceShouldBeIncrementedIfTheNodeIdentifierChanges() {
+
+		long clockSequence = 0x1234;
+		TimeBasedSequence sequence = new TimeBasedSequence(0, clockSequence);
+
+		// The first node identifier is not a change
+		assertEquals(clockSequence, sequence.reserve(1, 0x111111111111L).getClockSequence());
+		assertEquals(clockSequence, sequence.reserve(1, 0x111111111111L).getClockSequence());
+
+		// The clock sequence should be incremented once per change
+		assertEquals(clockSequence + 1, sequence.reserve(1, 0x222222222222L).getClockSequence());
+		assertEquals(clockSequence + 1, sequence.reserve(10, 0x222222222222L).getClockSequence());
+		assertEquals(clockSequence + 2, sequence.reserve(10, 0x111111111111L).getClockSequence());
+
+		// The node identifier is kept if none is given
+		TimeBasedSequence.State state = sequence.next();
+		assertEquals(clockSequence + 2, state.getClockSequence());
+		assertEquals(0x111111111111L, state.getNodeIdentifier());
+	}
+
+	@Test
+	public void testReserveWithClockSequenceStrategyShouldUpdateTheState() {
+
+		final long node = 0x111111111111L;
+		final long clockSequence = 0x1234;
+
+		AbstractUuidState uuidState = new AbstractUuidState() {
+			@Override
+			public void store() {
+			}
+
+			@Override
+			public void load() {
+			}
+
+			@Override
+			public boolean isValid() {
+				return true;
+			}
+		};
+		uuidState.setClockSequence(clockSequence);
+		uuidState.setNodeIdentifier(node);
+
+		DefaultClockSequenceStrategy strategy = new DefaultClockSequenceStrategy(1000, node, uuidState);
+		final AtomicLong time = new AtomicLong(20_000);
+		TimeBasedSequence sequence = new TimeBasedSequence(0, strategy.current(), strategy) {
+			@Override
+			protected long getCurrentTime() {
+				return time.get();
+			}
+		};
+
+		// The state keeps the last timestamp of the system time
+		assertEquals(clockSequence, sequence.reserve(1, node).getClockSequence());
+		assertEquals(clockSequence, sequence.reserve(1, node).getClockSequence());
+		assertEquals(20_000 + TimeBasedSequence.COUNTER_MAX, uuidState.getTimestamp());
+		assertEquals(clockSequence, uuidState.getClockSequence());
+
+		time.set(30_000);
+		assertEquals(clockSequence, sequence.reserve(1, node).getClockSequence());
+		assertEquals(30_000 + TimeBasedSequence.COUNTER_MAX, uuidState.getTimestamp());
+
+		// The clock sequence is incremented by the strategy
+		time.set(25_000);
+		assertEquals(clockSequence + 1, sequence.reserve(1, node).getClockSequence());
+		assertEquals(clockSequence + 1, uuidState.getClockSequence());
+
+		assertEquals(clockSequence + 2, sequence.reserve(1, node + 1).getClockSequence());
+		assertEquals(clockSequence + 2, uuidState.getClockSequence());
+		assertEquals(node + 1, uuidState.getNodeIdentifier());
+	}
+
+	@Test
+	public void testReserveWithStallStrategyShouldWaitForTheNextTimeInsteadOfOverrun() {
+
+		long clockSequence = 0x1234;
+		final AtomicLong now = new AtomicLong(10_000);
+		final AtomicInteger readings = new AtomicInteger();
+		TimeBasedSequence sequence = new TimeBasedSequence(0, clockSequence) {
+			@Override
+			protected long getCurrentTime() {
+				// the clock moves after a few readings of an exhausted time
+				if (readings.incrementAndGet() == 10) {
+					now.addAndGet(10_000);
+				}
+				return now.get();
+			}
+		};
+
+		TimeBasedSequence.State state = sequence.reserve(20_000, 0, null);
+		assertEquals(TimeBasedSequence.COUNTER_MAX + 1, state.getCount());
+
+		StallStrategy stall = new StallStrategy(10, 10, 10_000, 1_000_000_000L);
+		state = sequence.reserve(20_000, 0, stall);
+		assertTrue(state.getFirstTimestamp() >= 20_000 && state.getTimestamp() < 30_000);
+		assertEquals(clockSequence, state.getClockSequence());
+		assertEquals(1, stall.getStalls());
+		assertEquals(0, stall.getTimeouts());
+
+		// without a stall strategy the exhausted time is an overrun
+		try {
+			sequence.reserve(1, 0, null);
+			fail("It should throw an overrun exception.");
+		} catch (UuidCreatorException e) {
+			// success
+		}
+	}
+
+	@Test
+	public void testNextManyThreadsShouldKeepTheClockSequenceIfTheClockIsSteady() throws InterruptedException {
+
+		final int threadCount = 8;
+		final int loop = 100_000;
+		final long clockSequence = 0x1234;
+
+		// a steady clock that advances one millisecond every 1000 readings
+		final AtomicLong readings = new AtomicLong();
+		final TimeBasedSequence sequence = new TimeBasedSequence(0, clockSequence) {
+			@Override
+			protected long getCurrentTime() {
+				return (readings.incrementAndGet() / 1000 + 1) * 10_000;
+			}
+		};
+
+		final Set<Long> timestamps = Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+		final AtomicInteger changes = new AtomicInteger();
+
+		Thread[] threads = new Thread[threadCount];
+		for (int i = 0; i < threadCount; i++) {
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					for (int j = 0; j < loop; j++) {
+						TimeBasedSequence.State state = sequence.next();
+						if (state.getClockSequence() != clockSequence) {
+							changes.incrementAndGet();
+						}
+						timestamps.add(state.getTimestamp());
+					}
+				}
+			});
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals("The clock sequence changed", 0, changes.get());
+		assertEquals("Duplicated timestamp", threadCount * loop, timestamps.size());
+	}
+}
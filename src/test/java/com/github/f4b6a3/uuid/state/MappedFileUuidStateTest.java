@@ -0,0 +1,114 @@
+package com.github.f4b6a3.uuid.state;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.UUID;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.f4b6a3.uuid.UuidCreator;
+import com.github.f4b6a3.uuid.factory.TimeBasedUuidCreator;
+import com.github.f4b6a3.uuid.util.UuidUtil;
+
+import static org.junit.Assert.*;
+
+public class MappedFileUuidStateTest {
+
+	private static final int CLOCKSEQ = 0x1111;
+	private static final long NODEID = 0x111111111111L;
+	private static final long TIMESTAMP = 0x0123456789abcdefL;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testStoreAndLoadShouldKeepTheState() {
+		String directory = folder.getRoot().getAbsolutePath();
+
+		MappedFileUuidState state = new MappedFileUuidState(directory, 1000, 100, false);
+		assertFalse(state.isValid());
+
+		for (int i = 0; i < 5; i++) {
+			state.setTimestamp(TIMESTAMP + i);
+			state.setClockSequence(CLOCKSEQ);
+			state.setNodeIdentifier(NODEID);
+			state.store();
+		}
+
+		MappedFileUuidState other = new MappedFileUuidState(directory, 1000, 100, false);
+		assertTrue(other.isValid());
+		assertEquals(TIMESTAMP + 4, other.getTimestamp());
+		assertEquals(CLOCKSEQ, other.getClockSequence());
+		assertEquals(NODEID, other.getNodeIdentifier());
+	}
+
+	@Test
+	public void testCorruptedSlotShouldFallBackToTheOtherSlot() throws Exception {
+		String directory = folder.getRoot().getAbsolutePath();
+
+		MappedFileUuidState state = new MappedFileUuidState(directory, 1000, 100, false);
+		state.setClockSequence(CLOCKSEQ);
+		state.setNodeIdentifier(NODEID);
+		state.setTimestamp(TIMESTAMP);
+		state.store(); // slot 0
+		state.setTimestamp(TIMESTAMP + 1);
+		state.store(); // slot 1
+
+		// corrupt the timestamp of the latest slot
+		File file = new File(directory, "uuidcreator.mapped.state");
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			int offset = MappedFileUuidState.HEADER_SIZE + MappedFileUuidState.SLOT_SIZE + 8;
+			raf.seek(offset);
+			raf.writeLong(TIMESTAMP + 2);
+		}
+
+		MappedFileUuidState other = new MappedFileUuidState(directory, 1000, 100, false);
+		assertTrue(other.isValid());
+		assertEquals(TIMESTAMP, other.getTimestamp());
+	}
+
+	@Test
+	public void testUpdateShouldStoreAfterTheCadence() {
+		String directory = folder.getRoot().getAbsolutePath();
+
+		MappedFileUuidState state = new MappedFileUuidState(directory, 1000, 10, false);
+
+		// the first update stores because the clock sequence changed
+		state.update(TIMESTAMP, CLOCKSEQ, NODEID);
+		for (int i = 1; i < 10; i++) {
+			state.update(TIMESTAMP + i, CLOCKSEQ, NODEID);
+		}
+		assertEquals(TIMESTAMP, new MappedFileUuidState(directory, 1000, 10, false).getTimestamp());
+
+		// the tenth update after the last store
+		state.update(TIMESTAMP + 10, CLOCKSEQ, NODEID);
+		assertEquals(TIMESTAMP + 10, new MappedFileUuidState(directory, 1000, 10, false).getTimestamp());
+
+		// one second later
+		state.update(TIMESTAMP + 10 + 10_000_000, CLOCKSEQ, NODEID);
+		assertEquals(TIMESTAMP + 10 + 10_000_000,
+				new MappedFileUuidState(directory, 1000, 10, false).getTimestamp());
+	}
+
+	@Test
+	public void testTimeBasedCreatorWithMappedStateShouldRestoreTheClockSequence() {
+		String directory = folder.getRoot().getAbsolutePath();
+
+		TimeBasedUuidCreator creator = UuidCreator.getTimeBasedCreator().withNodeIdentifier(NODEID)
+				.withUuidState(new MappedFileUuidState(directory, 0, 1, false));
+		UUID uuid = creator.create();
+		int clockseq = UuidUtil.extractClockSequence(uuid);
+
+		// a restart with the clock set backwards must increment the clock sequence
+		MappedFileUuidState state = new MappedFileUuidState(directory, 0, 1, false);
+		assertEquals(clockseq, state.getClockSequence());
+		state.setTimestamp(state.getTimestamp() + 10_000_000);
+		state.store();
+
+		creator = UuidCreator.getTimeBasedCreator().withNodeIdentifier(NODEID)
+				.withUuidState(new MappedFileUuidState(directory, 0, 1, false));
+		assertEquals((clockseq + 1) & 0x3fff, UuidUtil.extractClockSequence(creator.create()));
+	}
+}
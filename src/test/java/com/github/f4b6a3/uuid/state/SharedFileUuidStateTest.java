@@ -0,0 +1,121 @@
+package com.github.f4b6a3.uuid.state;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.f4b6a3.uuid.UuidCreator;
+import com.github.f4b6a3.uuid.exception.UuidCreatorException;
+import com.github.f4b6a3.uuid.factory.TimeBasedUuidCreator;
+import com.github.f4b6a3.uuid.util.UuidUtil;
+
+import static org.junit.Assert.*;
+
+public class SharedFileUuidStateTest {
+
+	private static final long NODEID = 0x111111111111L;
+	private static final long TIMESTAMP = 0x0123456789abcdefL;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testLeasedBlocksShouldNotOverlap() {
+		String directory = folder.getRoot().getAbsolutePath();
+
+		SharedFileUuidState state1 = new SharedFileUuidState(directory, 16);
+		SharedFileUuidState state2 = new SharedFileUuidState(directory, 16);
+
+		Set<Long> set = new HashSet<>();
+		for (int i = 0; i < 100; i++) {
+			assertTrue("Duplicated clock sequence", set.add(state1.nextClockSequence()));
+			assertTrue("Duplicated clock sequence", set.add(state2.nextClockSequence()));
+		}
+	}
+
+	@Test
+	public void testCounterShouldBeKeptInTheFile() {
+		String directory = folder.getRoot().getAbsolutePath();
+
+		SharedFileUuidState state1 = new SharedFileUuidState(directory, 4);
+		long first = state1.nextClockSequence();
+
+		SharedFileUuidState state2 = new SharedFileUuidState(directory, 4);
+		assertEquals((first + 4) & 0x3fff, state2.nextClockSequence());
+
+		// the fifth value of state1 comes from a third block
+		for (int i = 0; i < 3; i++) {
+			state1.nextClockSequence();
+		}
+		assertEquals((first + 8) & 0x3fff, state1.nextClockSequence());
+	}
+
+	@Test
+	public void testBlocksInUseShouldBeSkippedWhenTheCounterWraps() {
+		String directory = folder.getRoot().getAbsolutePath();
+
+		SharedFileUuidState state1 = new SharedFileUuidState(directory, 1024);
+		long first = state1.nextClockSequence();
+
+		// 16 blocks of 1024: state2 wraps around the counter twice
+		SharedFileUuidState state2 = new SharedFileUuidState(directory, 1024);
+		for (int i = 0; i < 1024 * 32; i++) {
+			long clockSequence = state2.nextClockSequence();
+			assertFalse("Clock sequence of a block in use", clockSequence >= first && clockSequence < first + 1024);
+		}
+	}
+
+	@Test(expected = UuidCreatorException.class)
+	public void testLeaseShouldFailIfAllBlocksAreInUse() {
+		String directory = folder.getRoot().getAbsolutePath();
+
+		// keep the states, so that their locks are not released
+		List<SharedFileUuidState> states = new ArrayList<>();
+		for (int i = 0; i < 16; i++) {
+			states.add(new SharedFileUuidState(directory, 1024));
+			states.get(i).nextClockSequence();
+		}
+		new SharedFileUuidState(directory, 1024).nextClockSequence();
+		fail("It should throw an exception: " + states.size());
+	}
+
+	@Test
+	public void testStoreShouldKeepTheGreatestTimestamp() {
+		String directory = folder.getRoot().getAbsolutePath();
+
+		SharedFileUuidState state1 = new SharedFileUuidState(directory, 16);
+		SharedFileUuidState state2 = new SharedFileUuidState(directory, 16);
+
+		state1.update(TIMESTAMP + 1, 1, NODEID);
+		state1.store();
+		state2.update(TIMESTAMP, 2, NODEID);
+		state2.store();
+
+		assertEquals(TIMESTAMP + 1, new SharedFileUuidState(directory, 16).getTimestamp());
+	}
+
+	@Test
+	public void testCreatorsWithSameNodeAndTimestampShouldNotCollide() {
+		String directory = folder.getRoot().getAbsolutePath();
+
+		TimeBasedUuidCreator creator1 = UuidCreator.getTimeBasedCreator().withNodeIdentifier(NODEID)
+				.withUuidState(new SharedFileUuidState(directory, 16)).withTimestamp(TIMESTAMP);
+		TimeBasedUuidCreator creator2 = UuidCreator.getTimeBasedCreator().withNodeIdentifier(NODEID)
+				.withUuidState(new SharedFileUuidState(directory, 16)).withTimestamp(TIMESTAMP);
+
+		Set<UUID> set = new HashSet<>();
+		for (int i = 0; i < 100; i++) {
+			UUID uuid1 = creator1.create();
+			UUID uuid2 = creator2.create();
+			assertEquals(TIMESTAMP, UuidUtil.extractTimestamp(uuid1));
+			assertTrue("Duplicated UUID", set.add(uuid1));
+			assertTrue("Duplicated UUID", set.add(uuid2));
+		}
+	}
+}
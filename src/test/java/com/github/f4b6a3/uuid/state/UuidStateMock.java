@@ -3,10 +3,15 @@ package com.github.f4b6a3.uuid.state;
 public class UuidStateMock extends AbstractUuidState {
 
 	private boolean valid;
+	private int stores;
 	
 	@Override
 	public void store() {
-		// Do nothing
+		this.stores++;
+	}
+
+	public int getStores() {
+		return this.stores;
 	}
 
 	@Override
@@ -97,4 +97,62 @@ public class UuidStateTest {
 		
 		assertEquals(ByteUtil.toHexadecimal(CLOCKSEQ), ByteUtil.toHexadecimal(clockseq));
 	}
+
+	@Test
+	public void leasedStateShouldBeStoredOnlyWhenTheLeaseExpires() {
+
+		long oneSecond = 10_000_000;
+
+		this.state.setLeaseInterval(10_000);
+		this.state.update(timestamp, CLOCKSEQ, NODEID);
+		assertEquals(1, this.state.getStores());
+		assertEquals(timestamp + 10 * oneSecond, this.state.getTimestamp());
+
+		// within the lease
+		this.state.update(timestamp + 9 * oneSecond, CLOCKSEQ, NODEID);
+		assertEquals(1, this.state.getStores());
+
+		// the clock sequence changed
+		this.state.update(timestamp + 9 * oneSecond, CLOCKSEQ + 1, NODEID);
+		assertEquals(2, this.state.getStores());
+		assertEquals(timestamp + 19 * oneSecond, this.state.getTimestamp());
+
+		// the lease expired
+		this.state.update(timestamp + 19 * oneSecond, CLOCKSEQ + 1, NODEID);
+		assertEquals(3, this.state.getStores());
+		assertEquals(timestamp + 29 * oneSecond, this.state.getTimestamp());
+	}
+
+	@Test
+	public void clockSequenceShouldNotIncrementIfTheLeaseHasExpired() {
+
+		long oneSecond = 10_000_000;
+
+		// the previous run stored a lease that has expired
+		this.state.setLeaseInterval(10_000);
+		this.state.setTimestamp(timestamp - oneSecond);
+		this.state.setClockSequence(CLOCKSEQ);
+		this.state.setNodeIdentifier(NODEID);
+
+		DefaultClockSequenceStrategy clockSequenceStrategy = new DefaultClockSequenceStrategy(this.timestamp, NODEID, this.state);
+		assertEquals(CLOCKSEQ, clockSequenceStrategy.getClockSequence(timestamp + 1, NODEID));
+		assertEquals(1, this.state.getStores());
+		assertEquals(timestamp + 1 + 10 * oneSecond, this.state.getTimestamp());
+	}
+
+	@Test
+	public void clockSequenceShouldIncrementIfTheLeaseHasNotExpired() {
+
+		long oneSecond = 10_000_000;
+
+		// the previous run stopped before its lease expired
+		this.state.setLeaseInterval(10_000);
+		this.state.setTimestamp(timestamp + 5 * oneSecond);
+		this.state.setClockSequence(CLOCKSEQ);
+		this.state.setNodeIdentifier(NODEID);
+
+		DefaultClockSequenceStrategy clockSequenceStrategy = new DefaultClockSequenceStrategy(this.timestamp, NODEID, this.state);
+		assertEquals(CLOCKSEQ + 1, clockSequenceStrategy.getClockSequence(timestamp + 1, NODEID));
+		assertEquals(1, this.state.getStores());
+	}
 }
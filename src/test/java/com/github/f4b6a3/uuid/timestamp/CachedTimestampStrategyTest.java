@@ -0,0 +1,61 @@
+package com.github.f4b6a3.uuid.timestamp;
+
+import org.junit.Test;
+
+import com.github.f4b6a3.uuid.util.TimestampUtil;
+
+import static org.junit.Assert.*;
+
+public class CachedTimestampStrategyTest {
+
+	private static final long TICKS_PER_MILLI = 10_000;
+
+	@Test
+	public void testGetTimestampShouldFollowTheSystemTime() throws InterruptedException {
+		CachedTimestampStrategy strategy = new CachedTimestampStrategy(1);
+		try {
+			long first = strategy.getTimestamp();
+			Thread.sleep(50);
+			long second = strategy.getTimestamp();
+
+			assertTrue(second > first);
+			assertTrue(second - first >= 10 * TICKS_PER_MILLI);
+			assertTrue(second <= TimestampUtil.getCurrentTimestamp() + TICKS_PER_MILLI);
+			assertTrue(strategy.getMaxDrift() > 0);
+		} finally {
+			strategy.close();
+		}
+	}
+
+	@Test
+	public void testGetTimestampShouldBeStrictlyIncreasing() {
+		CachedTimestampStrategy strategy = new CachedTimestampStrategy(1);
+		try {
+			long previous = 0;
+			for (int i = 0; i < 5_000; i++) {
+				long timestamp = strategy.getTimestamp();
+				assertTrue(timestamp > previous);
+				previous = timestamp;
+			}
+		} finally {
+			strategy.close();
+		}
+	}
+
+	@Test
+	public void testCloseShouldStopTheUpdates() throws InterruptedException {
+		CachedTimestampStrategy strategy = new CachedTimestampStrategy(1);
+		strategy.close();
+		Thread.sleep(10); // let a running tick finish
+
+		long cached = strategy.getCurrentTimestamp();
+		Thread.sleep(20);
+		assertEquals(cached, strategy.getCurrentTimestamp());
+		assertTrue(strategy.getDrift() >= 20 * TICKS_PER_MILLI);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorShouldRejectANonPositiveTickInterval() {
+		new CachedTimestampStrategy(0);
+	}
+}
@@ -3,6 +3,7 @@ package com.github.f4b6a3.uuid.timestamp;
 import org.junit.Test;
 
 import com.github.f4b6a3.uuid.exception.UuidCreatorException;
+import com.github.f4b6a3.uuid.timestamp.DefaultTimestampStrategy.RegressionPolicy;
 import com.github.f4b6a3.uuid.util.TimestampUtil;
 
 import static org.junit.Assert.*;
@@ -52,4 +53,191 @@ public class DefaultTimestampStrategyTest {
 		// It should throw an exception now
 		timestampStrategy.getNextCounter(timestamp);
 	}
+
+	@Test
+	public void testGetTimestampsShouldWriteConsecutiveTimestampsUntilTheCounterLimit() {
+
+		DefaultTimestampStrategy timestampStrategy = new StoppedDefaultTimestampStrategy();
+
+		long first = timestampStrategy.getTimestamp();
+		long[] timestamps = new long[DefaultTimestampStrategy.COUNTER_MAX + 1];
+		int reserved = timestampStrategy.getTimestamps(timestamps, 0, timestamps.length);
+
+		long counter = first % 10_000;
+		assertEquals(DefaultTimestampStrategy.COUNTER_MAX - counter, reserved);
+		for (int i = 0; i < reserved; i++) {
+			assertEquals(first + i + 1, timestamps[i]);
+		}
+	}
+
+	@Test
+	public void testRegressionPolicyDefaultShouldFollowTheClockBackwards() {
+		ManualTimestampStrategy strategy = new ManualTimestampStrategy(RegressionPolicy.DEFAULT, 1000);
+		strategy.current = 10_000 * TICKS_PER_MILLI;
+		long timestamp1 = strategy.getTimestamp();
+		strategy.current -= 100 * TICKS_PER_MILLI;
+		long timestamp2 = strategy.getTimestamp();
+		assertTrue(timestamp2 < timestamp1);
+		assertEquals(1, strategy.getRegressions());
+	}
+
+	@Test
+	public void testRegressionPolicyBorrowShouldNeverGoBackwards() {
+		ManualTimestampStrategy strategy = new ManualTimestampStrategy(RegressionPolicy.BORROW, 1000);
+		strategy.current = 10_000 * TICKS_PER_MILLI;
+
+		long previous = strategy.getTimestamp();
+		strategy.current -= 100 * TICKS_PER_MILLI;
+
+		// 5 milliseconds worth of timestamps while the clock is behind
+		for (int i = 0; i < 5 * 10_000; i++) {
+			long timestamp = strategy.getTimestamp();
+			assertTrue(timestamp > previous);
+			previous = timestamp;
+		}
+		assertEquals(1, strategy.getRegressions());
+		assertTrue(strategy.getBorrows() >= 4);
+
+		// the clock catches up
+		strategy.current += 200 * TICKS_PER_MILLI;
+		assertTrue(strategy.getTimestamp() > previous);
+	}
+
+	@Test(expected = UuidCreatorException.class)
+	public void testRegressionPolicyBorrowShouldThrowOverrunBeyondTheMaximumBorrow() {
+		ManualTimestampStrategy strategy = new ManualTimestampStrategy(RegressionPolicy.BORROW, 2);
+		strategy.current = 10_000 * TICKS_PER_MILLI;
+		// more than 3 milliseconds worth of timestamps with a stopped clock
+		for (int i = 0; i < 4 * 10_000; i++) {
+			strategy.getTimestamp();
+		}
+	}
+
+	@Test
+	public void testRegressionPolicyBorrowShouldAvoidOverrunsWithAStoppedClock() {
+		ManualTimestampStrategy strategy = new ManualTimestampStrategy(RegressionPolicy.BORROW, 1000);
+		strategy.current = 10_000 * TICKS_PER_MILLI;
+
+		long[] timestamps = new long[3 * 10_000];
+		int i = 0;
+		while (i < timestamps.length) {
+			i += strategy.getTimestamps(timestamps, i, timestamps.length - i);
+		}
+		for (int j = 1; j < timestamps.length; j++) {
+			assertTrue(timestamps[j] > timestamps[j - 1]);
+		}
+	}
+
+	@Test
+	public void testRegressionPolicyNanoTimeShouldNeverGoBackwards() {
+		ManualTimestampStrategy strategy = new ManualTimestampStrategy(RegressionPolicy.NANOTIME, 0);
+		strategy.current = 10_000 * TICKS_PER_MILLI;
+
+		long previous = strategy.getTimestamp();
+		strategy.current -= 100 * TICKS_PER_MILLI;
+
+		for (int i = 0; i < 1000; i++) {
+			long timestamp = strategy.getTimestamp();
+			assertTrue(timestamp > previous);
+			previous = timestamp;
+		}
+		assertEquals(1, strategy.getFallbacks());
+
+		// the clock catches up
+		strategy.current += 200 * TICKS_PER_MILLI;
+		long timestamp = strategy.getTimestamp();
+		assertTrue(timestamp >= strategy.current);
+		assertTrue(timestamp > previous);
+	}
+
+	@Test
+	public void testStallStrategyShouldWaitForTheNextMillisecondInsteadOfOverrun() {
+		StallStrategy stall = new StallStrategy(10, 10, 10_000, 1_000_000_000L);
+		ManualTimestampStrategy strategy = new ManualTimestampStrategy(RegressionPolicy.DEFAULT, 0, stall);
+		strategy.current = 10_000 * TICKS_PER_MILLI;
+		strategy.advanceEvery = 20_000;
+
+		long previous = 0;
+		for (int i = 0; i < 15_000; i++) {
+			long timestamp = strategy.getTimestamp();
+			assertTrue(timestamp > previous);
+			previous = timestamp;
+		}
+
+		assertEquals(1, stall.getStalls());
+		assertEquals(0, stall.getTimeouts());
+		assertTrue(stall.getWaitTime() > 0);
+		assertTrue(stall.getMaxWaitTime() <= stall.getWaitTime());
+	}
+
+	@Test
+	public void testStallStrategyShouldThrowOverrunIfTheClockDoesNotMove() {
+		StallStrategy stall = new StallStrategy(10, 10, 10_000, 1_000_000);
+		ManualTimestampStrategy strategy = new ManualTimestampStrategy(RegressionPolicy.DEFAULT, 0, stall);
+		strategy.current = 10_000 * TICKS_PER_MILLI;
+
+		try {
+			for (int i = 0; i < 15_000; i++) {
+				strategy.getTimestamp();
+			}
+			fail("It should throw an overrun exception.");
+		} catch (UuidCreatorException e) {
+			// success
+		}
+
+		assertEquals(1, stall.getStalls());
+		assertEquals(1, stall.getTimeouts());
+		assertTrue(stall.getWaitTime() >= 1_000_000);
+	}
+
+	@Test
+	public void testStallStrategyAwaitAfterShouldReturnTheNextTimestamp() {
+		StallStrategy stall = new StallStrategy(10, 10, 10_000, 1_000_000_000L);
+
+		// the clock moves after a few readings
+		final long[] readings = { 0 };
+		long timestamp = stall.awaitAfter(new TimestampStrategy() {
+			@Override
+			public long getTimestamp() {
+				return ++readings[0] < 5 ? 1000 : 1001;
+			}
+		}, 1000);
+		assertEquals(1001, timestamp);
+		assertEquals(1, stall.getStalls());
+		assertEquals(0, stall.getTimeouts());
+
+		// the clock doesn't move
+		stall = new StallStrategy(10, 10, 10_000, 1_000_000);
+		timestamp = stall.awaitAfter(new FixedTimestampStretegy(1000), 1000);
+		assertEquals(1000, timestamp);
+		assertEquals(1, stall.getStalls());
+		assertEquals(1, stall.getTimeouts());
+	}
+
+	private static final long TICKS_PER_MILLI = 10_000;
+
+	private static class ManualTimestampStrategy extends DefaultTimestampStrategy {
+
+		private long current;
+
+		private long reads;
+		private long advanceEvery;
+
+		public ManualTimestampStrategy(RegressionPolicy policy, long maxBorrow) {
+			super(policy, maxBorrow);
+		}
+
+		public ManualTimestampStrategy(RegressionPolicy policy, long maxBorrow, StallStrategy stall) {
+			super(policy, maxBorrow, stall);
+		}
+
+		@Override
+		protected long getCurrentTimestamp() {
+			// the clock moves one millisecond every N reads
+			if (this.advanceEvery > 0 && ++this.reads % this.advanceEvery == 0) {
+				this.current += TICKS_PER_MILLI;
+			}
+			return this.current;
+		}
+	}
 }
@@ -0,0 +1,109 @@
+package com.github.f4b6a3.uuid.timestamp;
+
+import org.junit.Test;
+
+import com.github.f4b6a3.uuid.util.TimestampUtil;
+
+import static org.junit.Assert.*;
+
+public class MonotonicTimestampStrategyTest {
+
+	private static final long TICKS_PER_MILLI = 10_000;
+	private static final long NANOS_PER_MILLI = 1_000_000;
+
+	@Test
+	public void testGetTimestampShouldBeStrictlyIncreasingAndCloseToTheSystemTime() {
+		MonotonicTimestampStrategy strategy = new MonotonicTimestampStrategy();
+
+		long before = TimestampUtil.getCurrentTimestamp();
+		long previous = 0;
+		for (int i = 0; i < 100_000; i++) {
+			long timestamp = strategy.getTimestamp();
+			assertTrue(timestamp > previous);
+			previous = timestamp;
+		}
+		long after = TimestampUtil.getCurrentTimestamp();
+
+		assertTrue(previous >= before);
+		assertTrue(previous < after + 100 * TICKS_PER_MILLI);
+	}
+
+	@Test
+	public void testGetTimestampShouldSlewForwardInsteadOfJumping() {
+		ManualMonotonicTimestampStrategy strategy = new ManualMonotonicTimestampStrategy(1000, 500);
+		strategy.current = 10_000 * TICKS_PER_MILLI;
+		strategy.nanos = 0;
+
+		long start = strategy.getTimestamp();
+		assertEquals(strategy.current, start);
+
+		// the system time jumps 100 ms forward
+		strategy.nanos += 2_000 * NANOS_PER_MILLI;
+		strategy.current += 2_100 * TICKS_PER_MILLI;
+
+		assertEquals(start + 2_000 * TICKS_PER_MILLI, strategy.getTimestamp());
+		assertEquals(100 * TICKS_PER_MILLI, strategy.getDrift());
+
+		// 500 ppm of 900 ms is 450 us
+		strategy.nanos += 900 * NANOS_PER_MILLI;
+		assertEquals(start + 2_900 * TICKS_PER_MILLI + 4_500, strategy.getTimestamp());
+	}
+
+	@Test
+	public void testGetTimestampShouldSlewBackwardWithoutGoingBackwards() {
+		ManualMonotonicTimestampStrategy strategy = new ManualMonotonicTimestampStrategy(1000, 500);
+		strategy.current = 10_000 * TICKS_PER_MILLI;
+		strategy.nanos = 0;
+
+		long previous = strategy.getTimestamp();
+
+		// the system time jumps 100 ms backward
+		strategy.nanos += 2_000 * NANOS_PER_MILLI;
+		strategy.current += 1_900 * TICKS_PER_MILLI;
+
+		for (int i = 0; i < 1000; i++) {
+			strategy.nanos += NANOS_PER_MILLI;
+			long timestamp = strategy.getTimestamp();
+			assertTrue(timestamp > previous);
+			assertTrue(timestamp - previous >= TICKS_PER_MILLI - 5);
+			previous = timestamp;
+		}
+		assertTrue(strategy.getDrift() < 0);
+	}
+
+	@Test
+	public void testGetTimestampShouldNotCorrectWithinTheSameMillisecond() {
+		ManualMonotonicTimestampStrategy strategy = new ManualMonotonicTimestampStrategy(1000, 500);
+		strategy.current = 10_000 * TICKS_PER_MILLI;
+		strategy.nanos = 0;
+
+		strategy.getTimestamp();
+
+		// the timestamp is half a millisecond ahead of the truncated system time
+		strategy.nanos += 1_000 * NANOS_PER_MILLI + NANOS_PER_MILLI / 2;
+		strategy.current += 1_000 * TICKS_PER_MILLI;
+
+		strategy.getTimestamp();
+		assertEquals(0, strategy.getDrift());
+	}
+
+	private static class ManualMonotonicTimestampStrategy extends MonotonicTimestampStrategy {
+
+		private long current;
+		private long nanos;
+
+		public ManualMonotonicTimestampStrategy(long resyncInterval, long maxSlew) {
+			super(resyncInterval, maxSlew);
+		}
+
+		@Override
+		protected long getCurrentTimestamp() {
+			return this.current;
+		}
+
+		@Override
+		protected long getNanoTime() {
+			return this.nanos;
+		}
+	}
+}
@@ -2,6 +2,8 @@ package com.github.f4b6a3.uuid.util;
 
 import static org.junit.Assert.*;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.UUID;
@@ -191,6 +193,18 @@ public class UuidUtilTest {
 		assertEquals(uuid3, uuid5);
 	}
 	
+	@Test
+	public void testFormatMssqlBinaryMostSignificantBits() {
+		long msb = UuidUtil.formatMssqlBinaryMostSignificantBits(0x0011223344556677L);
+		assertEquals(0x3322110055447766L, msb);
+		assertEquals(0x0011223344556677L, UuidUtil.formatMssqlBinaryMostSignificantBits(msb));
+
+		// MSSQL GUIDs are stored with the fields of time-based UUIDs
+		UUID uuid = UuidCreator.getMssqlGuid();
+		long binary = UuidUtil.formatMssqlBinaryMostSignificantBits(uuid.getMostSignificantBits());
+		assertEquals(UuidUtil.fromMssqlGuidToUuid(uuid).getMostSignificantBits(), binary);
+	}
+	
 	@Test
 	public void testFromRandomBasedUuidToMssqlGuidIsCorrect() {
 		// Test with a generated value
@@ -253,4 +267,120 @@ public class UuidUtilTest {
 			// Success
 		}
 	}
+
+	@Test
+	public void testFromUuidToStringShouldBeEqualToJavaUtilUuid() {
+		for (int i = 0; i < 1000; i++) {
+			UUID uuid = new UUID(RandomUtil.nextLong(), RandomUtil.nextLong());
+			String expected = uuid.toString();
+
+			assertEquals(expected, fromUuidToString(uuid));
+			assertEquals(expected, appendTo(uuid, new StringBuilder()).toString());
+
+			char[] chars = new char[40];
+			format(uuid, chars, 2);
+			assertEquals(expected, new String(chars, 2, 36));
+
+			byte[] bytes = new byte[40];
+			format(uuid, bytes, 4);
+			assertEquals(expected, new String(bytes, 4, 36, java.nio.charset.StandardCharsets.US_ASCII));
+
+			assertEquals(uuid, fromStringToUuid(expected));
+			assertEquals(uuid, fromStringToUuid(expected.toUpperCase()));
+			assertEquals(uuid, fromStringToUuid(new StringBuilder(expected)));
+		}
+	}
+
+	@Test
+	public void testFromStringToUuidShouldRejectInvalidStrings() {
+		String[] invalid = { "", "01234567-89ab-cdef-0123-456789abcde", "01234567-89ab-cdef-0123-456789abcdef0",
+				"01234567+89ab-cdef-0123-456789abcdef", "01234567-89ab-cdef-0123-456789abcdeg",
+				"0123456-789ab-cdef-0123-456789abcdef", "1-2-3-4-5", "01234567-89ab-cdef-0123-456789abcde\u0663",
+				"0x234567-89ab-cdef-0123-456789abcdef" };
+		for (String string : invalid) {
+			try {
+				fromStringToUuid(string);
+				fail("Should throw an exception: " + string);
+			} catch (IllegalArgumentException e) {
+				// success
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testFormatWithoutSpaceShouldThrowException() {
+		format(UUID.randomUUID(), new char[40], 5);
+	}
+
+	@Test
+	public void testFromUuidToBytesAtOffset() {
+		UUID uuid = UUID.fromString("01234567-89ab-cdef-0123-456789abcdef");
+		byte[] expected = ByteUtil.toBytes("0123456789abcdef0123456789abcdef");
+
+		assertArrayEquals(expected, fromUuidToBytes(uuid));
+		assertEquals(uuid, fromBytesToUuid(expected));
+
+		byte[] bytes = new byte[20];
+		fromUuidToBytes(uuid, bytes, 3);
+		for (int i = 0; i < 16; i++) {
+			assertEquals(expected[i], bytes[i + 3]);
+		}
+		assertEquals(uuid, fromBytesToUuid(bytes, 3));
+	}
+
+	@Test
+	public void testFromUuidToBytesInByteBuffer() {
+		UUID uuid = UUID.fromString("01234567-89ab-cdef-0123-456789abcdef");
+		byte[] expected = ByteUtil.toBytes("0123456789abcdef0123456789abcdef");
+
+		ByteBuffer[] buffers = { ByteBuffer.allocate(20), ByteBuffer.allocateDirect(20),
+				ByteBuffer.allocate(20).order(ByteOrder.LITTLE_ENDIAN),
+				ByteBuffer.allocateDirect(20).order(ByteOrder.LITTLE_ENDIAN) };
+
+		for (ByteBuffer buffer : buffers) {
+			fromUuidToBytes(uuid, buffer, 2);
+			assertEquals(0, buffer.position());
+			for (int i = 0; i < 16; i++) {
+				assertEquals(expected[i], buffer.get(i + 2));
+			}
+			assertEquals(uuid, fromBytesToUuid(buffer, 2));
+		}
+	}
+
+	@Test
+	public void testBulkConversionsShouldBeEqualToSingleConversions() {
+		UUID[] uuids = new UUID[100];
+		for (int i = 0; i < uuids.length; i++) {
+			uuids[i] = UUID.randomUUID();
+		}
+
+		byte[] bytes = new byte[1 + uuids.length * 16];
+		fromUuidsToBytes(uuids, bytes, 1);
+		for (int i = 0; i < uuids.length; i++) {
+			assertEquals(uuids[i], fromBytesToUuid(bytes, 1 + i * 16));
+		}
+		UUID[] result = new UUID[uuids.length];
+		fromBytesToUuids(bytes, 1, result);
+		assertArrayEquals(uuids, result);
+
+		ByteBuffer buffer = ByteBuffer.allocateDirect(uuids.length * 16);
+		fromUuidsToBytes(uuids, buffer, 0);
+		result = new UUID[uuids.length];
+		fromBytesToUuids(buffer, 0, result);
+		assertArrayEquals(uuids, result);
+
+		long[] longs = new long[uuids.length * 2];
+		fromUuidsToLongs(uuids, longs, 0);
+		for (int i = 0; i < uuids.length; i++) {
+			assertEquals(uuids[i], fromLongsToUuid(longs, i * 2));
+		}
+		result = new UUID[uuids.length];
+		fromLongsToUuids(longs, 0, result);
+		assertArrayEquals(uuids, result);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testFromBytesToUuidWithoutEnoughBytesShouldThrowException() {
+		fromBytesToUuid(new byte[20], 5);
+	}
 }